@@ -0,0 +1,19 @@
+package com.gtu.users_management_service.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CredentialVerificationDTO {
+    private Long id;
+    private Role role;
+    private Status status;
+}
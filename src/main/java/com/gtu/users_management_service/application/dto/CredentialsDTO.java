@@ -0,0 +1,13 @@
+package com.gtu.users_management_service.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CredentialsDTO {
+    private String email;
+    private String password;
+}
@@ -0,0 +1,38 @@
+package com.gtu.users_management_service.application.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO that reports the outcome of a bulk passenger import")
+public class PassengerImportReportDTO {
+    @Schema(description = "Rows read from the uploaded file", example = "1000")
+    private int received;
+
+    @Schema(description = "Passengers created", example = "998")
+    private int imported;
+
+    @Schema(description = "Rows that were rejected, ordered by row number")
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "A rejected row of a passenger import")
+    public static class RowError {
+        @Schema(description = "Row number in the file, starting at 1 and not counting the CSV header", example = "12")
+        private int row;
+
+        @Schema(description = "Email given in the row, if any", example = "johndoe@example.com")
+        private String email;
+
+        @Schema(description = "Why the row was rejected", example = "Email already exists")
+        private String message;
+    }
+}
@@ -3,6 +3,8 @@ package com.gtu.users_management_service.application.dto;
 import com.gtu.users_management_service.domain.model.Role;
 import com.gtu.users_management_service.domain.model.Status;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -37,4 +39,8 @@ public class UserDTO {
 
     @Schema(description = "Status of the user", example = "ACTIVE")
     private Status status;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private long version;
 }
\ No newline at end of file
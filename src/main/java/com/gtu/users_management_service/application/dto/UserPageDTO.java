@@ -0,0 +1,20 @@
+package com.gtu.users_management_service.application.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO that represents one page of a user listing")
+public class UserPageDTO {
+    @Schema(description = "Users on this page, ordered by id")
+    private List<UserDTO> users;
+
+    @Schema(description = "Value to send as afterId to fetch the next page, absent on the last page", example = "42")
+    private Long nextAfterId;
+}
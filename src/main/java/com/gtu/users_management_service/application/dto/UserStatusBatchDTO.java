@@ -0,0 +1,26 @@
+package com.gtu.users_management_service.application.dto;
+
+import java.util.List;
+
+import com.gtu.users_management_service.domain.model.Status;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "DTO for setting the status of several users at once")
+public class UserStatusBatchDTO {
+    @Schema(description = "Identifiers of the users to update", example = "[1, 2, 3]")
+    @NotEmpty(message = "Ids cannot be empty")
+    private List<@NotNull(message = "Ids cannot contain null values") Long> ids;
+
+    @Schema(description = "Status to set", example = "INACTIVE")
+    @NotNull(message = "Status cannot be null")
+    private Status status;
+}
@@ -0,0 +1,140 @@
+package com.gtu.users_management_service.application.export;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes export rows straight to the response stream, one at a time, so
+ * memory use does not depend on how many rows are exported. Output is
+ * flushed every {@value #FLUSH_EVERY} rows to keep bytes moving to the client.
+ */
+public abstract class ExportWriter implements Closeable {
+
+    private static final int FLUSH_EVERY = 500;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    protected final List<String> columns;
+    private int rowsSinceFlush;
+
+    protected ExportWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public static ExportWriter create(ExportFormat format, OutputStream out, List<String> columns) throws IOException {
+        return format == ExportFormat.CSV ? new Csv(out, columns) : new Ndjson(out, columns);
+    }
+
+    public void write(Object... values) throws IOException {
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values but got " + values.length);
+        }
+        writeRow(values);
+        if (++rowsSinceFlush >= FLUSH_EVERY) {
+            flush();
+            rowsSinceFlush = 0;
+        }
+    }
+
+    protected abstract void writeRow(Object[] values) throws IOException;
+
+    protected abstract void flush() throws IOException;
+
+    private static final class Ndjson extends ExportWriter {
+
+        private final JsonGenerator generator;
+
+        Ndjson(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void writeRow(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Long number) {
+                    generator.writeNumber(number);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class Csv extends ExportWriter {
+
+        private final Writer writer;
+
+        Csv(OutputStream out, List<String> columns) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeRow(columns.toArray());
+        }
+
+        @Override
+        protected void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.gtu.users_management_service.application.export;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads import rows one at a time in the same formats the exports produce.
+ * A row that cannot be parsed is returned with an error instead of failing
+ * the whole file, so callers can report it and carry on. Rows are numbered
+ * from 1, not counting the CSV header or blank lines.
+ */
+public abstract class ImportReader implements Closeable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    protected final List<String> columns;
+    protected final BufferedReader reader;
+    private int rowNumber;
+
+    protected ImportReader(InputStream in, List<String> columns) {
+        this.columns = columns;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    public static ImportReader create(ExportFormat format, InputStream in, List<String> columns) throws IOException {
+        return format == ExportFormat.CSV ? new Csv(in, columns) : new Ndjson(in, columns);
+    }
+
+    /**
+     * Returns the next row, or null at the end of the input.
+     */
+    public Row next() throws IOException {
+        Row row = readRow();
+        if (row != null) {
+            rowNumber++;
+        }
+        return row;
+    }
+
+    protected abstract Row readRow() throws IOException;
+
+    protected Row valid(Map<String, String> values) {
+        return new Row(rowNumber + 1, values, null);
+    }
+
+    protected Row invalid(Map<String, String> values, String error) {
+        return new Row(rowNumber + 1, values, error);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    public record Row(int number, Map<String, String> values, String error) {
+
+        public String get(String column) {
+            return values.get(column);
+        }
+    }
+
+    private static final class Ndjson extends ImportReader {
+
+        Ndjson(InputStream in, List<String> columns) {
+            super(in, columns);
+        }
+
+        @Override
+        protected Row readRow() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            JsonNode node;
+            try {
+                node = OBJECT_MAPPER.readTree(line);
+            } catch (JsonProcessingException e) {
+                return invalid(Map.of(), "Malformed JSON");
+            }
+            if (!node.isObject()) {
+                return invalid(Map.of(), "Row must be a JSON object");
+            }
+            Map<String, String> values = new HashMap<>();
+            String error = null;
+            for (String column : columns) {
+                JsonNode value = node.get(column);
+                if (value == null || value.isNull()) {
+                    continue;
+                }
+                if (value.isContainerNode()) {
+                    error = "Field " + column + " must be a string";
+                } else {
+                    values.put(column, value.asText());
+                }
+            }
+            return error == null ? valid(values) : invalid(values, error);
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row naming the columns. Columns may appear in
+     * any order and unknown ones are ignored; quoted fields may span lines.
+     */
+    private static final class Csv extends ImportReader {
+
+        private final int[] positions;
+        private final int headerSize;
+
+        Csv(InputStream in, List<String> columns) throws IOException {
+            super(in, columns);
+            List<String> header = readRecord();
+            if (header == null) {
+                header = List.of();
+            }
+            this.headerSize = header.size();
+            this.positions = new int[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                positions[i] = header.indexOf(columns.get(i));
+                if (positions[i] < 0) {
+                    throw new IllegalArgumentException("CSV header must contain the columns " + String.join(", ", columns));
+                }
+            }
+        }
+
+        @Override
+        protected Row readRow() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+            } while (fields != null && fields.size() == 1 && fields.get(0).isEmpty());
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() != headerSize) {
+                return invalid(Map.of(), "Expected " + headerSize + " fields but found " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                String value = fields.get(positions[i]);
+                if (!value.isEmpty()) {
+                    values.put(columns.get(i), value);
+                }
+            }
+            return valid(values);
+        }
+
+        /**
+         * Reads one record, or returns null at the end of the input. An
+         * unterminated quoted field runs to the end of the input.
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
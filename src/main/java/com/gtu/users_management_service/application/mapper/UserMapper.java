@@ -3,7 +3,10 @@ package com.gtu.users_management_service.application.mapper;
 import java.util.List;
 
 import com.gtu.users_management_service.application.dto.UserDTO;
+import com.gtu.users_management_service.application.dto.UserPageDTO;
 import com.gtu.users_management_service.domain.model.User;
+import com.gtu.users_management_service.domain.model.UserPage;
+import com.gtu.users_management_service.domain.model.UserView;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
@@ -34,9 +37,33 @@ public class UserMapper {
         dto.setPassword(domain.getPassword());
         dto.setRole(domain.getRole());
         dto.setStatus(domain.getStatus());
+        dto.setVersion(domain.getVersion());
         return dto;
     }
 
+    public UserDTO viewToDTO(UserView view) {
+        if (view == null) {
+            return null;
+        }
+        UserDTO dto = new UserDTO();
+        dto.setId(view.id());
+        dto.setName(view.name());
+        dto.setEmail(view.email());
+        dto.setRole(view.role());
+        dto.setStatus(view.status());
+        dto.setVersion(view.version());
+        return dto;
+    }
+
+    public static List<UserDTO> toDTOListFromViews(List<UserView> views) {
+        return views == null ? List.of() : views.stream()
+                .map(UserMapper::viewToDTO).toList();
+    }
+
+    public UserPageDTO toPageDTO(UserPage page) {
+        return new UserPageDTO(toDTOListFromViews(page.users()), page.nextAfterId());
+    }
+
     public static List<UserDTO> toDTOList(List<User> domainList) {
         return domainList == null ? List.of() : domainList.stream()
                 .map(UserMapper::toDTO).toList();
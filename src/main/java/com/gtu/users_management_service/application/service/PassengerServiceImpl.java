@@ -1,29 +1,69 @@
 package com.gtu.users_management_service.application.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
+import com.gtu.users_management_service.domain.exception.InvalidCredentialsException;
+import com.gtu.users_management_service.domain.model.AccountPasswordHistory;
+import com.gtu.users_management_service.domain.model.AccountType;
 import com.gtu.users_management_service.domain.model.Passenger;
+import com.gtu.users_management_service.domain.model.PassengerImportResult;
+import com.gtu.users_management_service.domain.model.PassengerView;
 import com.gtu.users_management_service.domain.repository.PassengerRepository;
 import com.gtu.users_management_service.domain.service.PassengerService;
 import com.gtu.users_management_service.infrastructure.logs.LogPublisher;
-import com.gtu.users_management_service.infrastructure.security.PasswordEncoderUtil;
-import com.gtu.users_management_service.infrastructure.security.PasswordValidator;
+import com.gtu.users_management_service.infrastructure.security.PasswordAttemptThrottler;
+import com.gtu.users_management_service.infrastructure.security.PasswordHasher;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicy;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicyReport;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicyViolationException;
+import com.gtu.users_management_service.infrastructure.security.PasswordRule;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
+/**
+ * Lookups run in read-only transactions and single-statement writes in
+ * read-write ones. Flows that hash passwords are not transactional as a
+ * whole, so no connection is held while bcrypt runs; only their closing
+ * writes are grouped into one transaction.
+ */
 @Service
 public class PassengerServiceImpl implements PassengerService {
 
     private final PassengerRepository passengerRepository;
     private final LogPublisher logPublisher;
+    private final PasswordHasher passwordHasher;
+    private final PasswordPolicy passwordPolicy;
+    private final PasswordAttemptThrottler attemptThrottler;
+    private final TransactionOperations transactionOperations;
+    private final int passwordHistoryDepth;
 
     private static final String NOT_FOUND_MESSAGE = "Passenger not found";
+    private static final String INVALID_CREDENTIALS = "Invalid email or password";
+    private static final String EMAIL_EXISTS = "Email already exists";
+    private static final int IMPORT_INSERT_ATTEMPTS = 3;
 
-    public PassengerServiceImpl(PassengerRepository passengerRepository, LogPublisher logPublisher) {
+    public PassengerServiceImpl(PassengerRepository passengerRepository, LogPublisher logPublisher,
+            PasswordHasher passwordHasher, PasswordPolicy passwordPolicy,
+            PasswordAttemptThrottler attemptThrottler, TransactionOperations transactionOperations,
+            @Value("${security.password.history-depth:5}") int passwordHistoryDepth) {
         this.passengerRepository = passengerRepository;
         this.logPublisher = logPublisher;
+        this.passwordHasher = passwordHasher;
+        this.passwordPolicy = passwordPolicy;
+        this.attemptThrottler = attemptThrottler;
+        this.transactionOperations = transactionOperations;
+        this.passwordHistoryDepth = passwordHistoryDepth;
     }
 
     @Override
@@ -37,12 +77,9 @@ public class PassengerServiceImpl implements PassengerService {
         if (passenger.getEmail() == null || passenger.getEmail().isEmpty()) {
             throw new IllegalArgumentException("Email cannot be null or empty");
         }
-        if (passengerRepository.existsByEmail(passenger.getEmail())) {
-            throw new IllegalArgumentException("Email already exists");
-        }
-        if (!PasswordValidator.isValid(passenger.getPassword())) {
-            throw new IllegalArgumentException(
-                    "Password must contain at least 8 characters, including uppercase letters and numbers");
+        PasswordPolicyReport report = passwordPolicy.evaluate(passenger.getPassword());
+        if (!report.isValid()) {
+            throw new PasswordPolicyViolationException(report);
         }
 
         logPublisher.sendLog(
@@ -54,11 +91,118 @@ public class PassengerServiceImpl implements PassengerService {
                         "name", passenger.getName() != null ? passenger.getName() : "",
                         "email", passenger.getEmail() != null ? passenger.getEmail() : ""));
 
-        passenger.setPassword(PasswordEncoderUtil.encode(passenger.getPassword()));
+        passenger.setPassword(passwordHasher.encode(AccountType.PASSENGER, passenger.getPassword()));
         return passengerRepository.save(passenger);
     }
 
+    /**
+     * Creates many passengers at once. Each passenger is checked like in
+     * {@link #createPassenger(Passenger)}, but a failing one is reported and
+     * skipped instead of failing the import. Emails are checked for duplicates
+     * within the batch and against the database in bulk, passwords are hashed
+     * in parallel, and the survivors are inserted together. Emails are
+     * compared exactly, as the unique constraint and the email lookups
+     * compare them.
+     */
+    @Override
+    public PassengerImportResult importPassengers(List<Passenger> passengers) {
+        List<PassengerImportResult.RowError> errors = new ArrayList<>();
+        Map<String, Integer> indexByEmail = new LinkedHashMap<>();
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger passenger = passengers.get(i);
+            String error = validateForImport(passenger);
+            if (error == null && indexByEmail.putIfAbsent(passenger.getEmail(), i) != null) {
+                error = "Duplicate email in import";
+            }
+            if (error != null) {
+                errors.add(new PassengerImportResult.RowError(i, passenger == null ? null : passenger.getEmail(), error));
+            }
+        }
+
+        Set<String> existingEmails = indexByEmail.isEmpty() ? Set.of()
+                : passengerRepository.findExistingEmails(indexByEmail.keySet());
+        List<Passenger> accepted = new ArrayList<>(indexByEmail.size());
+        for (Map.Entry<String, Integer> entry : indexByEmail.entrySet()) {
+            if (existingEmails.contains(entry.getKey())) {
+                errors.add(new PassengerImportResult.RowError(entry.getValue(), entry.getKey(), EMAIL_EXISTS));
+            } else {
+                accepted.add(passengers.get(entry.getValue()));
+            }
+        }
+
+        int imported = 0;
+        if (!accepted.isEmpty()) {
+            List<String> hashes = passwordHasher.encodeAll(AccountType.PASSENGER,
+                    accepted.stream().map(Passenger::getPassword).toList());
+            Map<Integer, Passenger> hashed = new LinkedHashMap<>();
+            for (int i = 0; i < accepted.size(); i++) {
+                Passenger passenger = accepted.get(i);
+                hashed.put(indexByEmail.get(passenger.getEmail()),
+                        new Passenger(null, passenger.getName(), passenger.getEmail(), hashes.get(i)));
+            }
+            imported = insertReportingTakenEmails(hashed, errors);
+        }
+        errors.sort(Comparator.comparingInt(PassengerImportResult.RowError::index));
+
+        logPublisher.sendLog(
+                Instant.now().toString(),
+                "users-management-service",
+                "INFO",
+                "Importing passengers",
+                Map.of("received", passengers.size(), "imported", imported, "rejected", errors.size()));
+        return new PassengerImportResult(passengers.size(), imported, errors);
+    }
+
+    /**
+     * A sign-up landing between the bulk email check and the insert fails the
+     * whole insert on the unique constraint. The rows whose email has been
+     * taken since are then reported like the others and the rest inserted
+     * again, up to {@value #IMPORT_INSERT_ATTEMPTS} attempts in all.
+     */
+    private int insertReportingTakenEmails(Map<Integer, Passenger> rowsByIndex,
+            List<PassengerImportResult.RowError> errors) {
+        for (int attempt = 1; ; attempt++) {
+            if (rowsByIndex.isEmpty()) {
+                return 0;
+            }
+            try {
+                return passengerRepository.insertAll(List.copyOf(rowsByIndex.values()));
+            } catch (IllegalArgumentException e) {
+                if (attempt == IMPORT_INSERT_ATTEMPTS) {
+                    throw e;
+                }
+                Set<String> taken = passengerRepository.findExistingEmails(
+                        rowsByIndex.values().stream().map(Passenger::getEmail).toList());
+                rowsByIndex.entrySet().removeIf(row -> {
+                    if (!taken.contains(row.getValue().getEmail())) {
+                        return false;
+                    }
+                    errors.add(new PassengerImportResult.RowError(row.getKey(), row.getValue().getEmail(), EMAIL_EXISTS));
+                    return true;
+                });
+            }
+        }
+    }
+
+    private String validateForImport(Passenger passenger) {
+        if (passenger == null) {
+            return "Passenger cannot be null";
+        }
+        if (passenger.getName() == null || passenger.getName().isEmpty()) {
+            return "Name cannot be null or empty";
+        }
+        if (passenger.getEmail() == null || passenger.getEmail().isEmpty()) {
+            return "Email cannot be null or empty";
+        }
+        PasswordPolicyReport report = passwordPolicy.evaluate(passenger.getPassword());
+        if (!report.isValid()) {
+            return report.describe();
+        }
+        return null;
+    }
+
     @Override
+    @Transactional
     public Passenger updatePassenger(Passenger passenger) {
         logPublisher.sendLog(
                 Instant.now().toString(),
@@ -66,50 +210,63 @@ public class PassengerServiceImpl implements PassengerService {
                 "INFO",
                 "Updating passenger",
                 Map.of("id", passenger.getId(), "name", passenger.getName(), "email", passenger.getEmail()));
-        Passenger existingPassenger = passengerRepository.findById(passenger.getId())
-                .orElseThrow(() -> new IllegalArgumentException(NOT_FOUND_MESSAGE));
-        if (passenger.getName() != null && !passenger.getName().isEmpty()) {
-            existingPassenger.setName(passenger.getName());
-        }
-        if (passenger.getEmail() != null && !passenger.getEmail().isEmpty()) {
-            if (passengerRepository.existsByEmail(passenger.getEmail())) {
-                throw new IllegalArgumentException("Email already exists");
-            }
-            existingPassenger.setEmail(passenger.getEmail());
-        }
         if (passenger.getPassword() != null) {
             throw new IllegalArgumentException("Password cannot be updated");
         }
-        return passengerRepository.save(existingPassenger);
+        String name = passenger.getName() != null && !passenger.getName().isEmpty() ? passenger.getName() : null;
+        String email = passenger.getEmail() != null && !passenger.getEmail().isEmpty() ? passenger.getEmail() : null;
+        return passengerRepository.updateProfile(passenger.getId(), name, email)
+                .orElseThrow(() -> new IllegalArgumentException(NOT_FOUND_MESSAGE));
     }
 
     @Override
     public Passenger updatePassword(Passenger passenger, PasswordUpdateDTO passwordUpdateDTO) {
-        Passenger existingPassenger = passengerRepository.findById(passenger.getId())
+        AccountPasswordHistory<Passenger> history = passengerRepository
+                .findWithPasswordHistory(passenger.getId(), passwordHistoryDepth)
                 .orElseThrow(() -> new IllegalArgumentException(NOT_FOUND_MESSAGE));
+        Passenger existingPassenger = history.account();
         if (passenger.getPassword() == null || passenger.getPassword().isEmpty()) {
             throw new IllegalArgumentException("Current password cannot be null or empty");
         }
-        if (!PasswordEncoderUtil.matches(passenger.getPassword(), existingPassenger.getPassword())) {
+        attemptThrottler.checkAttempt(AccountType.PASSENGER, existingPassenger.getId(), existingPassenger.getEmail());
+        String storedPassword = existingPassenger.getPassword();
+        // No background rehash: the hash is replaced below, and a rehash landing first would fail the hash check.
+        if (!passwordHasher.matches(AccountType.PASSENGER, passenger.getPassword(), storedPassword)) {
             throw new IllegalArgumentException("Current password is incorrect");
         }
+        attemptThrottler.recordSuccess(AccountType.PASSENGER, existingPassenger.getId(), existingPassenger.getEmail());
         if (passwordUpdateDTO.getNewPassword() == null || passwordUpdateDTO.getNewPassword().isEmpty()) {
             throw new IllegalArgumentException("New password cannot be null or empty");
         }
-        if (!PasswordValidator.isValid(passwordUpdateDTO.getNewPassword())) {
-            throw new IllegalArgumentException(
-                    "New password must contain at least 8 characters, including uppercase letters and numbers");
+        PasswordPolicyReport report = passwordPolicy.evaluate(passwordUpdateDTO.getNewPassword());
+        if (!report.isValid()) {
+            throw new PasswordPolicyViolationException(report);
         }
-        existingPassenger.setPassword(PasswordEncoderUtil.encode(passwordUpdateDTO.getNewPassword()));
-        return passengerRepository.save(existingPassenger);
+        rejectRecentlyUsedPassword(passwordUpdateDTO.getNewPassword(), storedPassword, history.previousPasswords());
+        return replacePassword(existingPassenger.getId(),
+                passwordHasher.encode(AccountType.PASSENGER, passwordUpdateDTO.getNewPassword()), storedPassword);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Long countPassengers() {
         return passengerRepository.count();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Long estimatePassengers() {
+        return passengerRepository.estimateCount();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportPassengers(Consumer<PassengerView> sink) {
+        passengerRepository.forEachView(sink);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Passenger getPassengerByEmail(String email) {
         return passengerRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException(NOT_FOUND_MESSAGE));
@@ -117,17 +274,67 @@ public class PassengerServiceImpl implements PassengerService {
 
     @Override
     public Passenger resetPassword(Passenger passenger, String newPassword) {
-        Passenger existingPassenger = passengerRepository.findById(passenger.getId())
+        AccountPasswordHistory<Passenger> history = passengerRepository
+                .findWithPasswordHistory(passenger.getId(), passwordHistoryDepth)
                 .orElseThrow(() -> new IllegalArgumentException(NOT_FOUND_MESSAGE));
+        Passenger existingPassenger = history.account();
 
         if (newPassword == null || newPassword.isEmpty()) {
             throw new IllegalArgumentException("New password cannot be null or empty");
         }
-        if (!PasswordValidator.isValid(newPassword)) {
-            throw new IllegalArgumentException(
-                    "New password must contain at least 8 characters, including uppercase letters and numbers");
+        PasswordPolicyReport report = passwordPolicy.evaluate(newPassword);
+        if (!report.isValid()) {
+            throw new PasswordPolicyViolationException(report);
+        }
+        String previousPassword = existingPassenger.getPassword();
+        rejectRecentlyUsedPassword(newPassword, previousPassword, history.previousPasswords());
+        return replacePassword(existingPassenger.getId(), passwordHasher.encode(AccountType.PASSENGER, newPassword),
+                previousPassword);
+    }
+
+    /**
+     * The new hash and the history entry for the old one are written
+     * together, so the history never misses a password that was replaced.
+     */
+    private Passenger replacePassword(Long id, String newHash, String previousPassword) {
+        return transactionOperations.execute(status -> {
+            Passenger saved = passengerRepository.updatePassword(id, previousPassword, newHash);
+            passengerRepository.recordPasswordHistory(id, previousPassword, passwordHistoryDepth);
+            return saved;
+        });
+    }
+
+    @Override
+    public Passenger verifyCredentials(String email, String rawPassword) {
+        if (email == null || email.isEmpty() || rawPassword == null || rawPassword.isEmpty()) {
+            throw new InvalidCredentialsException(INVALID_CREDENTIALS);
+        }
+        Passenger passenger = passengerRepository.findByEmail(email).orElse(null);
+        attemptThrottler.checkAttempt(AccountType.PASSENGER, passenger == null ? null : passenger.getId(), email);
+        if (passenger == null) {
+            passwordHasher.matchAgainstDummy(AccountType.PASSENGER, rawPassword);
+            throw new InvalidCredentialsException(INVALID_CREDENTIALS);
+        }
+        String storedPassword = passenger.getPassword();
+        if (!passwordHasher.matches(AccountType.PASSENGER, rawPassword, storedPassword,
+                rehashed -> passengerRepository.updatePasswordIfUnchanged(passenger.getId(), storedPassword, rehashed))) {
+            throw new InvalidCredentialsException(INVALID_CREDENTIALS);
+        }
+        attemptThrottler.recordSuccess(AccountType.PASSENGER, passenger.getId(), email);
+        passenger.setPassword(null);
+        return passenger;
+    }
+
+    private void rejectRecentlyUsedPassword(String newPassword, String currentPassword, List<String> previousPasswords) {
+        if (passwordHistoryDepth <= 0) {
+            return;
+        }
+        List<String> recentPasswords = new ArrayList<>(previousPasswords.size() + 1);
+        recentPasswords.add(currentPassword);
+        recentPasswords.addAll(previousPasswords);
+        if (passwordHasher.matchesAny(AccountType.PASSENGER, newPassword, recentPasswords)) {
+            throw new PasswordPolicyViolationException("New password must differ from your recent passwords",
+                    PasswordPolicyReport.of(PasswordRule.REUSED));
         }
-        existingPassenger.setPassword(PasswordEncoderUtil.encode(newPassword));
-        return passengerRepository.save(existingPassenger);
     }
-}
\ No newline at end of file
+}
@@ -1,44 +1,87 @@
 package com.gtu.users_management_service.application.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
+import com.gtu.users_management_service.domain.exception.InvalidCredentialsException;
 import com.gtu.users_management_service.domain.exception.ResourceNotFoundException;
+import com.gtu.users_management_service.domain.model.AccountPasswordHistory;
+import com.gtu.users_management_service.domain.model.AccountType;
 import com.gtu.users_management_service.domain.model.Role;
 import com.gtu.users_management_service.domain.model.Status;
 import com.gtu.users_management_service.domain.model.User;
+import com.gtu.users_management_service.domain.model.UserPage;
+import com.gtu.users_management_service.domain.model.UserView;
 import com.gtu.users_management_service.domain.repository.UserRepository;
 import com.gtu.users_management_service.domain.service.UserService;
 import com.gtu.users_management_service.infrastructure.messaging.event.UserCreatedEvent;
-import com.gtu.users_management_service.infrastructure.security.PasswordEncoderUtil;
-import com.gtu.users_management_service.infrastructure.security.PasswordValidator;
+import com.gtu.users_management_service.infrastructure.security.PasswordAttemptThrottler;
+import com.gtu.users_management_service.infrastructure.security.PasswordHasher;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicy;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicyReport;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicyViolationException;
+import com.gtu.users_management_service.infrastructure.security.PasswordRule;
 import com.gtu.users_management_service.infrastructure.logs.LogPublisher;
 import java.time.Instant;
 
+/**
+ * Lookups run in read-only transactions and single-statement writes in
+ * read-write ones. Flows that hash passwords are not transactional as a
+ * whole, so no connection is held while bcrypt runs; only their closing
+ * writes are grouped into one transaction.
+ */
 @Service
 public class UserServiceImpl implements UserService {
 
     private static final String USER_NOT_FOUND = "User does not exist";
+    private static final String INVALID_CREDENTIALS = "Invalid email or password";
 
     private final UserRepository userRepository;
     private final RabbitTemplate rabbitTemplate;
     private final ObjectMapper objectMapper;
     private final Logger logger = Logger.getLogger(UserServiceImpl.class.getName());
     private final LogPublisher logPublisher;
+    private final PasswordHasher passwordHasher;
+    private final PasswordPolicy passwordPolicy;
+    private final PasswordAttemptThrottler attemptThrottler;
+    private final TransactionOperations transactionOperations;
+    private final int passwordHistoryDepth;
+    private final int maxPageSize;
+    private final int maxBulkIds;
 
     public UserServiceImpl(UserRepository userRepository, RabbitTemplate rabbitTemplate, ObjectMapper objectMapper,
-            LogPublisher logPublisher) {
+            LogPublisher logPublisher, PasswordHasher passwordHasher, PasswordPolicy passwordPolicy,
+            PasswordAttemptThrottler attemptThrottler, TransactionOperations transactionOperations,
+            @Value("${security.password.history-depth:5}") int passwordHistoryDepth,
+            @Value("${users.search.max-page-size:100}") int maxPageSize,
+            @Value("${users.bulk.max-ids:1000}") int maxBulkIds) {
         this.rabbitTemplate = rabbitTemplate;
         this.objectMapper = objectMapper;
         this.userRepository = userRepository;
         this.logPublisher = logPublisher;
+        this.passwordHasher = passwordHasher;
+        this.passwordPolicy = passwordPolicy;
+        this.attemptThrottler = attemptThrottler;
+        this.transactionOperations = transactionOperations;
+        this.passwordHistoryDepth = passwordHistoryDepth;
+        this.maxPageSize = maxPageSize;
+        this.maxBulkIds = maxBulkIds;
     }
 
     @Value("${rabbitmq.exchange.email}")
@@ -58,16 +101,13 @@ public class UserServiceImpl implements UserService {
         if (user.getEmail() == null || user.getEmail().isEmpty()) {
             throw new IllegalArgumentException("Email cannot be empty");
         }
-        if (!PasswordValidator.isValid(user.getPassword())) {
-            throw new IllegalArgumentException(
-                    "Password must contain at least 8 characters, including uppercase letters and numbers");
+        PasswordPolicyReport report = passwordPolicy.evaluate(user.getPassword());
+        if (!report.isValid()) {
+            throw new PasswordPolicyViolationException(report);
         }
         if (user.getRole() == null || (user.getRole() != Role.ADMIN && user.getRole() != Role.DRIVER)) {
             throw new IllegalArgumentException("Role cannot be null or invalid");
         }
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new IllegalArgumentException("Email is already in use");
-        }
 
         logPublisher.sendLog(
                 Instant.now().toString(),
@@ -80,7 +120,7 @@ public class UserServiceImpl implements UserService {
                         "role", user.getRole() != null ? user.getRole().toString() : ""));
 
         String plainPassword = user.getPassword();
-        String encodedPassword = PasswordEncoderUtil.encode(plainPassword);
+        String encodedPassword = passwordHasher.encode(AccountType.USER, plainPassword);
         user.setPassword(encodedPassword);
 
         user.setStatus(user.getStatus() != null ? user.getStatus() : Status.ACTIVE);
@@ -102,38 +142,142 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
-        userRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
-        userRepository.deleteById(id);
+        if (!userRepository.deleteById(id)) {
+            throw new IllegalArgumentException(USER_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Ids that do not exist are skipped; the result lists the users that were
+     * actually deleted.
+     */
+    @Override
+    @Transactional
+    public List<Long> deleteUsers(Collection<Long> ids) {
+        Set<Long> requested = requireBulkIds(ids);
+        List<Long> deleted = userRepository.deleteAllById(requested).stream().sorted().toList();
+        logPublisher.sendLog(
+                Instant.now().toString(),
+                "users-management-service",
+                "INFO",
+                "Deleting users",
+                Map.of("requested", requested.size(), "deleted", deleted));
+        return deleted;
     }
 
     @Override
+    @Transactional
     public User updateStatus(Long id, Status status) {
+        requireAssignableStatus(status);
+
+        return userRepository.updateStatus(id, status)
+                .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
+    }
+
+    /**
+     * Ids that do not exist are skipped; the result lists the users whose
+     * status was set.
+     */
+    @Override
+    @Transactional
+    public List<Long> updateStatuses(Collection<Long> ids, Status status) {
+        requireAssignableStatus(status);
+        Set<Long> requested = requireBulkIds(ids);
+        List<Long> updated = userRepository.updateStatuses(requested, status).stream()
+                .map(UserView::id)
+                .sorted()
+                .toList();
+        logPublisher.sendLog(
+                Instant.now().toString(),
+                "users-management-service",
+                "INFO",
+                "Updating user statuses",
+                Map.of("status", status.toString(), "requested", requested.size(), "updated", updated));
+        return updated;
+    }
+
+    private static void requireAssignableStatus(Status status) {
         if (status != Status.ACTIVE && status != Status.INACTIVE) {
             throw new IllegalArgumentException("Invalid status value. Only ACTIVE or INACTIVE are allowed.");
         }
+    }
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
+    private Set<Long> requireBulkIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Ids cannot be empty");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Ids cannot contain null values");
+        }
+        if (ids.size() > maxBulkIds) {
+            throw new IllegalArgumentException("Cannot change more than " + maxBulkIds + " users at once");
+        }
+        return new LinkedHashSet<>(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserView> getUsersByRole(Role role) {
+        requireListableRole(role);
+        return userRepository.findViewsByRole(role);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPage searchUsers(Role role, Status status, String namePrefix, Long afterId, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        List<Role> roles;
+        if (role == null) {
+            roles = List.of(Role.ADMIN, Role.DRIVER);
+        } else {
+            requireListableRole(role);
+            roles = List.of(role);
+        }
+        int pageSize = Math.min(size, maxPageSize);
+        // One extra row tells whether another page follows without a count query.
+        List<UserView> rows = userRepository.search(roles, status, namePrefix, afterId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new UserPage(rows, null);
+        }
+        List<UserView> page = rows.subList(0, pageSize);
+        return new UserPage(List.copyOf(page), page.get(pageSize - 1).id());
+    }
 
-        user.setStatus(status);
-        return userRepository.save(user);
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(Consumer<UserView> sink) {
+        userRepository.forEachView(view -> {
+            if (view.role() != Role.SUPERADMIN) {
+                sink.accept(view);
+            }
+        });
     }
 
     @Override
-    public List<User> getUsersByRole(Role role) {
+    @Transactional(readOnly = true)
+    public String getRosterVersion(Role role) {
+        requireListableRole(role);
+        return userRepository.rosterVersion(role);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getUserVersion(Long id) {
+        return userRepository.findVersionById(id);
+    }
+
+    private static void requireListableRole(Role role) {
         if (role != Role.ADMIN && role != Role.DRIVER) {
             throw new IllegalArgumentException("Invalid role value. Only ADMIN or DRIVER are allowed.");
         }
-        List<User> users = userRepository.findByRole(role);
-        for (User user : users) {
-            user.setPassword(null);
-        }
-        return users;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
@@ -141,43 +285,98 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User updatePassword(User user, PasswordUpdateDTO passwordUpdateDTO) {
-        User existingUser = userRepository.findById(user.getId())
+        AccountPasswordHistory<User> history = userRepository.findWithPasswordHistory(user.getId(), passwordHistoryDepth)
                 .orElseThrow(() -> new IllegalArgumentException("Passenger not found"));
+        User existingUser = history.account();
         if (user.getPassword() == null || user.getPassword().isEmpty()) {
             throw new IllegalArgumentException("Current password cannot be null or empty");
         }
-        if (!PasswordEncoderUtil.matches(user.getPassword(), existingUser.getPassword())) {
+        attemptThrottler.checkAttempt(AccountType.USER, existingUser.getId(), existingUser.getEmail());
+        String storedPassword = existingUser.getPassword();
+        // No background rehash: the hash is replaced below, and a rehash landing first would fail the version check.
+        if (!passwordHasher.matches(AccountType.USER, user.getPassword(), storedPassword)) {
             throw new IllegalArgumentException("Current password is incorrect");
         }
+        attemptThrottler.recordSuccess(AccountType.USER, existingUser.getId(), existingUser.getEmail());
         if (passwordUpdateDTO.getNewPassword() == null || passwordUpdateDTO.getNewPassword().isEmpty()) {
             throw new IllegalArgumentException("New password cannot be null or empty");
         }
-        if (!PasswordValidator.isValid(passwordUpdateDTO.getNewPassword())) {
-            throw new IllegalArgumentException(
-                    "New password must contain at least 8 characters, including uppercase letters and numbers");
+        PasswordPolicyReport report = passwordPolicy.evaluate(passwordUpdateDTO.getNewPassword());
+        if (!report.isValid()) {
+            throw new PasswordPolicyViolationException(report);
         }
-        existingUser.setPassword(PasswordEncoderUtil.encode(passwordUpdateDTO.getNewPassword()));
-        return userRepository.save(existingUser);
+        rejectRecentlyUsedPassword(passwordUpdateDTO.getNewPassword(), storedPassword, history.previousPasswords());
+        return replacePassword(existingUser,
+                passwordHasher.encode(AccountType.USER, passwordUpdateDTO.getNewPassword()), storedPassword);
     }
 
     @Override
-    public User getUserById(Long id) {
-        return userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+    @Transactional(readOnly = true)
+    public UserView getUserById(Long id) {
+        return userRepository.findViewById(id).orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
     }
 
     @Override
     public User resetPassword(User user, String newPassword) {
-        User existingUser = userRepository.findById(user.getId())
+        AccountPasswordHistory<User> history = userRepository.findWithPasswordHistory(user.getId(), passwordHistoryDepth)
                 .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
+        User existingUser = history.account();
 
         if (newPassword == null || newPassword.isEmpty()) {
             throw new IllegalArgumentException("New password cannot be null or empty");
         }
-        if (!PasswordValidator.isValid(newPassword)) {
-            throw new IllegalArgumentException(
-                    "New password must contain at least 8 characters, including uppercase letters and numbers");
+        PasswordPolicyReport report = passwordPolicy.evaluate(newPassword);
+        if (!report.isValid()) {
+            throw new PasswordPolicyViolationException(report);
+        }
+        String previousPassword = existingUser.getPassword();
+        rejectRecentlyUsedPassword(newPassword, previousPassword, history.previousPasswords());
+        return replacePassword(existingUser, passwordHasher.encode(AccountType.USER, newPassword), previousPassword);
+    }
+
+    /**
+     * The new hash and the history entry for the old one are written
+     * together, so the history never misses a password that was replaced.
+     */
+    private User replacePassword(User existingUser, String newHash, String previousPassword) {
+        return transactionOperations.execute(status -> {
+            User saved = userRepository.updatePassword(existingUser.getId(), existingUser.getVersion(), newHash);
+            userRepository.recordPasswordHistory(existingUser.getId(), previousPassword, passwordHistoryDepth);
+            return saved;
+        });
+    }
+
+    @Override
+    public User verifyCredentials(String email, String rawPassword) {
+        if (email == null || email.isEmpty() || rawPassword == null || rawPassword.isEmpty()) {
+            throw new InvalidCredentialsException(INVALID_CREDENTIALS);
+        }
+        User user = userRepository.findByEmail(email).orElse(null);
+        attemptThrottler.checkAttempt(AccountType.USER, user == null ? null : user.getId(), email);
+        if (user == null) {
+            passwordHasher.matchAgainstDummy(AccountType.USER, rawPassword);
+            throw new InvalidCredentialsException(INVALID_CREDENTIALS);
+        }
+        String storedPassword = user.getPassword();
+        if (!passwordHasher.matches(AccountType.USER, rawPassword, storedPassword,
+                rehashed -> userRepository.updatePasswordIfUnchanged(user.getId(), storedPassword, rehashed))) {
+            throw new InvalidCredentialsException(INVALID_CREDENTIALS);
+        }
+        attemptThrottler.recordSuccess(AccountType.USER, user.getId(), email);
+        user.setPassword(null);
+        return user;
+    }
+
+    private void rejectRecentlyUsedPassword(String newPassword, String currentPassword, List<String> previousPasswords) {
+        if (passwordHistoryDepth <= 0) {
+            return;
+        }
+        List<String> recentPasswords = new ArrayList<>(previousPasswords.size() + 1);
+        recentPasswords.add(currentPassword);
+        recentPasswords.addAll(previousPasswords);
+        if (passwordHasher.matchesAny(AccountType.USER, newPassword, recentPasswords)) {
+            throw new PasswordPolicyViolationException("New password must differ from your recent passwords",
+                    PasswordPolicyReport.of(PasswordRule.REUSED));
         }
-        existingUser.setPassword(PasswordEncoderUtil.encode(newPassword));
-        return userRepository.save(existingUser);
     }
-}
\ No newline at end of file
+}
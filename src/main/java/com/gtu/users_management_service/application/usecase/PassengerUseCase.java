@@ -1,19 +1,40 @@
 package com.gtu.users_management_service.application.usecase;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.gtu.users_management_service.application.dto.PassengerDTO;
+import com.gtu.users_management_service.application.dto.PassengerImportReportDTO;
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
+import com.gtu.users_management_service.application.export.ExportFormat;
+import com.gtu.users_management_service.application.export.ExportWriter;
+import com.gtu.users_management_service.application.export.ImportReader;
 import com.gtu.users_management_service.application.mapper.PassengerMapper;
+import com.gtu.users_management_service.domain.model.Passenger;
+import com.gtu.users_management_service.domain.model.PassengerImportResult;
 import com.gtu.users_management_service.domain.service.PassengerService;
 
 @Service
 public class PassengerUseCase {
     
+    private static final List<String> EXPORT_COLUMNS = List.of("id", "name", "email");
+    private static final List<String> IMPORT_COLUMNS = List.of("name", "email", "password");
+
     private final PassengerService passengerService;
+    private final int maxImportRows;
 
-    public PassengerUseCase(PassengerService passengerService) {
+    public PassengerUseCase(PassengerService passengerService,
+            @Value("${passengers.import.max-rows:50000}") int maxImportRows) {
         this.passengerService = passengerService;
+        this.maxImportRows = maxImportRows;
     }
 
     public PassengerDTO createPassenger(PassengerDTO passengerDTO) {
@@ -44,4 +65,57 @@ public class PassengerUseCase {
     public Long countPassengers() {
         return passengerService.countPassengers();
     }
+
+    public Long estimatePassengers() {
+        return passengerService.estimatePassengers();
+    }
+
+    public void exportPassengers(ExportFormat format, OutputStream out) throws IOException {
+        try (ExportWriter writer = ExportWriter.create(format, out, EXPORT_COLUMNS)) {
+            passengerService.exportPassengers(view -> {
+                try {
+                    writer.write(view.id(), view.name(), view.email());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads the whole upload before importing so parsing errors and
+     * validation errors end up in one report, numbered by row in the file.
+     */
+    public PassengerImportReportDTO importPassengers(ExportFormat format, InputStream in) throws IOException {
+        List<Passenger> passengers = new ArrayList<>();
+        List<Integer> rowNumbers = new ArrayList<>();
+        List<PassengerImportReportDTO.RowError> errors = new ArrayList<>();
+        int received = 0;
+        try (ImportReader reader = ImportReader.create(format, in, IMPORT_COLUMNS)) {
+            ImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (++received > maxImportRows) {
+                    throw new IllegalArgumentException("Import cannot contain more than " + maxImportRows + " rows");
+                }
+                if (row.error() != null) {
+                    errors.add(new PassengerImportReportDTO.RowError(row.number(), row.get("email"), row.error()));
+                } else {
+                    passengers.add(new Passenger(null, row.get("name"), row.get("email"), row.get("password")));
+                    rowNumbers.add(row.number());
+                }
+            }
+        }
+        if (received == 0) {
+            throw new IllegalArgumentException("Import cannot be empty");
+        }
+        PassengerImportResult result = passengerService.importPassengers(passengers);
+        for (PassengerImportResult.RowError error : result.errors()) {
+            errors.add(new PassengerImportReportDTO.RowError(
+                    rowNumbers.get(error.index()), error.email(), error.message()));
+        }
+        errors.sort(Comparator.comparingInt(PassengerImportReportDTO.RowError::getRow));
+        return new PassengerImportReportDTO(received, result.imported(), errors);
+    }
 }
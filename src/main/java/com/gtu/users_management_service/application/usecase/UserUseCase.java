@@ -2,18 +2,27 @@ package com.gtu.users_management_service.application.usecase;
 
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
 import com.gtu.users_management_service.application.dto.UserDTO;
+import com.gtu.users_management_service.application.dto.UserPageDTO;
+import com.gtu.users_management_service.application.export.ExportFormat;
+import com.gtu.users_management_service.application.export.ExportWriter;
 import com.gtu.users_management_service.application.mapper.UserMapper;
 import com.gtu.users_management_service.domain.model.Role;
 import com.gtu.users_management_service.domain.model.Status;
 import com.gtu.users_management_service.domain.service.UserService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserUseCase {
 
+    private static final List<String> EXPORT_COLUMNS = List.of("id", "name", "email", "role", "status");
+
     private final UserService userService;
 
     public UserUseCase(UserService userService) {
@@ -28,12 +37,46 @@ public class UserUseCase {
         userService.deleteUser(id);
     }
 
+    public List<Long> deleteUsers(List<Long> ids) {
+        return userService.deleteUsers(ids);
+    }
+
     public UserDTO updateStatus(Long id, Status status) {
         return UserMapper.toDTO(userService.updateStatus(id, status));
     }
 
+    public List<Long> updateStatuses(List<Long> ids, Status status) {
+        return userService.updateStatuses(ids, status);
+    }
+
     public List<UserDTO> getUsersByRole(Role role) {
-        return UserMapper.toDTOList(userService.getUsersByRole(role));
+        return UserMapper.toDTOListFromViews(userService.getUsersByRole(role));
+    }
+
+    public UserPageDTO searchUsers(Role role, Status status, String namePrefix, Long afterId, int size) {
+        return UserMapper.toPageDTO(userService.searchUsers(role, status, namePrefix, afterId, size));
+    }
+
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        try (ExportWriter writer = ExportWriter.create(format, out, EXPORT_COLUMNS)) {
+            userService.exportUsers(view -> {
+                try {
+                    writer.write(view.id(), view.name(), view.email(), view.role(), view.status());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public String getRosterVersion(Role role) {
+        return userService.getRosterVersion(role);
+    }
+
+    public Optional<Long> getUserVersion(Long id) {
+        return userService.getUserVersion(id);
     }
 
     public UserDTO updatePassword(UserDTO userDTO, PasswordUpdateDTO passwordUpdateDTO) {
@@ -46,6 +89,6 @@ public class UserUseCase {
     }
 
     public UserDTO getUserById(Long id){
-        return UserMapper.toDTO(userService.getUserById(id));
+        return UserMapper.viewToDTO(userService.getUserById(id));
     }
 }
\ No newline at end of file
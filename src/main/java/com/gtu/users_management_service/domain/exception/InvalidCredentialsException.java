@@ -0,0 +1,7 @@
+package com.gtu.users_management_service.domain.exception;
+
+public class InvalidCredentialsException extends RuntimeException {
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.gtu.users_management_service.domain.model;
+
+import java.util.List;
+
+/**
+ * An account together with the hashes of the passwords it used before the
+ * current one, newest first.
+ */
+public record AccountPasswordHistory<T>(T account, List<String> previousPasswords) {
+}
@@ -0,0 +1,6 @@
+package com.gtu.users_management_service.domain.model;
+
+public enum AccountType {
+    USER,
+    PASSENGER
+}
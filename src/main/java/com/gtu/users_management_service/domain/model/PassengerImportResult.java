@@ -0,0 +1,13 @@
+package com.gtu.users_management_service.domain.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk passenger import. Each rejected passenger is reported by
+ * its position in the submitted list, starting at 0.
+ */
+public record PassengerImportResult(int received, int imported, List<RowError> errors) {
+
+    public record RowError(int index, String email, String message) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.gtu.users_management_service.domain.model;
+
+/**
+ * Read-only view of a passenger without credentials.
+ */
+public record PassengerView(Long id, String name, String email) {
+}
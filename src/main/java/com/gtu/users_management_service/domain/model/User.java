@@ -19,15 +19,22 @@ public class User {
 
     private Status status;
 
+    private long version;
+
     public User() {
     }
 
     public User(Long id, String name, String email, String password, Role role, Status status) {
+        this(id, name, email, password, role, status, 0L);
+    }
+
+    public User(Long id, String name, String email, String password, Role role, Status status, long version) {
         this.id = id;
         this.name = name;
         this.email = email;
         this.password = password;
         this.role = role;
         this.status = status;
+        this.version = version;
     }
 }
\ No newline at end of file
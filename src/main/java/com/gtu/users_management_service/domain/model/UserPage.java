@@ -0,0 +1,10 @@
+package com.gtu.users_management_service.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated user listing. {@code nextAfterId} is the id
+ * to pass as {@code afterId} for the following page, or null on the last one.
+ */
+public record UserPage(List<UserView> users, Long nextAfterId) {
+}
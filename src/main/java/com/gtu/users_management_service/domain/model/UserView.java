@@ -0,0 +1,7 @@
+package com.gtu.users_management_service.domain.model;
+
+/**
+ * Read-only view of a user without credentials, safe to share between requests.
+ */
+public record UserView(Long id, String name, String email, Role role, Status status, long version) {
+}
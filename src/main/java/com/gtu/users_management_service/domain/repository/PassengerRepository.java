@@ -1,14 +1,28 @@
 package com.gtu.users_management_service.domain.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import com.gtu.users_management_service.domain.model.AccountPasswordHistory;
 import com.gtu.users_management_service.domain.model.Passenger;
+import com.gtu.users_management_service.domain.model.PassengerView;
 
 public interface PassengerRepository {
     Passenger save(Passenger passenger);
-    boolean existsByEmail(String email);
     Optional<Passenger> findByEmail(String email);
     boolean existsById(Long id);
     Optional<Passenger> findById(Long id);
+    Optional<Passenger> updateProfile(Long id, String name, String email);
+    Passenger updatePassword(Long id, String expectedPassword, String newPassword);
     Long count();
+    Long estimateCount();
+    boolean updatePasswordIfUnchanged(Long id, String expectedPassword, String newPassword);
+    Optional<AccountPasswordHistory<Passenger>> findWithPasswordHistory(Long id, int depth);
+    void recordPasswordHistory(Long id, String previousPassword, int depth);
+    void forEachView(Consumer<PassengerView> action);
+    Set<String> findExistingEmails(Collection<String> emails);
+    int insertAll(List<Passenger> passengers);
 }
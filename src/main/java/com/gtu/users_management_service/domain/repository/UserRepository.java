@@ -1,16 +1,33 @@
 package com.gtu.users_management_service.domain.repository;
 
+import com.gtu.users_management_service.domain.model.AccountPasswordHistory;
 import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
 import com.gtu.users_management_service.domain.model.User;
+import com.gtu.users_management_service.domain.model.UserView;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserRepository {
     User save(User user);
-    boolean existsByEmail(String email);
     Optional<User> findByEmail(String email);
     Optional<User> findById(Long id);
-    void deleteById(Long id);
+    Optional<UserView> findViewById(Long id);
+    boolean deleteById(Long id);
+    List<Long> deleteAllById(Collection<Long> ids);
+    List<UserView> updateStatuses(Collection<Long> ids, Status status);
+    Optional<User> updateStatus(Long id, Status status);
+    User updatePassword(Long id, long expectedVersion, String newPassword);
     List<User> findByRole(Role role);
-}
\ No newline at end of file
+    List<UserView> findViewsByRole(Role role);
+    List<UserView> search(Collection<Role> roles, Status status, String namePrefix, Long afterId, int limit);
+    String rosterVersion(Role role);
+    Optional<Long> findVersionById(Long id);
+    boolean updatePasswordIfUnchanged(Long id, String expectedPassword, String newPassword);
+    Optional<AccountPasswordHistory<User>> findWithPasswordHistory(Long id, int depth);
+    void recordPasswordHistory(Long id, String previousPassword, int depth);
+    void forEachView(Consumer<UserView> action);
+}
@@ -1,13 +1,22 @@
 package com.gtu.users_management_service.domain.service;
 
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
+import java.util.List;
+import java.util.function.Consumer;
+
 import com.gtu.users_management_service.domain.model.Passenger;
+import com.gtu.users_management_service.domain.model.PassengerImportResult;
+import com.gtu.users_management_service.domain.model.PassengerView;
 
 public interface PassengerService {
     Passenger createPassenger(Passenger passenger);
+    PassengerImportResult importPassengers(List<Passenger> passengers);
     Passenger updatePassenger(Passenger passenger);
     Passenger updatePassword(Passenger passenger, PasswordUpdateDTO passwordUpdateDTO);
     Long countPassengers();
+    Long estimatePassengers();
+    void exportPassengers(Consumer<PassengerView> sink);
     Passenger getPassengerByEmail(String email);
     Passenger resetPassword(Passenger passenger, String newPassword);
+    Passenger verifyCredentials(String email, String rawPassword);
 }
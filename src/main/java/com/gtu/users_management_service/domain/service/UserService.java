@@ -1,19 +1,31 @@
 package com.gtu.users_management_service.domain.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
 import com.gtu.users_management_service.domain.model.Role;
 import com.gtu.users_management_service.domain.model.Status;
 import com.gtu.users_management_service.domain.model.User;
+import com.gtu.users_management_service.domain.model.UserPage;
+import com.gtu.users_management_service.domain.model.UserView;
 
 public interface UserService {
     User createUser(User user);
     void deleteUser(Long id);
+    List<Long> deleteUsers(Collection<Long> ids);
     User updateStatus(Long id, Status status);
-    List<User> getUsersByRole(Role role);
+    List<Long> updateStatuses(Collection<Long> ids, Status status);
+    List<UserView> getUsersByRole(Role role);
+    UserPage searchUsers(Role role, Status status, String namePrefix, Long afterId, int size);
+    String getRosterVersion(Role role);
+    void exportUsers(Consumer<UserView> sink);
+    Optional<Long> getUserVersion(Long id);
     User updatePassword(User user, PasswordUpdateDTO passwordUpdateDTO);
     User getUserByEmail(String email);
-    User getUserById(Long id);
+    UserView getUserById(Long id);
     User resetPassword(User user, String newPassword);
+    User verifyCredentials(String email, String rawPassword);
 }
\ No newline at end of file
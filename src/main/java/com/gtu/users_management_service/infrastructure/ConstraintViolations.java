@@ -0,0 +1,40 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Tells which constraint a failed write ran into, so that only the expected
+ * violation is turned into a client error and anything else, such as a
+ * missing value or an overlong column, surfaces as the failure it is.
+ */
+final class ConstraintViolations {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * The name is looked for in the constraint Hibernate extracted or, for
+     * writes that bypass Hibernate, in the driver message of a unique
+     * violation. Databases differ in how much they wrap around the name, so
+     * it only has to appear, in any case.
+     */
+    static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        String expected = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(expected);
+            }
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return sqlException.getMessage() != null
+                        && sqlException.getMessage().toLowerCase(Locale.ROOT).contains(expected);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package com.gtu.users_management_service.infrastructure;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Builds UPDATE and DELETE statements that hand back the rows they changed in
+ * the same round trip: a RETURNING clause on Postgres, and a data change delta
+ * table on databases that only know the standard form (H2 in tests).
+ */
+final class DataChangeStatements {
+
+    private final boolean returningClause;
+
+    DataChangeStatements(EntityManagerFactory entityManagerFactory) {
+        this.returningClause = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Columns are read after the update is applied.
+     */
+    String updateReturning(String update, String columns) {
+        return returningClause
+                ? update + " RETURNING " + columns
+                : "SELECT " + columns + " FROM FINAL TABLE (" + update + ")";
+    }
+
+    /**
+     * Columns are read from the deleted rows.
+     */
+    String deleteReturning(String delete, String columns) {
+        return returningClause
+                ? delete + " RETURNING " + columns
+                : "SELECT " + columns + " FROM OLD TABLE (" + delete + ")";
+    }
+}
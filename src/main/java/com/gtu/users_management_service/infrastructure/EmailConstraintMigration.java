@@ -0,0 +1,85 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+
+/**
+ * Databases created before the email constraints were named still carry
+ * the unique constraint the column used to declare, under a generated name.
+ * Once Hibernate has added the named one, and only then, this drops the
+ * old one on Postgres, so a taken email is always reported under the name the
+ * repositories look for.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class EmailConstraintMigration implements InitializingBean {
+
+    private static final Map<String, String> CONSTRAINTS = Map.of(
+            UserEntity.TABLE, UserEntity.EMAIL_CONSTRAINT,
+            PassengerEntity.TABLE, PassengerEntity.EMAIL_CONSTRAINT);
+
+    private static final String OTHER_EMAIL_CONSTRAINTS_SQL = "SELECT c.conname FROM pg_constraint c "
+            + "JOIN pg_class t ON t.oid = c.conrelid "
+            + "JOIN pg_namespace n ON n.oid = t.relnamespace "
+            + "JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = c.conkey[1] "
+            + "WHERE n.nspname = current_schema() AND t.relname = ? AND c.contype = 'u' "
+            + "AND cardinality(c.conkey) = 1 AND a.attname = 'email' AND c.conname <> ? "
+            + "AND EXISTS (SELECT 1 FROM pg_constraint k WHERE k.conrelid = t.oid AND k.conname = ?)";
+
+    private final Logger logger = Logger.getLogger(EmailConstraintMigration.class.getName());
+
+    private final DataSource dataSource;
+
+    public EmailConstraintMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            for (Map.Entry<String, String> entry : CONSTRAINTS.entrySet()) {
+                for (String replaced : otherEmailConstraints(connection, entry.getKey(), entry.getValue())) {
+                    statement.execute("ALTER TABLE " + entry.getKey() + " DROP CONSTRAINT \""
+                            + replaced.replace("\"", "\"\"") + "\"");
+                    logger.info("Replaced " + replaced + " with " + entry.getValue() + " on " + entry.getKey());
+                }
+            }
+        }
+    }
+
+    private static List<String> otherEmailConstraints(Connection connection, String table, String keep)
+            throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(OTHER_EMAIL_CONSTRAINTS_SQL)) {
+            query.setString(1, table);
+            query.setString(2, keep);
+            query.setString(3, keep);
+            try (ResultSet rows = query.executeQuery()) {
+                while (rows.next()) {
+                    names.add(rows.getString(1));
+                }
+            }
+        }
+        return names;
+    }
+}
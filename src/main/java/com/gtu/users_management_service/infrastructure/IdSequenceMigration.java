@@ -0,0 +1,117 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.stereotype.Component;
+
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+
+/**
+ * Databases created while ids were generated by the database have sequences
+ * that step by one, and Hibernate refuses to start when a sequence does not
+ * step by the allocation size of its mapping. This aligns them before the
+ * entity manager factory is built. A sequence behind a serial column only
+ * has its increment raised: ids its default takes afterwards stay unique,
+ * since every value drawn is the top of a block nobody else was given. An
+ * identity column owns its sequence and would keep generating with it, so
+ * the identity is dropped instead and the sequence recreated past the
+ * highest id in the table.
+ */
+@Component
+public class IdSequenceMigration implements InitializingBean {
+
+    private record IdSequence(String table, String name, int increment) {
+    }
+
+    private static final List<IdSequence> SEQUENCES = List.of(
+            new IdSequence(UserEntity.TABLE, UserEntity.ID_SEQUENCE, UserEntity.ID_ALLOCATION_SIZE),
+            new IdSequence(PassengerEntity.TABLE, PassengerEntity.ID_SEQUENCE, PassengerEntity.ID_ALLOCATION_SIZE));
+
+    private static final String IDENTITY_ID_SQL = "SELECT 1 FROM pg_attribute a "
+            + "JOIN pg_class t ON t.oid = a.attrelid "
+            + "JOIN pg_namespace n ON n.oid = t.relnamespace "
+            + "WHERE n.nspname = current_schema() AND t.relname = ? AND a.attname = 'id' AND a.attidentity <> ''";
+
+    private final Logger logger = Logger.getLogger(IdSequenceMigration.class.getName());
+
+    private final DataSource dataSource;
+
+    public IdSequenceMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            for (IdSequence sequence : SEQUENCES) {
+                if (hasIdentityId(connection, sequence.table())) {
+                    replaceIdentity(connection, sequence);
+                } else {
+                    statement.execute("ALTER SEQUENCE IF EXISTS " + sequence.name()
+                            + " INCREMENT BY " + sequence.increment());
+                }
+            }
+            logger.info("Id sequences aligned with their allocation sizes");
+        }
+    }
+
+    private static boolean hasIdentityId(Connection connection, String table) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(IDENTITY_ID_SQL)) {
+            query.setString(1, table);
+            try (ResultSet rows = query.executeQuery()) {
+                return rows.next();
+            }
+        }
+    }
+
+    /**
+     * Dropping the identity also drops its sequence. Hibernate takes the first
+     * value of a sequence that does not start at one as the top of a block, so
+     * the new one starts a full block past the highest id. The table stays
+     * locked by the {@code ALTER TABLE} until the sequence exists.
+     */
+    private void replaceIdentity(Connection connection, IdSequence sequence) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + sequence.table() + " ALTER COLUMN id DROP IDENTITY");
+            long maxId;
+            try (ResultSet rows = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + sequence.table())) {
+                rows.next();
+                maxId = rows.getLong(1);
+            }
+            statement.execute("CREATE SEQUENCE " + sequence.name() + " INCREMENT BY " + sequence.increment()
+                    + " START WITH " + (maxId + sequence.increment()));
+            connection.commit();
+            logger.info("Replaced the identity on " + sequence.table() + ".id with " + sequence.name());
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    @Component
+    static class EntityManagerFactoryDependency extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependency() {
+            super(IdSequenceMigration.class);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gtu.users_management_service.infrastructure.entities.PassengerPasswordHistoryEntity;
+
+@Repository
+public interface JpaPassengerPasswordHistoryRepository extends JpaRepository<PassengerPasswordHistoryEntity, Long> {
+
+    @Query("SELECT h.id FROM PassengerPasswordHistoryEntity h WHERE h.passengerId = ?1 ORDER BY h.createdAt DESC, h.id DESC")
+    List<Long> findIdsNewestFirst(Long passengerId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PassengerPasswordHistoryEntity h WHERE h.passengerId = ?1")
+    void deleteByPassengerId(Long passengerId);
+}
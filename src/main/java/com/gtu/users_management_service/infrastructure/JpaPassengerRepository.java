@@ -1,15 +1,63 @@
 package com.gtu.users_management_service.infrastructure;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+
+import com.gtu.users_management_service.domain.model.PassengerView;
 import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
 
 @Repository
-public interface JpaPassengerRepository extends JpaRepository<PassengerEntity, Long> {
+public interface JpaPassengerRepository extends JpaRepository<PassengerEntity, Long>,
+        PassengerDataChangeRepository {
+
+    @Transactional(readOnly = true)
     @Query("SELECT p FROM PassengerEntity p WHERE p.email = ?1")
     Optional<PassengerEntity> findByEmail(String email);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT p.email FROM PassengerEntity p WHERE p.email IN ?1")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT p, h.password FROM PassengerEntity p LEFT JOIN PassengerPasswordHistoryEntity h ON h.passengerId = p.id "
+            + "WHERE p.id = ?1 ORDER BY h.createdAt DESC, h.id DESC")
+    List<Object[]> findWithPasswordHistory(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PassengerEntity p SET p.password = ?3 WHERE p.id = ?1 AND p.password = ?2")
+    int updatePasswordIfUnchanged(Long id, String expectedPassword, String newPassword);
+
+    /**
+     * Row estimate kept by the Postgres planner, refreshed by autovacuum and
+     * ANALYZE. Negative when the table has never been analyzed.
+     */
+    @Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = CAST('passenger' AS regclass)",
+            nativeQuery = true)
+    Long estimateCount();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.gtu.users_management_service.domain.model.PassengerView(p.id, p.name, p.email) "
+            + "FROM PassengerEntity p ORDER BY p.id")
+    Stream<PassengerView> streamAllViews();
+
+    @Transactional(readOnly = true)
+    default void forEachView(Consumer<PassengerView> action) {
+        try (Stream<PassengerView> views = streamAllViews()) {
+            views.forEach(action);
+        }
+    }
 }
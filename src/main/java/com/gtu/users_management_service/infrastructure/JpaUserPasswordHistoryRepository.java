@@ -0,0 +1,16 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.gtu.users_management_service.infrastructure.entities.UserPasswordHistoryEntity;
+
+@Repository
+public interface JpaUserPasswordHistoryRepository extends JpaRepository<UserPasswordHistoryEntity, Long> {
+
+    @Query("SELECT h.id FROM UserPasswordHistoryEntity h WHERE h.userId = ?1 ORDER BY h.createdAt DESC, h.id DESC")
+    List<Long> findIdsNewestFirst(Long userId);
+}
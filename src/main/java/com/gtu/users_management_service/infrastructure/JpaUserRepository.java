@@ -1,22 +1,72 @@
 package com.gtu.users_management_service.infrastructure;
 
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+
+import com.gtu.users_management_service.domain.model.UserView;
 import com.gtu.users_management_service.infrastructure.entities.UserEntity;
 import java.util.List;
 import com.gtu.users_management_service.domain.model.Role;
 
 
 @Repository
-public interface JpaUserRepository extends JpaRepository<UserEntity, Long> {
+public interface JpaUserRepository extends JpaRepository<UserEntity, Long>, JpaSpecificationExecutor<UserEntity>,
+        UserDataChangeRepository {
 
+    @Transactional(readOnly = true)
     @Query("SELECT u FROM UserEntity u WHERE u.email = ?1")
     Optional<UserEntity> findByEmail(String email);
+
+    @Transactional(readOnly = true)
     @Query("SELECT u FROM UserEntity u WHERE u.role = ?1")
     List<UserEntity> findByRole(Role role);
 
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.gtu.users_management_service.domain.model.UserView(u.id, u.name, u.email, u.role, u.status, u.version) "
+            + "FROM UserEntity u WHERE u.role = ?1 ORDER BY u.id")
+    List<UserView> findViewsByRole(Role role);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.gtu.users_management_service.domain.model.UserView(u.id, u.name, u.email, u.role, u.status, u.version) "
+            + "FROM UserEntity u WHERE u.id = ?1")
+    Optional<UserView> findViewById(Long id);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT u.version FROM UserEntity u WHERE u.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT u, h.password FROM UserEntity u LEFT JOIN UserPasswordHistoryEntity h ON h.userId = u.id "
+            + "WHERE u.id = ?1 ORDER BY h.createdAt DESC, h.id DESC")
+    List<Object[]> findWithPasswordHistory(Long id);
+
+    // Leaves the version alone: a rehash changes no user data, so the ETag must not change either.
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.password = ?3 WHERE u.id = ?1 AND u.password = ?2")
+    int updatePasswordIfUnchanged(Long id, String expectedPassword, String newPassword);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.gtu.users_management_service.domain.model.UserView(u.id, u.name, u.email, u.role, u.status, u.version) "
+            + "FROM UserEntity u ORDER BY u.id")
+    Stream<UserView> streamAllViews();
+
+    @Transactional(readOnly = true)
+    default void forEachView(Consumer<UserView> action) {
+        try (Stream<UserView> views = streamAllViews()) {
+            views.forEach(action);
+        }
+    }
 }
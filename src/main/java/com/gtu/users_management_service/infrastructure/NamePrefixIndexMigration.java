@@ -0,0 +1,68 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+
+/**
+ * Under a collation other than C, Postgres cannot use a plain btree on
+ * {@code name} for {@code LIKE 'prefix%'}, so the name search would scan.
+ * Once Hibernate has created the mapped index, this rebuilds it with
+ * {@code varchar_pattern_ops} under the same name, which Hibernate then
+ * leaves alone. The new index is built concurrently and swapped in, so
+ * writes are not blocked while it builds. Other databases keep the mapped
+ * index.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class NamePrefixIndexMigration implements InitializingBean {
+
+    private static final String REBUILT_INDEX = UserEntity.NAME_INDEX + "_pattern";
+
+    private final Logger logger = Logger.getLogger(NamePrefixIndexMigration.class.getName());
+
+    private final DataSource dataSource;
+
+    public NamePrefixIndexMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())
+                    || usesPatternOps(connection)) {
+                return;
+            }
+            connection.setAutoCommit(true);
+            statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + REBUILT_INDEX);
+            statement.execute("CREATE INDEX CONCURRENTLY " + REBUILT_INDEX
+                    + " ON users (name varchar_pattern_ops, id)");
+            statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + UserEntity.NAME_INDEX);
+            statement.execute("ALTER INDEX " + REBUILT_INDEX + " RENAME TO " + UserEntity.NAME_INDEX);
+            logger.info("Rebuilt " + UserEntity.NAME_INDEX + " with varchar_pattern_ops for name prefix search");
+        }
+    }
+
+    private static boolean usesPatternOps(Connection connection) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT indexdef FROM pg_indexes WHERE schemaname = current_schema() AND indexname = ?")) {
+            query.setString(1, UserEntity.NAME_INDEX);
+            try (ResultSet rows = query.executeQuery()) {
+                return rows.next() && rows.getString(1).contains("varchar_pattern_ops");
+            }
+        }
+    }
+}
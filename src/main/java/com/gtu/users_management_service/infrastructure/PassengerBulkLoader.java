@@ -0,0 +1,161 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Inserts new passengers in bulk. On Postgres the rows are streamed through
+ * {@code COPY ... FROM STDIN}, with ids taken from the id sequence in the same
+ * blocks Hibernate reserves; other databases get batched persists. Either way
+ * the load runs in one transaction, so a unique violation on any row leaves
+ * nothing behind.
+ */
+@Repository
+public class PassengerBulkLoader {
+
+    static final String COPY_SQL = "COPY passenger (id, name, email, password) FROM STDIN WITH (FORMAT csv)";
+    static final String ALLOCATE_IDS_SQL = "SELECT nextval('" + PassengerEntity.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+    private static final int COPY_CHUNK_CHARS = 64 * 1024;
+    // The default initial value of @SequenceGenerator, which the sequence is created with.
+    private static final long SEQUENCE_START = 1;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DataSource dataSource;
+    private final SQLStateSQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+    private final int batchSize;
+
+    public PassengerBulkLoader(DataSource dataSource,
+            @Value("${passengers.import.batch-size:1000}") int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the number of rows inserted.
+     */
+    @Transactional
+    public int load(List<PassengerEntity> passengers) {
+        if (passengers.isEmpty()) {
+            return 0;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return persistInBatches(passengers);
+            }
+            long[] ids = allocateIds(connection, passengers.size());
+            return copy(connection.unwrap(PGConnection.class), passengers, ids);
+        } catch (SQLException e) {
+            DataAccessException translated = exceptionTranslator.translate("Bulk passenger load", null, e);
+            throw translated != null ? translated : new UncategorizedSQLException("Bulk passenger load", null, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Each value drawn from the sequence is the top of a block of
+     * {@link PassengerEntity#ID_ALLOCATION_SIZE} ids reserved for the caller,
+     * except the start value of a fresh sequence. Hibernate's pooled
+     * optimizer takes that one as the bottom of its first block, so here it
+     * stands for itself alone and the shortfall is drawn again.
+     */
+    static long[] allocateIds(Connection connection, int count) throws SQLException {
+        int blockSize = PassengerEntity.ID_ALLOCATION_SIZE;
+        long[] ids = new long[count];
+        int next = 0;
+        while (next < count) {
+            try (PreparedStatement statement = connection.prepareStatement(ALLOCATE_IDS_SQL)) {
+                statement.setInt(1, (count - next + blockSize - 1) / blockSize);
+                try (ResultSet blocks = statement.executeQuery()) {
+                    while (blocks.next() && next < count) {
+                        long top = blocks.getLong(1);
+                        long first = top == SEQUENCE_START ? top : top - blockSize + 1;
+                        for (long id = first; id <= top && next < count; id++) {
+                            ids[next++] = id;
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private int copy(PGConnection connection, List<PassengerEntity> passengers, long[] ids) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder chunk = new StringBuilder(COPY_CHUNK_CHARS + 256);
+            for (int i = 0; i < passengers.size(); i++) {
+                PassengerEntity passenger = passengers.get(i);
+                chunk.append(ids[i]).append(',');
+                appendCsv(chunk, passenger.getName()).append(',');
+                appendCsv(chunk, passenger.getEmail()).append(',');
+                appendCsv(chunk, passenger.getPassword()).append('\n');
+                if (chunk.length() >= COPY_CHUNK_CHARS) {
+                    writeChunk(copyIn, chunk);
+                }
+            }
+            writeChunk(copyIn, chunk);
+            return (int) copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static StringBuilder appendCsv(StringBuilder chunk, String value) {
+        // Always quoted, so an empty string is not read back as NULL.
+        return chunk.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void writeChunk(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    /**
+     * Flushes every {@code batchSize} rows so the persistence context stays
+     * small; the inserts themselves go out in JDBC batches.
+     */
+    private int persistInBatches(List<PassengerEntity> passengers) {
+        for (int i = 0; i < passengers.size(); i++) {
+            entityManager.persist(passengers.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return passengers.size();
+    }
+}
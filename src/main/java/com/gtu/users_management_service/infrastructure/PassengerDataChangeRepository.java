@@ -0,0 +1,25 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.util.Optional;
+
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+
+/**
+ * Single-statement passenger writes that hand back the row they changed, so
+ * callers need neither a read before the write nor one after it.
+ */
+public interface PassengerDataChangeRepository {
+
+    /**
+     * Sets the name and email that are not null and returns the updated row,
+     * detached, or nothing when no passenger has the id.
+     */
+    Optional<PassengerEntity> updateProfileReturningEntity(Long id, String name, String email);
+
+    /**
+     * Replaces the password only while it still holds the expected hash, and
+     * returns the updated row. Passengers carry no version column, so the
+     * stored hash is what tells a concurrent change apart.
+     */
+    Optional<PassengerEntity> updatePasswordReturningEntity(Long id, String expectedPassword, String password);
+}
@@ -0,0 +1,63 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+class PassengerDataChangeRepositoryImpl implements PassengerDataChangeRepository {
+
+    private static final String ENTITY_COLUMNS = "id, name, email, password";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DataChangeStatements statements;
+
+    PassengerDataChangeRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        this.statements = new DataChangeStatements(entityManagerFactory);
+    }
+
+    @Override
+    @Transactional
+    public Optional<PassengerEntity> updateProfileReturningEntity(Long id, String name, String email) {
+        String sql = statements.updateReturning(
+                "UPDATE passenger SET name = COALESCE(?1, name), email = COALESCE(?2, email) WHERE id = ?3",
+                ENTITY_COLUMNS);
+        // Typed so that a null is bound as a string rather than an unknown type.
+        NativeQuery<?> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        return singleEntity(query
+                .setParameter(1, name, String.class)
+                .setParameter(2, email, String.class)
+                .setParameter(3, id));
+    }
+
+    @Override
+    @Transactional
+    public Optional<PassengerEntity> updatePasswordReturningEntity(Long id, String expectedPassword, String password) {
+        String sql = statements.updateReturning(
+                "UPDATE passenger SET password = ?1 WHERE id = ?2 AND password = ?3", ENTITY_COLUMNS);
+        return singleEntity(entityManager.createNativeQuery(sql)
+                .setParameter(1, password)
+                .setParameter(2, id)
+                .setParameter(3, expectedPassword));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<PassengerEntity> singleEntity(Query query) {
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().findFirst().map(row -> new PassengerEntity(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                (String) row[3]));
+    }
+}
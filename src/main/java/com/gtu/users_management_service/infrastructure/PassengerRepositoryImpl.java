@@ -1,32 +1,140 @@
 package com.gtu.users_management_service.infrastructure;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
+import com.gtu.users_management_service.domain.model.AccountPasswordHistory;
 import com.gtu.users_management_service.domain.model.Passenger;
+import com.gtu.users_management_service.domain.model.PassengerView;
 import com.gtu.users_management_service.domain.repository.PassengerRepository;
+import com.gtu.users_management_service.infrastructure.cache.EmailLookupCache;
+import com.gtu.users_management_service.infrastructure.cache.PassengerCounter;
+import com.gtu.users_management_service.infrastructure.datasource.ReadConsistency;
 import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+import com.gtu.users_management_service.infrastructure.entities.PassengerPasswordHistoryEntity;
+import com.gtu.users_management_service.infrastructure.messaging.CacheInvalidationBus;
 import com.gtu.users_management_service.infrastructure.mappers.PassengerEntityMapper;
 
 @Repository
-public class PassengerRepositoryImpl implements PassengerRepository{
+public class PassengerRepositoryImpl implements PassengerRepository {
+
+    static final String CACHE_REGION = "passengers";
+    static final int EMAIL_LOOKUP_CHUNK = 1000;
+
     private final JpaPassengerRepository jpaPassengerRepository;
+    private final JpaPassengerPasswordHistoryRepository jpaPassengerPasswordHistoryRepository;
+    private final EmailLookupCache<PassengerEntity> emailCache;
+    private final PassengerCounter passengerCounter;
+    private final PassengerBulkLoader bulkLoader;
+    private final CacheInvalidationBus invalidationBus;
 
-    public PassengerRepositoryImpl(JpaPassengerRepository jpaPassengerRepository) {
+    public PassengerRepositoryImpl(JpaPassengerRepository jpaPassengerRepository,
+            JpaPassengerPasswordHistoryRepository jpaPassengerPasswordHistoryRepository,
+            EmailLookupCache<PassengerEntity> emailCache,
+            PassengerCounter passengerCounter, PassengerBulkLoader bulkLoader, CacheInvalidationBus invalidationBus) {
         this.jpaPassengerRepository = jpaPassengerRepository;
+        this.jpaPassengerPasswordHistoryRepository = jpaPassengerPasswordHistoryRepository;
+        this.emailCache = emailCache;
+        this.passengerCounter = passengerCounter;
+        this.bulkLoader = bulkLoader;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.register(CACHE_REGION, emailCache::invalidateId, emailCache::invalidateAll);
     }
 
+    /**
+     * The row is flushed right away so that a taken email is reported here,
+     * by the unique constraint, rather than by a lookup beforehand that a
+     * concurrent sign-up could slip past. The service has checked every other
+     * constraint by then.
+     */
     @Override
     public Passenger save(Passenger passenger) {
         PassengerEntity passengerEntity = PassengerEntityMapper.toEntity(passenger);
-        PassengerEntity savedEntity = jpaPassengerRepository.save(passengerEntity);
+        boolean inserting = passengerEntity.getId() == null;
+        PassengerEntity savedEntity;
+        try {
+            savedEntity = jpaPassengerRepository.saveAndFlush(passengerEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw emailTakenOr(e);
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            if (inserting) {
+                passengerCounter.increment();
+            }
+            emailCache.invalidateId(savedEntity.getId());
+            emailCache.invalidateEmail(savedEntity.getEmail());
+            invalidationBus.publish(CACHE_REGION, savedEntity.getId());
+        });
         return PassengerEntityMapper.toDomain(savedEntity);
     }
 
+    /**
+     * Emails are looked up {@value #EMAIL_LOOKUP_CHUNK} at a time.
+     */
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        List<String> candidates = List.copyOf(emails);
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < candidates.size(); from += EMAIL_LOOKUP_CHUNK) {
+            List<String> chunk = candidates.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK, candidates.size()));
+            existing.addAll(jpaPassengerRepository.findExistingEmails(chunk));
+        }
+        return existing;
+    }
+
+    /**
+     * Other replicas cannot be told the new ids, so they are asked to reset
+     * their passenger caches instead.
+     */
+    @Override
+    public int insertAll(List<Passenger> passengers) {
+        int inserted;
+        try {
+            inserted = bulkLoader.load(passengers.stream().map(PassengerEntityMapper::toEntity).toList());
+        } catch (DataIntegrityViolationException e) {
+            throw emailTakenOr(e);
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            passengerCounter.add(inserted);
+            invalidationBus.publishReset(CACHE_REGION);
+        });
+        return inserted;
+    }
+
+    /**
+     * The email is checked by the unique constraint as part of the update
+     * instead of by a lookup beforehand.
+     */
     @Override
-    public boolean existsByEmail(String email) {
-        return jpaPassengerRepository.findByEmail(email).isPresent();
+    public Optional<Passenger> updateProfile(Long id, String name, String email) {
+        Optional<PassengerEntity> updated;
+        try {
+            updated = jpaPassengerRepository.updateProfileReturningEntity(id, name, email);
+        } catch (DataIntegrityViolationException e) {
+            throw emailTakenOr(e);
+        }
+        return updated.map(this::applyLocalWrite);
+    }
+
+    /**
+     * Fails with an optimistic locking error when the password was changed
+     * after {@code expectedPassword} was read.
+     */
+    @Override
+    public Passenger updatePassword(Long id, String expectedPassword, String newPassword) {
+        return jpaPassengerRepository.updatePasswordReturningEntity(id, expectedPassword, newPassword)
+                .map(this::applyLocalWrite)
+                .orElseThrow(() -> new ObjectOptimisticLockingFailureException(PassengerEntity.class, id));
     }
 
     @Override
@@ -45,10 +153,82 @@ public class PassengerRepositoryImpl implements PassengerRepository{
         return jpaPassengerRepository.count();
     }
 
+    @Override
+    public void forEachView(Consumer<PassengerView> action) {
+        jpaPassengerRepository.forEachView(action);
+    }
+
+    /**
+     * Served from the planner, or from the running counter while the table
+     * has never been analyzed; either may lag behind recent inserts, which is
+     * what callers of the approximate count accept.
+     */
+    @Override
+    public Long estimateCount() {
+        Long estimate = jpaPassengerRepository.estimateCount();
+        return estimate == null || estimate < 0 ? passengerCounter.get() : estimate;
+    }
+
     @Override
     public Optional<Passenger> findByEmail(String email) {
-        return jpaPassengerRepository.findByEmail(email)
+        return emailCache.get(email,
+                key -> ReadConsistency.onPrimary(() -> jpaPassengerRepository.findByEmail(key)))
                 .map(PassengerEntityMapper::toDomain);
                 
     }
+
+    @Override
+    public boolean updatePasswordIfUnchanged(Long id, String expectedPassword, String newPassword) {
+        boolean updated = jpaPassengerRepository.updatePasswordIfUnchanged(id, expectedPassword, newPassword) > 0;
+        if (updated) {
+            TransactionCallbacks.afterCommit(() -> {
+                emailCache.invalidateId(id);
+                invalidationBus.publish(CACHE_REGION, id);
+            });
+        }
+        return updated;
+    }
+
+    @Override
+    public Optional<AccountPasswordHistory<Passenger>> findWithPasswordHistory(Long id, int depth) {
+        List<Object[]> rows = jpaPassengerRepository.findWithPasswordHistory(id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Passenger passenger = PassengerEntityMapper.toDomain((PassengerEntity) rows.get(0)[0]);
+        List<String> previousPasswords = rows.stream()
+                .map(row -> (String) row[1])
+                .filter(Objects::nonNull)
+                .limit(Math.max(depth, 0))
+                .toList();
+        return Optional.of(new AccountPasswordHistory<>(passenger, previousPasswords));
+    }
+
+    @Override
+    public void recordPasswordHistory(Long id, String previousPassword, int depth) {
+        if (depth <= 0) {
+            return;
+        }
+        jpaPassengerPasswordHistoryRepository.save(new PassengerPasswordHistoryEntity(null, id, previousPassword, Instant.now()));
+        List<Long> ids = jpaPassengerPasswordHistoryRepository.findIdsNewestFirst(id);
+        if (ids.size() > depth) {
+            jpaPassengerPasswordHistoryRepository.deleteAllByIdInBatch(ids.subList(depth, ids.size()));
+        }
+    }
+
+    private static RuntimeException emailTakenOr(DataIntegrityViolationException e) {
+        if (!ConstraintViolations.violates(e, PassengerEntity.EMAIL_CONSTRAINT)) {
+            return e;
+        }
+        return new IllegalArgumentException("Email already exists");
+    }
+
+    private Passenger applyLocalWrite(PassengerEntity entity) {
+        TransactionCallbacks.afterCommit(() -> {
+            emailCache.invalidateId(entity.getId());
+            invalidationBus.publish(CACHE_REGION, entity.getId());
+        });
+        return PassengerEntityMapper.toDomain(entity);
+    }
+
 }
@@ -0,0 +1,30 @@
+package com.gtu.users_management_service.infrastructure;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers cache maintenance until the surrounding transaction commits. Done
+ * earlier, a reader could reload the old row into a cache that was just
+ * invalidated, or another replica could act on an invalidation for a write
+ * that is later rolled back. Outside a transaction the write has already
+ * committed and the action runs right away.
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.domain.model.UserView;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+
+/**
+ * Set-based writes that report the rows they touched, each in one statement
+ * no matter how many ids are given.
+ */
+public interface UserDataChangeRepository {
+
+    List<UserView> updateStatusReturningViews(Collection<Long> ids, Status status);
+
+    /**
+     * Returns the updated row, detached, or nothing when no user has the id.
+     */
+    Optional<UserEntity> updateStatusReturningEntity(Long id, Status status);
+
+    /**
+     * Replaces the password only while the row is still at the expected
+     * version, and returns the updated row. Returns nothing when the user is
+     * gone or was changed in the meantime.
+     */
+    Optional<UserEntity> updatePasswordReturningEntity(Long id, long expectedVersion, String password);
+
+    /**
+     * Deletes the users and their password history, returning the ids of the
+     * users that existed.
+     */
+    List<Long> deleteReturningIds(Collection<Long> ids);
+}
@@ -0,0 +1,109 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.domain.model.UserView;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+class UserDataChangeRepositoryImpl implements UserDataChangeRepository {
+
+    private static final String VIEW_COLUMNS = "id, name, email, role, status, version";
+    private static final String ENTITY_COLUMNS = "id, name, email, password, role, status, version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final DataChangeStatements statements;
+
+    UserDataChangeRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        this.statements = new DataChangeStatements(entityManagerFactory);
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<UserView> updateStatusReturningViews(Collection<Long> ids, Status status) {
+        String sql = statements.updateReturning(
+                "UPDATE users SET status = ?1, version = version + 1 WHERE id = ANY(?2)", VIEW_COLUMNS);
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter(1, status.name())
+                .setParameter(2, ids.toArray(Long[]::new))
+                .getResultList();
+        return rows.stream().map(UserDataChangeRepositoryImpl::toView).toList();
+    }
+
+    @Override
+    @Transactional
+    public Optional<UserEntity> updateStatusReturningEntity(Long id, Status status) {
+        String sql = statements.updateReturning(
+                "UPDATE users SET status = ?1, version = version + 1 WHERE id = ?2", ENTITY_COLUMNS);
+        return singleEntity(entityManager.createNativeQuery(sql)
+                .setParameter(1, status.name())
+                .setParameter(2, id));
+    }
+
+    @Override
+    @Transactional
+    public Optional<UserEntity> updatePasswordReturningEntity(Long id, long expectedVersion, String password) {
+        String sql = statements.updateReturning(
+                "UPDATE users SET password = ?1, version = version + 1 WHERE id = ?2 AND version = ?3", ENTITY_COLUMNS);
+        return singleEntity(entityManager.createNativeQuery(sql)
+                .setParameter(1, password)
+                .setParameter(2, id)
+                .setParameter(3, expectedVersion));
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<Long> deleteReturningIds(Collection<Long> ids) {
+        Long[] idArray = ids.toArray(Long[]::new);
+        entityManager.createNativeQuery("DELETE FROM user_password_history WHERE user_id = ANY(?1)")
+                .setParameter(1, idArray)
+                .executeUpdate();
+        List<Number> deleted = entityManager.createNativeQuery(
+                        statements.deleteReturning("DELETE FROM users WHERE id = ANY(?1)", "id"))
+                .setParameter(1, idArray)
+                .getResultList();
+        return deleted.stream().map(Number::longValue).toList();
+    }
+
+    /**
+     * Rows are mapped by hand rather than as managed entities, so a copy of
+     * the user already loaded in the persistence context cannot shadow the
+     * values the update returned.
+     */
+    @SuppressWarnings("unchecked")
+    private static Optional<UserEntity> singleEntity(Query query) {
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().findFirst().map(row -> new UserEntity(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                Role.valueOf((String) row[4]),
+                row[5] == null ? null : Status.valueOf((String) row[5]),
+                ((Number) row[6]).longValue()));
+    }
+
+    private static UserView toView(Object[] row) {
+        return new UserView(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                Role.valueOf((String) row[3]),
+                row[4] == null ? null : Status.valueOf((String) row[4]),
+                ((Number) row[5]).longValue());
+    }
+}
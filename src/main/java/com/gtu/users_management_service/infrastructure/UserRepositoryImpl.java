@@ -1,39 +1,95 @@
 package com.gtu.users_management_service.infrastructure;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
 import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.domain.model.AccountPasswordHistory;
 import com.gtu.users_management_service.domain.model.User;
+import com.gtu.users_management_service.domain.model.UserView;
 import com.gtu.users_management_service.domain.repository.UserRepository;
+import com.gtu.users_management_service.infrastructure.cache.EmailLookupCache;
+import com.gtu.users_management_service.infrastructure.cache.UserRoster;
+import com.gtu.users_management_service.infrastructure.datasource.ReadConsistency;
 import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+import com.gtu.users_management_service.infrastructure.entities.UserPasswordHistoryEntity;
+import com.gtu.users_management_service.infrastructure.messaging.CacheInvalidationBus;
 import com.gtu.users_management_service.infrastructure.mappers.UserEntityMapper;
 
 @Repository
 public class UserRepositoryImpl implements UserRepository {
+
+    static final String CACHE_REGION = "users";
+
     private final JpaUserRepository jpaUserRepository;
+    private final JpaUserPasswordHistoryRepository jpaUserPasswordHistoryRepository;
+    private final EmailLookupCache<UserEntity> emailCache;
+    private final UserRoster roster;
+    private final CacheInvalidationBus invalidationBus;
 
-    public UserRepositoryImpl(JpaUserRepository jpaUserRepository) {
+    public UserRepositoryImpl(JpaUserRepository jpaUserRepository,
+            JpaUserPasswordHistoryRepository jpaUserPasswordHistoryRepository,
+            EmailLookupCache<UserEntity> emailCache,
+            UserRoster roster, CacheInvalidationBus invalidationBus) {
         this.jpaUserRepository = jpaUserRepository;
+        this.jpaUserPasswordHistoryRepository = jpaUserPasswordHistoryRepository;
+        this.emailCache = emailCache;
+        this.roster = roster;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.register(CACHE_REGION, emailCache::invalidateId, emailCache::invalidateAll);
+        invalidationBus.register(CACHE_REGION, this::applyRemoteWrite, roster::invalidateAll);
     }
 
+    /**
+     * See {@link PassengerRepositoryImpl#save}: a taken email is reported by
+     * the unique constraint when the row is flushed.
+     */
     @Override
     public User save(User user) {
         UserEntity userEntity = UserEntityMapper.toEntity(user);
-        UserEntity savedEntity = jpaUserRepository.save(userEntity);
-        return UserEntityMapper.toDomain(savedEntity);
+        UserEntity savedEntity;
+        try {
+            savedEntity = jpaUserRepository.saveAndFlush(userEntity);
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintViolations.violates(e, UserEntity.EMAIL_CONSTRAINT)) {
+                throw e;
+            }
+            throw new IllegalArgumentException("Email is already in use");
+        }
+        TransactionCallbacks.afterCommit(() -> emailCache.invalidateEmail(savedEntity.getEmail()));
+        return applyLocalWrite(savedEntity);
+    }
+
+    @Override
+    public Optional<User> updateStatus(Long id, Status status) {
+        return jpaUserRepository.updateStatusReturningEntity(id, status).map(this::applyLocalWrite);
     }
 
+    /**
+     * Fails with an optimistic locking error when the user was changed after
+     * it was read at {@code expectedVersion}.
+     */
     @Override
-    public boolean existsByEmail(String email) {
-        return jpaUserRepository.findByEmail(email).isPresent();
+    public User updatePassword(Long id, long expectedVersion, String newPassword) {
+        return jpaUserRepository.updatePasswordReturningEntity(id, expectedVersion, newPassword)
+                .map(this::applyLocalWrite)
+                .orElseThrow(() -> new ObjectOptimisticLockingFailureException(UserEntity.class, id));
     }
 
     @Override
     public Optional<User> findByEmail(String email) {
-        return jpaUserRepository.findByEmail(email)
+        return emailCache.get(email,
+                key -> ReadConsistency.onPrimary(() -> jpaUserRepository.findByEmail(key)))
                 .map(UserEntityMapper::toDomain);
     }
 
@@ -44,8 +100,68 @@ public class UserRepositoryImpl implements UserRepository {
     }
 
     @Override
-    public void deleteById(Long id) {
-        jpaUserRepository.deleteById(id);
+    public Optional<UserView> findViewById(Long id) {
+        return jpaUserRepository.findViewById(id);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return !deleteAllById(List.of(id)).isEmpty();
+    }
+
+    @Override
+    public List<Long> deleteAllById(Collection<Long> ids) {
+        List<Long> deleted = jpaUserRepository.deleteReturningIds(ids);
+        TransactionCallbacks.afterCommit(() -> {
+            for (Long id : deleted) {
+                emailCache.invalidateId(id);
+                roster.remove(id);
+                invalidationBus.publish(CACHE_REGION, id);
+            }
+        });
+        return deleted;
+    }
+
+    @Override
+    public List<UserView> updateStatuses(Collection<Long> ids, Status status) {
+        List<UserView> updated = jpaUserRepository.updateStatusReturningViews(ids, status);
+        TransactionCallbacks.afterCommit(() -> {
+            for (UserView view : updated) {
+                emailCache.invalidateId(view.id());
+                roster.upsert(view);
+                invalidationBus.publish(CACHE_REGION, view.id());
+            }
+        });
+        return updated;
+    }
+
+    @Override
+    public List<UserView> findViewsByRole(Role role) {
+        return roster.get(role);
+    }
+
+    @Override
+    public List<UserView> search(Collection<Role> roles, Status status, String namePrefix, Long afterId, int limit) {
+        return jpaUserRepository.findBy(UserSpecifications.matching(roles, status, namePrefix, afterId),
+                        query -> query.sortBy(Sort.by("id")).limit(limit).all())
+                .stream()
+                .map(UserEntityMapper::toView)
+                .toList();
+    }
+
+    @Override
+    public void forEachView(Consumer<UserView> action) {
+        jpaUserRepository.forEachView(action);
+    }
+
+    @Override
+    public String rosterVersion(Role role) {
+        return roster.version(role);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return jpaUserRepository.findVersionById(id);
     }
 
     @Override
@@ -55,5 +171,58 @@ public class UserRepositoryImpl implements UserRepository {
                 .map(UserEntityMapper::toDomain)
                 .toList();
     }
-    
+
+    @Override
+    public boolean updatePasswordIfUnchanged(Long id, String expectedPassword, String newPassword) {
+        boolean updated = jpaUserRepository.updatePasswordIfUnchanged(id, expectedPassword, newPassword) > 0;
+        if (updated) {
+            TransactionCallbacks.afterCommit(() -> {
+                emailCache.invalidateId(id);
+                invalidationBus.publish(CACHE_REGION, id);
+            });
+        }
+        return updated;
+    }
+
+    @Override
+    public Optional<AccountPasswordHistory<User>> findWithPasswordHistory(Long id, int depth) {
+        List<Object[]> rows = jpaUserRepository.findWithPasswordHistory(id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        User user = UserEntityMapper.toDomain((UserEntity) rows.get(0)[0]);
+        List<String> previousPasswords = rows.stream()
+                .map(row -> (String) row[1])
+                .filter(Objects::nonNull)
+                .limit(Math.max(depth, 0))
+                .toList();
+        return Optional.of(new AccountPasswordHistory<>(user, previousPasswords));
+    }
+
+    @Override
+    public void recordPasswordHistory(Long id, String previousPassword, int depth) {
+        if (depth <= 0) {
+            return;
+        }
+        jpaUserPasswordHistoryRepository.save(new UserPasswordHistoryEntity(null, id, previousPassword, Instant.now()));
+        List<Long> ids = jpaUserPasswordHistoryRepository.findIdsNewestFirst(id);
+        if (ids.size() > depth) {
+            jpaUserPasswordHistoryRepository.deleteAllByIdInBatch(ids.subList(depth, ids.size()));
+        }
+    }
+
+    private User applyLocalWrite(UserEntity entity) {
+        UserView view = UserEntityMapper.toView(entity);
+        TransactionCallbacks.afterCommit(() -> {
+            emailCache.invalidateId(view.id());
+            roster.upsert(view);
+            invalidationBus.publish(CACHE_REGION, view.id());
+        });
+        return UserEntityMapper.toDomain(entity);
+    }
+
+    private void applyRemoteWrite(Long id) {
+        jpaUserRepository.findViewById(id).ifPresentOrElse(roster::upsert, () -> roster.remove(id));
+    }
+
 }
@@ -0,0 +1,58 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+
+import jakarta.persistence.criteria.Predicate;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Builds listing queries with only the predicates actually requested, so the
+ * database can pick the matching composite index instead of planning around
+ * {@code (:param IS NULL OR ...)} clauses.
+ */
+@UtilityClass
+public class UserSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    public Specification<UserEntity> matching(Collection<Role> roles, Status status, String namePrefix, Long afterId) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (roles != null && !roles.isEmpty()) {
+                predicates.add(roles.size() == 1
+                        ? builder.equal(root.get("role"), roles.iterator().next())
+                        : root.get("role").in(roles));
+            }
+            if (status != null) {
+                predicates.add(builder.equal(root.get("status"), status));
+            }
+            if (namePrefix != null && !namePrefix.isEmpty()) {
+                predicates.add(builder.like(root.get("name"), escapeLike(namePrefix) + "%", LIKE_ESCAPE));
+            }
+            if (afterId != null) {
+                predicates.add(builder.greaterThan(root.get("id"), afterId));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
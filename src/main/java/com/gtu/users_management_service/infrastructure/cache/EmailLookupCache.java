@@ -0,0 +1,88 @@
+package com.gtu.users_management_service.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded read-through cache of entities by email. Entries expire after a
+ * fixed time and are evicted by size; misses are not cached, so a newly
+ * registered email is visible immediately.
+ *
+ * <p>An id to email index lets writers invalidate an entry by id even when
+ * the email itself is being changed.
+ */
+public class EmailLookupCache<E> {
+
+    private final Cache<String, E> byEmail;
+    private final ConcurrentMap<Long, String> emailById = new ConcurrentHashMap<>();
+    private final Function<E, Long> idOf;
+
+    public EmailLookupCache(String name, MeterRegistry meterRegistry, Duration ttl, long maximumSize,
+            Function<E, Long> idOf) {
+        this.idOf = idOf;
+        this.byEmail = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .<String, E>evictionListener((email, entity, cause) -> {
+                    Long id = entity == null ? null : idOf.apply(entity);
+                    if (id != null) {
+                        emailById.remove(id, email);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, name);
+    }
+
+    public Optional<E> get(String email, Function<String, Optional<E>> loader) {
+        if (email == null) {
+            return loader.apply(null);
+        }
+        return Optional.ofNullable(byEmail.get(email, key -> {
+            E entity = loader.apply(key).orElse(null);
+            Long id = entity == null ? null : idOf.apply(entity);
+            if (id != null) {
+                emailById.put(id, key);
+            }
+            return entity;
+        }));
+    }
+
+    public void invalidateId(Long id) {
+        if (id == null) {
+            return;
+        }
+        String email = emailById.remove(id);
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    public void invalidateEmail(String email) {
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    public void invalidateAll() {
+        byEmail.invalidateAll();
+        emailById.clear();
+    }
+
+    public long size() {
+        return byEmail.estimatedSize();
+    }
+
+    void cleanUp() {
+        byEmail.cleanUp();
+    }
+}
@@ -0,0 +1,32 @@
+package com.gtu.users_management_service.infrastructure.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class EmailLookupCacheConfig {
+
+    @Bean
+    public EmailLookupCache<UserEntity> userEmailCache(MeterRegistry meterRegistry,
+            @Value("${cache.email-lookup.ttl-seconds:300}") long ttlSeconds,
+            @Value("${cache.email-lookup.maximum-size:10000}") long maximumSize) {
+        return new EmailLookupCache<>("users.by-email", meterRegistry, Duration.ofSeconds(ttlSeconds), maximumSize,
+                UserEntity::getId);
+    }
+
+    @Bean
+    public EmailLookupCache<PassengerEntity> passengerEmailCache(MeterRegistry meterRegistry,
+            @Value("${cache.email-lookup.ttl-seconds:300}") long ttlSeconds,
+            @Value("${cache.email-lookup.maximum-size:10000}") long maximumSize) {
+        return new EmailLookupCache<>("passengers.by-email", meterRegistry, Duration.ofSeconds(ttlSeconds),
+                maximumSize, PassengerEntity::getId);
+    }
+}
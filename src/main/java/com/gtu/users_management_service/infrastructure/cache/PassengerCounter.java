@@ -0,0 +1,78 @@
+package com.gtu.users_management_service.infrastructure.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.gtu.users_management_service.infrastructure.JpaPassengerRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Running total of passengers behind the approximate count, loaded with one
+ * {@code count(*)} on first use and then adjusted by the write path.
+ * Passengers are never deleted, so the write path only adds. Inserts made by
+ * other replicas are picked up by the periodic reconciliation, which replaces
+ * the running value with the exact count and reports how far it had drifted.
+ */
+@Component
+public class PassengerCounter {
+
+    private static final long UNKNOWN = -1;
+
+    private final LongSupplier exactCount;
+    private final AtomicLong count = new AtomicLong(UNKNOWN);
+    private final AtomicLong lastDrift = new AtomicLong();
+    private final Timer reconcileTimer;
+
+    public PassengerCounter(JpaPassengerRepository jpaPassengerRepository, MeterRegistry meterRegistry) {
+        this.exactCount = jpaPassengerRepository::count;
+        this.reconcileTimer = Timer.builder("passenger.count.reconcile")
+                .description("Time spent recounting passengers in the database")
+                .register(meterRegistry);
+        Gauge.builder("passenger.count", count, AtomicLong::get)
+                .description("Running passenger count, -1 until first loaded")
+                .register(meterRegistry);
+        Gauge.builder("passenger.count.drift", lastDrift, AtomicLong::get)
+                .description("Difference between the exact and running count at the last reconciliation")
+                .register(meterRegistry);
+    }
+
+    public long get() {
+        long current = count.get();
+        if (current == UNKNOWN) {
+            reconcile();
+            current = count.get();
+        }
+        return current;
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long delta) {
+        count.getAndUpdate(current -> current == UNKNOWN ? UNKNOWN : current + delta);
+    }
+
+    /**
+     * Writes that commit while the count runs may be off by one until the
+     * next reconciliation.
+     */
+    @Scheduled(fixedDelayString = "${cache.passenger-count.reconcile-interval-ms:300000}",
+            initialDelayString = "${cache.passenger-count.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long started = System.nanoTime();
+        long exact = exactCount.getAsLong();
+        reconcileTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        long previous = count.getAndSet(exact);
+        if (previous != UNKNOWN) {
+            lastDrift.set(exact - previous);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.gtu.users_management_service.infrastructure.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.UserView;
+import com.gtu.users_management_service.infrastructure.JpaUserRepository;
+import com.gtu.users_management_service.infrastructure.datasource.ReadConsistency;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Per-role snapshot of password-free user views. Reads return the current
+ * immutable list as is; writes replace it with an updated copy. A snapshot
+ * older than the staleness bound is reloaded from the database on the next
+ * read, which also covers any update this instance never heard about.
+ *
+ * <p>Each snapshot carries a tag derived from the ids and row versions it
+ * holds, so replicas holding the same rows report the same tag.
+ */
+@Component
+public class UserRoster {
+
+    private static final int MAX_RELOADS = 3;
+
+    private final JpaUserRepository jpaUserRepository;
+    private final long maxStalenessNanos;
+    private final Map<Role, AtomicReference<Snapshot>> snapshots = new EnumMap<>(Role.class);
+    private final Map<Role, Timer> rebuildTimers = new EnumMap<>(Role.class);
+    private final AtomicLong writes = new AtomicLong();
+
+    public UserRoster(JpaUserRepository jpaUserRepository, MeterRegistry meterRegistry,
+            @Value("${cache.roster.max-staleness-seconds:60}") long maxStalenessSeconds) {
+        this.jpaUserRepository = jpaUserRepository;
+        this.maxStalenessNanos = TimeUnit.SECONDS.toNanos(maxStalenessSeconds);
+        for (Role role : Role.values()) {
+            AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+            snapshots.put(role, snapshot);
+            rebuildTimers.put(role, Timer.builder("user.roster.rebuild")
+                    .tag("role", role.name())
+                    .description("Time spent reloading the role roster from the database")
+                    .register(meterRegistry));
+            Gauge.builder("user.roster.size", snapshot, ref -> ref.get() == null ? 0 : ref.get().views().size())
+                    .tag("role", role.name())
+                    .description("Users held in the role roster snapshot")
+                    .register(meterRegistry);
+        }
+    }
+
+    public List<UserView> get(Role role) {
+        return current(role).views();
+    }
+
+    public String version(Role role) {
+        return current(role).tag();
+    }
+
+    /**
+     * Places the user in the snapshot of its role and drops it from every
+     * other role, in case the role changed.
+     */
+    public void upsert(UserView view) {
+        if (view.id() == null) {
+            return;
+        }
+        writes.incrementAndGet();
+        for (Role role : Role.values()) {
+            if (role == view.role()) {
+                update(role, views -> {
+                    List<UserView> updated = new ArrayList<>(views.size() + 1);
+                    for (UserView existing : views) {
+                        if (!existing.id().equals(view.id())) {
+                            updated.add(existing);
+                        }
+                    }
+                    updated.add(view);
+                    updated.sort(Comparator.comparing(UserView::id));
+                    return List.copyOf(updated);
+                });
+            } else {
+                remove(role, view.id());
+            }
+        }
+    }
+
+    public void remove(Long id) {
+        writes.incrementAndGet();
+        for (Role role : Role.values()) {
+            remove(role, id);
+        }
+    }
+
+    public void invalidateAll() {
+        writes.incrementAndGet();
+        snapshots.values().forEach(snapshot -> snapshot.set(null));
+    }
+
+    private void remove(Role role, Long id) {
+        update(role, views -> {
+            if (views.stream().noneMatch(view -> view.id().equals(id))) {
+                return views;
+            }
+            return views.stream().filter(view -> !view.id().equals(id)).toList();
+        });
+    }
+
+    private void update(Role role, UnaryOperator<List<UserView>> change) {
+        snapshots.get(role).updateAndGet(snapshot -> snapshot == null
+                ? null
+                : Snapshot.of(change.apply(snapshot.views()), snapshot.loadedAt()));
+    }
+
+    private Snapshot current(Role role) {
+        Snapshot snapshot = snapshots.get(role).get();
+        if (snapshot == null || isStale(snapshot)) {
+            snapshot = rebuild(role);
+        }
+        return snapshot;
+    }
+
+    private Snapshot rebuild(Role role) {
+        AtomicReference<Snapshot> reference = snapshots.get(role);
+        synchronized (reference) {
+            Snapshot current = reference.get();
+            if (current != null && !isStale(current)) {
+                return current;
+            }
+            Snapshot loaded = null;
+            for (int attempt = 0; attempt < MAX_RELOADS; attempt++) {
+                long writesBefore = writes.get();
+                long loadedAt = System.nanoTime();
+                List<UserView> views = rebuildTimers.get(role).record(
+                        () -> ReadConsistency.onPrimary(() -> jpaUserRepository.findViewsByRole(role)));
+                loaded = Snapshot.of(views, loadedAt);
+                if (writes.get() == writesBefore) {
+                    break;
+                }
+                // A write landed while loading and may be missing from this result.
+            }
+            reference.set(loaded);
+            return loaded;
+        }
+    }
+
+    private boolean isStale(Snapshot snapshot) {
+        return System.nanoTime() - snapshot.loadedAt() > maxStalenessNanos;
+    }
+
+    private record Snapshot(List<UserView> views, long loadedAt, String tag) {
+
+        static Snapshot of(List<UserView> views, long loadedAt) {
+            long hash = 1125899906842597L;
+            for (UserView view : views) {
+                hash = 31 * hash + view.id();
+                hash = 31 * hash + view.version();
+            }
+            return new Snapshot(views, loadedAt, Long.toHexString(hash));
+        }
+    }
+}
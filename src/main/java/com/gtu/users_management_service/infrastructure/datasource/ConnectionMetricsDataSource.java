@@ -0,0 +1,67 @@
+package com.gtu.users_management_service.infrastructure.datasource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every connection from checkout to close. The timer count is the
+ * number of checkouts, and its total is how long the pool was kept busy, so
+ * the two show whether a change holds connections for fewer or shorter
+ * stretches.
+ */
+public class ConnectionMetricsDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer held;
+
+    public ConnectionMetricsDataSource(DataSource target, MeterRegistry meterRegistry) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+        this.held = Timer.builder("datasource.connection.held")
+                .description("Time a connection is held between checkout and close")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection timed(Connection connection) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AtomicBoolean open = new AtomicBoolean(true);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && open.compareAndSet(true, false)) {
+                        sample.stop(held);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,58 @@
+package com.gtu.users_management_service.infrastructure.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Puts the auto-configured data source behind a lazy proxy, so a
+ * transaction checks out a connection at its first statement instead of when
+ * it begins. A read-only lookup answered from a cache then never touches the
+ * pool. Connections are timed underneath the proxy, so only real checkouts
+ * are counted. {@link ReplicaDataSourceConfig} builds its own split the same
+ * way and is left alone.
+ */
+@Component
+public class ConnectionMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ConnectionMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                || bean instanceof LazyConnectionDataSourceProxy) {
+            return bean;
+        }
+        return new ClosingLazyConnectionDataSourceProxy(
+                new ConnectionMetricsDataSource(dataSource, meterRegistry.getObject()));
+    }
+
+    /**
+     * Keeps the pool shutting down with the context, which looks for a close
+     * method on the proxy now instead of on the pool.
+     */
+    private static final class ClosingLazyConnectionDataSourceProxy extends LazyConnectionDataSourceProxy
+            implements AutoCloseable {
+
+        private final ConnectionMetricsDataSource target;
+
+        private ClosingLazyConnectionDataSourceProxy(ConnectionMetricsDataSource target) {
+            super(target);
+            this.target = target;
+        }
+
+        @Override
+        public void close() throws Exception {
+            target.close();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.gtu.users_management_service.infrastructure.datasource;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Lets each request read from replicas unless it carries a fresh
+ * consistency token. A request that writes gets a token stamped with the
+ * time of the write; clients send it back on their next requests, which stay
+ * on the primary until the token is older than the replicas are allowed to
+ * lag, so a client always reads its own writes.
+ */
+public class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private final long readAfterWriteMillis;
+
+    public ConsistencyTokenFilter(long readAfterWriteMillis) {
+        this.readAfterWriteMillis = readAfterWriteMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadConsistency.Scope previous = ReadConsistency.open(!isFresh(request.getHeader(HEADER)),
+                () -> response.setHeader(HEADER, Long.toString(System.currentTimeMillis())));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadConsistency.restore(previous);
+        }
+    }
+
+    private boolean isFresh(String token) {
+        if (token == null) {
+            return false;
+        }
+        long writtenAt;
+        try {
+            writtenAt = Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        // Tokens may come from another instance whose clock runs slightly ahead.
+        return Math.abs(System.currentTimeMillis() - writtenAt) <= readAfterWriteMillis;
+    }
+}
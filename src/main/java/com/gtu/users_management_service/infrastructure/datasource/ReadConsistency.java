@@ -0,0 +1,105 @@
+package com.gtu.users_management_service.infrastructure.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Decides, per thread, whether read-only work may be served by a replica.
+ * Threads start on the primary; only a request scope opened by
+ * {@link ConsistencyTokenFilter} lets reads go to replicas, and it gives
+ * that up as soon as the request writes, so the request reads its own
+ * writes back from the primary.
+ */
+public final class ReadConsistency {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    public static boolean replicaReadsAllowed() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.replicaReadsAllowed;
+    }
+
+    /**
+     * Called whenever the thread takes a read-write connection from the
+     * primary.
+     */
+    public static void recordWrite() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.replicaReadsAllowed = false;
+            scope.onWrite.run();
+        }
+    }
+
+    /**
+     * Runs the action with every read going to the primary. Meant for reads
+     * that fill long-lived caches, which would otherwise keep a lagging
+     * replica's answer well past the lag itself. A transaction that already
+     * ran a statement keeps the connection it took for it.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Scope previous = CURRENT.get();
+        if (previous == null) {
+            return action.get();
+        }
+        CURRENT.set(new Scope(false, previous.onWrite));
+        try {
+            return action.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Wraps a task so that it runs under the scope of the thread creating it.
+     * Meant for work a request hands to another thread, such as a streamed
+     * response body, which would otherwise read from the primary only.
+     */
+    public static Runnable propagate(Runnable task) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        boolean replicaReadsAllowed = scope.replicaReadsAllowed;
+        Runnable onWrite = scope.onWrite;
+        return () -> {
+            Scope previous = open(replicaReadsAllowed, onWrite);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Opens a scope on the current thread and returns the one it replaces,
+     * to be handed back to {@link #restore(Scope)}.
+     */
+    static Scope open(boolean replicaReadsAllowed, Runnable onWrite) {
+        Scope previous = CURRENT.get();
+        CURRENT.set(new Scope(replicaReadsAllowed, onWrite));
+        return previous;
+    }
+
+    static void restore(Scope previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    static final class Scope {
+
+        private boolean replicaReadsAllowed;
+        private final Runnable onWrite;
+
+        private Scope(boolean replicaReadsAllowed, Runnable onWrite) {
+            this.replicaReadsAllowed = replicaReadsAllowed;
+            this.onWrite = onWrite;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.gtu.users_management_service.infrastructure.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Splits traffic between the primary and its read replicas when replica urls
+ * are configured; otherwise the auto-configured primary serves everything.
+ * Connections are only taken once a transaction runs its first statement,
+ * by which time it is known whether the transaction is read-only.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replicas.urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Stands in for the pool Spring Boot would otherwise create, including its
+     * {@code spring.datasource.hikari.*} settings.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties properties, MeterRegistry meterRegistry,
+            @Value("${datasource.replicas.urls}") String urls,
+            @Value("${datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMillis) {
+        List<String> replicaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty())
+                .toList();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(replicaUrls.get(i))
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            // Fail over to the next replica quickly instead of waiting out the default 30 seconds.
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource, MeterRegistry meterRegistry) {
+        return readWriteSplit(new ConnectionMetricsDataSource(replicaRoutingDataSource.getPrimary(), meterRegistry),
+                new ConnectionMetricsDataSource(replicaRoutingDataSource, meterRegistry));
+    }
+
+    @Bean
+    public ConsistencyTokenFilter consistencyTokenFilter(
+            @Value("${datasource.replicas.read-after-write-ms:5000}") long readAfterWriteMillis) {
+        return new ConsistencyTokenFilter(readAfterWriteMillis);
+    }
+
+    /**
+     * Applied by Spring Boot to the application task executor, which runs
+     * streamed response bodies such as the exports, so they keep the
+     * request's routing instead of falling back to the primary.
+     */
+    @Bean
+    public TaskDecorator readConsistencyTaskDecorator() {
+        return ReadConsistency::propagate;
+    }
+
+    /**
+     * Read-only connections come from the replicas; every other connection is
+     * a write on the primary.
+     */
+    static DataSource readWriteSplit(DataSource primary, DataSource reads) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        // Probed on the bare primary so that learning its defaults is not taken for a write.
+        dataSource.checkDefaultConnectionProperties();
+        dataSource.setTargetDataSource(new WriteRecordingDataSource(primary));
+        dataSource.setReadOnlyDataSource(reads);
+        return dataSource;
+    }
+
+    private static final class WriteRecordingDataSource extends DelegatingDataSource {
+
+        private WriteRecordingDataSource(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            ReadConsistency.recordWrite();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            ReadConsistency.recordWrite();
+            return super.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.gtu.users_management_service.infrastructure.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out connections for read-only transactions. Replicas are taken in
+ * turn, skipping any that failed their last health check or refuse a
+ * connection; when none is usable, or the thread must read its own writes,
+ * the connection comes from the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final Logger logger = Logger.getLogger(ReplicaRoutingDataSource.class.getName());
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", name)
+                    .description("Whether the replica passed its last health check")
+                    .register(meterRegistry);
+        });
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                logger.info("Replica " + replica.name + " is back in rotation");
+            } else if (!healthy && replica.healthy) {
+                logger.warning("Replica " + replica.name + " failed its health check");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (!replicas.isEmpty() && ReadConsistency.replicaReadsAllowed()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return source.open(replica.dataSource);
+                } catch (SQLException e) {
+                    // Out of rotation until the next health check brings it back.
+                    replica.healthy = false;
+                    logger.warning("Replica " + replica.name + " refused a connection: " + e.getMessage());
+                }
+            }
+        }
+        return source.open(primary);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -5,26 +5,42 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "passenger")
+@Table(name = PassengerEntity.TABLE,
+        uniqueConstraints = @UniqueConstraint(name = PassengerEntity.EMAIL_CONSTRAINT, columnNames = "email"))
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 public class PassengerEntity {
-    
+
+    public static final String TABLE = "passenger";
+
+    /** See {@link UserEntity#EMAIL_CONSTRAINT}. */
+    public static final String EMAIL_CONSTRAINT = "uk_passenger_email";
+
+    /**
+     * See {@link UserEntity#ID_SEQUENCE}; bulk loads draw their ids from the
+     * same sequence in blocks of {@value #ID_ALLOCATION_SIZE}.
+     */
+    public static final String ID_SEQUENCE = "passenger_id_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
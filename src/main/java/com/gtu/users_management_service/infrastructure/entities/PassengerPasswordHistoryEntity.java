@@ -0,0 +1,35 @@
+package com.gtu.users_management_service.infrastructure.entities;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "passenger_password_history", indexes = @Index(columnList = "passenger_id, created_at"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PassengerPasswordHistoryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "passenger_id", nullable = false)
+    private Long passengerId;
+
+    @Column(nullable = false)
+    private String password;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -9,20 +9,40 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "users")
+@Table(name = UserEntity.TABLE, indexes = {
+    @Index(name = "idx_users_role_status_id", columnList = "role, status, id"),
+    @Index(name = UserEntity.NAME_INDEX, columnList = "name, id")
+}, uniqueConstraints = @UniqueConstraint(name = UserEntity.EMAIL_CONSTRAINT, columnNames = "email"))
 @Getter
 @NoArgsConstructor 
 @AllArgsConstructor 
 public class UserEntity {
 
+    public static final String TABLE = "users";
+
+    /** Named so that a taken email can be told apart from other violations. */
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    /** Rebuilt with pattern operators on Postgres by {@code NamePrefixIndexMigration}. */
+    public static final String NAME_INDEX = "idx_users_name_id";
+
+    /**
+     * Ids come from the sequence that backed the former identity column, so
+     * existing rows keep their ids. Hibernate reserves
+     * {@value #ID_ALLOCATION_SIZE} ids per call, which lets inserts be batched.
+     */
+    public static final String ID_SEQUENCE = "users_id_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
@@ -35,4 +55,8 @@ public class UserEntity {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
 }
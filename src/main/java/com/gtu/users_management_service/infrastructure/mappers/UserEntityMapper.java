@@ -1,6 +1,7 @@
 package com.gtu.users_management_service.infrastructure.mappers;
 
 import com.gtu.users_management_service.domain.model.User;
+import com.gtu.users_management_service.domain.model.UserView;
 import com.gtu.users_management_service.infrastructure.entities.UserEntity;
 
 import lombok.experimental.UtilityClass;
@@ -15,7 +16,8 @@ public class UserEntityMapper {
             user.getEmail(),
             user.getPassword(),
             user.getRole(),
-            user.getStatus()
+            user.getStatus(),
+            user.getVersion()
         );
     }
 
@@ -26,7 +28,19 @@ public class UserEntityMapper {
             entity.getEmail(),
             entity.getPassword(),
             entity.getRole(),
-            entity.getStatus()
+            entity.getStatus(),
+            entity.getVersion()
+        );
+    }
+
+    public UserView toView(UserEntity entity) {
+        return new UserView(
+            entity.getId(),
+            entity.getName(),
+            entity.getEmail(),
+            entity.getRole(),
+            entity.getStatus(),
+            entity.getVersion()
         );
     }
 }
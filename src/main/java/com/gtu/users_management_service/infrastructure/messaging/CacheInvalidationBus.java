@@ -0,0 +1,194 @@
+package com.gtu.users_management_service.infrastructure.messaging;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gtu.users_management_service.infrastructure.messaging.event.CacheInvalidationEvent;
+
+/**
+ * Propagates cache invalidations between replicas. Local writes queue the
+ * affected ids per region; the queue is flushed as one message per batch
+ * window (or earlier when it grows past the batch size) to a fanout
+ * exchange. Flushes always run on the scheduler, so a request thread never
+ * waits on the broker. Incoming batches are applied to the listeners registered for
+ * each region, skipping our own messages.
+ *
+ * <p>Each origin numbers its batches. A batch that is not newer than the last
+ * one applied from the same origin is a redelivery and is dropped; a jump in
+ * the sequence means batches were lost, so every region is reset instead.
+ *
+ * <p>Writes that touch too many rows to list, such as bulk imports, publish a
+ * reset of their region instead, which is sent without waiting for the
+ * batch window.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private final Logger logger = Logger.getLogger(CacheInvalidationBus.class.getName());
+
+    private final AmqpTemplate amqpTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final String exchange;
+    private final int maxBatchSize;
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Set<Long>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Set<String> pendingResets = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<RegionListener>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastSequenceByOrigin = new HashMap<>();
+
+    public CacheInvalidationBus(AmqpTemplate amqpTemplate, ObjectMapper objectMapper, TaskScheduler taskScheduler,
+            @Value("${rabbitmq.exchange.cache-invalidation:cache.invalidation.exchange}") String exchange,
+            @Value("${cache.invalidation.max-batch-size:256}") int maxBatchSize) {
+        this.amqpTemplate = amqpTemplate;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.exchange = exchange;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Registers a local eviction callback for a region. Callbacks run for
+     * invalidations coming from other replicas only; the writing replica is
+     * expected to evict its own caches directly.
+     */
+    public void register(String region, Consumer<Long> onInvalidate, Runnable onReset) {
+        listeners.computeIfAbsent(region, key -> new CopyOnWriteArrayList<>())
+                .add(new RegionListener(onInvalidate, onReset));
+    }
+
+    public void publish(String region, Long id) {
+        if (id == null) {
+            return;
+        }
+        if (pending.computeIfAbsent(region, key -> ConcurrentHashMap.newKeySet()).add(id)
+                && pendingCount.incrementAndGet() >= maxBatchSize) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Asks other replicas to reset every cache of the region, as they do after
+     * missing a batch. Ids already queued for the region are sent along.
+     */
+    public void publishReset(String region) {
+        pendingResets.add(region);
+        requestFlush();
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                flushRequested.set(false);
+                flush();
+            }, Instant.now());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.batch-window-ms:100}")
+    public synchronized void flush() {
+        if (pendingCount.get() == 0 && pendingResets.isEmpty()) {
+            return;
+        }
+        Map<String, List<Long>> batch = new HashMap<>();
+        for (Map.Entry<String, Set<Long>> entry : pending.entrySet()) {
+            List<Long> ids = new ArrayList<>();
+            for (Long id : entry.getValue()) {
+                if (entry.getValue().remove(id)) {
+                    ids.add(id);
+                    pendingCount.decrementAndGet();
+                }
+            }
+            if (!ids.isEmpty()) {
+                batch.put(entry.getKey(), ids);
+            }
+        }
+        List<String> resets = new ArrayList<>();
+        for (String region : pendingResets) {
+            if (pendingResets.remove(region)) {
+                resets.add(region);
+            }
+        }
+        if (batch.isEmpty() && resets.isEmpty()) {
+            return;
+        }
+        try {
+            String message = objectMapper.writeValueAsString(
+                    new CacheInvalidationEvent(origin, sequence.incrementAndGet(), batch, resets));
+            amqpTemplate.convertAndSend(exchange, "", message);
+        } catch (Exception e) {
+            // Other replicas fall back to their cache TTL for this batch.
+            logger.warning("Failed to publish cache invalidation: " + e.getMessage());
+        }
+    }
+
+    @RabbitListener(queues = "#{cacheInvalidationQueue.name}")
+    public void onMessage(String message) {
+        CacheInvalidationEvent event;
+        try {
+            event = objectMapper.readValue(message, CacheInvalidationEvent.class);
+        } catch (Exception e) {
+            logger.warning("Ignoring malformed cache invalidation: " + e.getMessage());
+            return;
+        }
+        apply(event);
+    }
+
+    synchronized void apply(CacheInvalidationEvent event) {
+        if (origin.equals(event.getOrigin()) || event.getIds() == null) {
+            return;
+        }
+        Long last = lastSequenceByOrigin.get(event.getOrigin());
+        if (last != null && event.getSequence() <= last) {
+            return;
+        }
+        lastSequenceByOrigin.put(event.getOrigin(), event.getSequence());
+        if (last != null && event.getSequence() > last + 1) {
+            logger.warning("Missed cache invalidations from " + event.getOrigin() + ", resetting local caches");
+            listeners.values().forEach(regionListeners -> regionListeners.forEach(listener -> listener.onReset().run()));
+            return;
+        }
+        List<String> resets = event.getResets() == null ? List.of() : event.getResets();
+        for (String region : resets) {
+            listeners.getOrDefault(region, List.of()).forEach(listener -> listener.onReset().run());
+        }
+        event.getIds().forEach((region, ids) -> {
+            if (resets.contains(region)) {
+                return;
+            }
+            for (RegionListener listener : listeners.getOrDefault(region, List.of())) {
+                ids.forEach(listener.onInvalidate());
+            }
+        });
+    }
+
+    String getOrigin() {
+        return origin;
+    }
+
+    private record RegionListener(Consumer<Long> onInvalidate, Runnable onReset) {
+    }
+}
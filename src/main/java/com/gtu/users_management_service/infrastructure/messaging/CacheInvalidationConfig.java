@@ -0,0 +1,34 @@
+package com.gtu.users_management_service.infrastructure.messaging;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Every replica binds its own auto-delete queue to the invalidation fanout
+ * exchange, so each write is seen by all other instances.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    public FanoutExchange cacheInvalidationExchange(
+            @Value("${rabbitmq.exchange.cache-invalidation:cache.invalidation.exchange}") String exchange) {
+        return new FanoutExchange(exchange, true, false);
+    }
+
+    @Bean
+    public Queue cacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding cacheInvalidationBinding(FanoutExchange cacheInvalidationExchange, Queue cacheInvalidationQueue) {
+        return BindingBuilder.bind(cacheInvalidationQueue).to(cacheInvalidationExchange);
+    }
+}
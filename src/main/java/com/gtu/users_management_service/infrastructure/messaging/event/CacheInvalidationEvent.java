@@ -0,0 +1,24 @@
+package com.gtu.users_management_service.infrastructure.messaging.event;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationEvent {
+    private String origin;
+    private long sequence;
+    private Map<String, List<Long>> ids;
+    private List<String> resets;
+
+    public CacheInvalidationEvent(String origin, long sequence, Map<String, List<Long>> ids) {
+        this(origin, sequence, ids, List.of());
+    }
+}
@@ -0,0 +1,53 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.util.logging.Logger;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the highest bcrypt cost whose hashing time on the current CPU stays
+ * within a latency budget. Each extra cost unit doubles the work, so the
+ * search stops at the first cost that goes over budget.
+ */
+public class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "Calibrati0nSample";
+
+    private final Logger logger = Logger.getLogger(BCryptCostCalibrator.class.getName());
+
+    private final long latencyBudgetMillis;
+    private final int minCost;
+    private final int maxCost;
+
+    public BCryptCostCalibrator(long latencyBudgetMillis, int minCost, int maxCost) {
+        if (minCost < 4 || maxCost > 31 || minCost > maxCost) {
+            throw new IllegalArgumentException("Invalid bcrypt cost range: " + minCost + ".." + maxCost);
+        }
+        this.latencyBudgetMillis = latencyBudgetMillis;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+    }
+
+    public int calibrate() {
+        // Warm up so the first measurement is not dominated by JIT compilation.
+        measureMillis(minCost);
+
+        int selected = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            long elapsed = measureMillis(cost);
+            if (elapsed > latencyBudgetMillis) {
+                break;
+            }
+            selected = cost;
+        }
+        logger.info("Calibrated bcrypt cost " + selected + " for a " + latencyBudgetMillis + " ms budget");
+        return selected;
+    }
+
+    long measureMillis(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
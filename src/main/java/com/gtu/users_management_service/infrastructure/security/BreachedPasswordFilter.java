@@ -0,0 +1,109 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Read-only Bloom filter of SHA-1 password hashes, memory-mapped from a file
+ * produced by {@link BreachedPasswordFilterBuilder}. A lookup touches at most
+ * {@code numHashes} bytes of the file, so only those pages are ever loaded and
+ * the bit array never lives on the heap.
+ *
+ * <p>File layout: magic, version, number of bits, number of hash functions,
+ * followed by the bit array.
+ */
+public final class BreachedPasswordFilter {
+
+    static final int MAGIC = 0x42504246;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+
+    private final ByteBuffer buffer;
+    private final long numBits;
+    private final int numHashes;
+
+    private BreachedPasswordFilter(ByteBuffer buffer, long numBits, int numHashes) {
+        this.buffer = buffer;
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+    }
+
+    public static BreachedPasswordFilter open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Unsupported breached password filter size: " + size);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a breached password filter: " + path);
+            }
+            long numBits = buffer.getLong(8);
+            int numHashes = buffer.getInt(16);
+            if (numBits <= 0 || numHashes <= 0 || size < fileSize(numBits)) {
+                throw new IOException("Corrupted breached password filter: " + path);
+            }
+            return new BreachedPasswordFilter(buffer, numBits, numHashes);
+        }
+    }
+
+    public boolean mightContain(String password) {
+        return mightContainDigest(sha1(password));
+    }
+
+    boolean mightContainDigest(byte[] digest) {
+        long h1 = readLong(digest, 0);
+        long h2 = readLong(digest, 8) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((buffer.get(HEADER_BYTES + (int) (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getNumBits() {
+        return numBits;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    static void add(ByteBuffer buffer, long numBits, int numHashes, byte[] digest) {
+        long h1 = readLong(digest, 0);
+        long h2 = readLong(digest, 8) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            int index = HEADER_BYTES + (int) (bit >>> 3);
+            buffer.put(index, (byte) (buffer.get(index) | (1 << (bit & 7))));
+        }
+    }
+
+    static long fileSize(long numBits) {
+        return HEADER_BYTES + (numBits + 7) / 8;
+    }
+
+    static byte[] sha1(String password) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+}
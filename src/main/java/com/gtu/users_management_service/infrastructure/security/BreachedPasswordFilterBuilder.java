@@ -0,0 +1,106 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+/**
+ * Builds the file read by {@link BreachedPasswordFilter} from a list of SHA-1
+ * password hashes, one per line, optionally followed by {@code :count} as in
+ * the Pwned Passwords downloads. The bit array is written through a mapped
+ * buffer, so the builder needs no more heap than the reader.
+ *
+ * <pre>
+ * java -cp users-management-service.jar \
+ *     -Dloader.main=com.gtu.users_management_service.infrastructure.security.BreachedPasswordFilterBuilder \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher hashes.txt breached.bloom [fpp]
+ * </pre>
+ */
+public final class BreachedPasswordFilterBuilder {
+
+    private static final int SHA1_HEX_LENGTH = 40;
+
+    private BreachedPasswordFilterBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BreachedPasswordFilterBuilder <sha1-list> <output> [false-positive-rate]");
+            System.exit(1);
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        double falsePositiveRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.001;
+
+        long expectedInsertions;
+        try (Stream<String> lines = Files.lines(input, StandardCharsets.US_ASCII)) {
+            expectedInsertions = lines.count();
+        }
+        long inserted = build(input, output, expectedInsertions, falsePositiveRate);
+        BreachedPasswordFilter filter = BreachedPasswordFilter.open(output);
+        System.out.printf("Inserted %d hashes into %s (%d bits, %d hash functions)%n",
+                inserted, output, filter.getNumBits(), filter.getNumHashes());
+    }
+
+    /**
+     * Writes a filter sized for {@code expectedInsertions} entries at the given
+     * false-positive rate and returns how many hashes were inserted.
+     */
+    public static long build(Path input, Path output, long expectedInsertions, double falsePositiveRate)
+            throws IOException {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        long numBits = optimalNumBits(Math.max(1, expectedInsertions), falsePositiveRate);
+        int numHashes = optimalNumHashes(Math.max(1, expectedInsertions), numBits);
+        long size = BreachedPasswordFilter.fileSize(numBits);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filter of " + size + " bytes does not fit in a single mapping");
+        }
+
+        Files.deleteIfExists(output);
+        long inserted = 0;
+        try (FileChannel channel = FileChannel.open(output,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.US_ASCII)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, BreachedPasswordFilter.MAGIC);
+            buffer.putInt(4, BreachedPasswordFilter.VERSION);
+            buffer.putLong(8, numBits);
+            buffer.putInt(16, numHashes);
+
+            HexFormat hex = HexFormat.of();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() < SHA1_HEX_LENGTH) {
+                    continue;
+                }
+                byte[] digest;
+                try {
+                    digest = hex.parseHex(line, 0, SHA1_HEX_LENGTH);
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                BreachedPasswordFilter.add(buffer, numBits, numHashes, digest);
+                inserted++;
+            }
+            buffer.force();
+        }
+        return inserted;
+    }
+
+    static long optimalNumBits(long expectedInsertions, double falsePositiveRate) {
+        return (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    }
+
+    static int optimalNumHashes(long expectedInsertions, long numBits) {
+        return Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+    }
+}
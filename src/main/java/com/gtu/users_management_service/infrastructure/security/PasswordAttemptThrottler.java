@@ -0,0 +1,213 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.gtu.users_management_service.domain.exception.TooManyRequestsException;
+import com.gtu.users_management_service.domain.model.AccountType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limits password attempts per account id and per email before any hash is
+ * computed. Each key owns a lock-free token bucket (GCRA over a single
+ * {@link AtomicLong}); buckets live in striped maps and are evicted by a
+ * coarse time wheel once they are full again.
+ */
+@Component
+public class PasswordAttemptThrottler {
+
+    private final ConcurrentHashMap<String, Bucket>[] stripes;
+    private final Queue<String>[] wheel;
+    private final long emissionIntervalMillis;
+    private final long burstMillis;
+    private final long tickMillis;
+    private final AtomicLong lastExpiredTick;
+    private final Counter avoidedCounter;
+
+    @SuppressWarnings("unchecked")
+    public PasswordAttemptThrottler(MeterRegistry meterRegistry,
+            @Value("${security.password.throttle.max-attempts:5}") int maxAttempts,
+            @Value("${security.password.throttle.window-seconds:300}") long windowSeconds,
+            @Value("${security.password.throttle.stripes:16}") int stripeCount,
+            @Value("${security.password.throttle.wheel-slots:64}") int wheelSlots,
+            @Value("${security.password.throttle.tick-millis:5000}") long tickMillis) {
+        if (maxAttempts < 1 || windowSeconds < 1 || stripeCount < 1 || wheelSlots < 1 || tickMillis < 1) {
+            throw new IllegalArgumentException("Password throttle settings must be positive");
+        }
+        this.emissionIntervalMillis = TimeUnit.SECONDS.toMillis(windowSeconds) / maxAttempts;
+        this.burstMillis = emissionIntervalMillis * maxAttempts;
+        this.tickMillis = tickMillis;
+        this.stripes = new ConcurrentHashMap[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.wheel = new Queue[wheelSlots];
+        for (int i = 0; i < wheelSlots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastExpiredTick = new AtomicLong(-1);
+        this.avoidedCounter = Counter.builder("password.throttle.hashes.avoided")
+                .description("Password hashes skipped because the account was throttled")
+                .register(meterRegistry);
+        Gauge.builder("password.throttle.buckets", this, PasswordAttemptThrottler::size)
+                .description("Accounts currently tracked by the password throttle")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consumes one attempt for the account id and for the email, throwing a
+     * {@link TooManyRequestsException} as soon as either of them is exhausted.
+     * A rejected attempt costs neither bucket, so hammering one email cannot
+     * drain the budget of the account behind it. Null keys are ignored.
+     */
+    public void checkAttempt(AccountType accountType, Long id, String email) {
+        long now = currentTimeMillis();
+        String idKey = idKey(accountType, id);
+        long waitMillis = acquire(idKey, now);
+        if (waitMillis == 0) {
+            waitMillis = acquire(emailKey(accountType, email), now);
+            if (waitMillis > 0) {
+                refund(idKey);
+            }
+        }
+        if (waitMillis > 0) {
+            avoidedCounter.increment();
+            throw new TooManyRequestsException("Too many password attempts, please retry later",
+                    TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999));
+        }
+    }
+
+    /**
+     * Refills both buckets after a successful verification.
+     */
+    public void recordSuccess(AccountType accountType, Long id, String email) {
+        release(idKey(accountType, id));
+        release(emailKey(accountType, email));
+    }
+
+    @Scheduled(fixedDelayString = "${security.password.throttle.tick-millis:5000}")
+    public void expireIdleBuckets() {
+        long now = currentTimeMillis();
+        long currentTick = now / tickMillis;
+        long fromTick = Math.max(lastExpiredTick.get() + 1, currentTick - wheel.length + 1);
+        for (long tick = fromTick; tick <= currentTick; tick++) {
+            Queue<String> slot = wheel[(int) (tick % wheel.length)];
+            for (int pending = slot.size(); pending > 0; pending--) {
+                String key = slot.poll();
+                if (key == null) {
+                    break;
+                }
+                Bucket bucket = stripe(key).get(key);
+                if (bucket == null) {
+                    continue;
+                }
+                long tat = bucket.tat.get();
+                if (tat <= now) {
+                    stripe(key).remove(key, bucket);
+                } else {
+                    schedule(key, Math.max(tat / tickMillis, currentTick + 1));
+                }
+            }
+        }
+        lastExpiredTick.set(currentTick);
+    }
+
+    int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private long acquire(String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        ConcurrentHashMap<String, Bucket> stripe = stripe(key);
+        while (true) {
+            Bucket bucket = stripe.computeIfAbsent(key, k -> new Bucket());
+            long waitMillis = bucket.tryAcquire(now);
+            if (stripe.get(key) != bucket) {
+                // Evicted concurrently; charge the replacement bucket instead.
+                continue;
+            }
+            if (bucket.scheduled.compareAndSet(false, true)) {
+                schedule(key, bucket.tat.get() / tickMillis);
+            }
+            return waitMillis;
+        }
+    }
+
+    private void refund(String key) {
+        Bucket bucket = key == null ? null : stripe(key).get(key);
+        if (bucket != null) {
+            bucket.tat.addAndGet(-emissionIntervalMillis);
+        }
+    }
+
+    private void release(String key) {
+        Bucket bucket = key == null ? null : stripe(key).get(key);
+        if (bucket != null) {
+            // Left in place so the time wheel evicts it without a second slot entry.
+            bucket.tat.set(0);
+        }
+    }
+
+    private void schedule(String key, long tick) {
+        wheel[(int) (tick % wheel.length)].add(key);
+    }
+
+    private ConcurrentHashMap<String, Bucket> stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % stripes.length];
+    }
+
+    private static String idKey(AccountType accountType, Long id) {
+        return id == null ? null : accountType.name() + ":id:" + id;
+    }
+
+    private static String emailKey(AccountType accountType, String email) {
+        return email == null ? null : accountType.name() + ":email:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    private final class Bucket {
+
+        private final AtomicLong tat = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * Returns 0 when an attempt was granted, otherwise how long to wait
+         * until the next one.
+         */
+        long tryAcquire(long now) {
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current, now) + emissionIntervalMillis;
+                long excess = next - now - burstMillis;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import com.gtu.users_management_service.domain.model.AccountType;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoderRegistry passwordEncoderRegistry(
+            @Value("${security.password.bcrypt.latency-budget-ms:250}") long latencyBudgetMillis,
+            @Value("${security.password.bcrypt.min-cost:10}") int minCost,
+            @Value("${security.password.bcrypt.max-cost:14}") int maxCost,
+            @Value("${security.password.algorithm.user:bcrypt}") String userAlgorithm,
+            @Value("${security.password.algorithm.passenger:bcrypt}") String passengerAlgorithm) {
+        int cost = new BCryptCostCalibrator(latencyBudgetMillis, minCost, maxCost).calibrate();
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(PasswordEncoderRegistry.BCRYPT, new BCryptPasswordEncoder(cost));
+        encoders.put(PasswordEncoderRegistry.PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put(PasswordEncoderRegistry.ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        return new PasswordEncoderRegistry(encoders, Map.of(
+                AccountType.USER, userAlgorithm,
+                AccountType.PASSENGER, passengerAlgorithm));
+    }
+}
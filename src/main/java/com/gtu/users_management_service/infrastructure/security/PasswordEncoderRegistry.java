@@ -0,0 +1,52 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.gtu.users_management_service.domain.model.AccountType;
+
+/**
+ * Holds the available hashing algorithms by id and the algorithm used to
+ * encode new passwords for each account type. Stored hashes carry an
+ * {@code {id}} prefix and are always verified with the algorithm they were
+ * written with; unprefixed hashes are treated as legacy bcrypt.
+ */
+public class PasswordEncoderRegistry {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+    public static final String ARGON2 = "argon2";
+
+    private final Map<String, PasswordEncoder> encoders;
+    private final Map<AccountType, PasswordEncoder> accountEncoders = new EnumMap<>(AccountType.class);
+
+    public PasswordEncoderRegistry(Map<String, PasswordEncoder> encoders, Map<AccountType, String> algorithms) {
+        if (!encoders.containsKey(BCRYPT)) {
+            throw new IllegalArgumentException("A bcrypt encoder is required to verify legacy hashes");
+        }
+        this.encoders = Map.copyOf(encoders);
+        for (AccountType accountType : AccountType.values()) {
+            String algorithm = algorithms.getOrDefault(accountType, BCRYPT);
+            if (!encoders.containsKey(algorithm)) {
+                throw new IllegalArgumentException(
+                        "Unsupported password algorithm '" + algorithm + "' for " + accountType + ", available: "
+                                + encoders.keySet());
+            }
+            DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, this.encoders);
+            delegating.setDefaultPasswordEncoderForMatches(this.encoders.get(BCRYPT));
+            accountEncoders.put(accountType, delegating);
+        }
+    }
+
+    public PasswordEncoder forAccount(AccountType accountType) {
+        return accountEncoders.get(accountType);
+    }
+
+    public Set<String> algorithms() {
+        return encoders.keySet();
+    }
+}
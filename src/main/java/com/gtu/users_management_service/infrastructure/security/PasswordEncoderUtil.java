@@ -1,21 +0,0 @@
-package com.gtu.users_management_service.infrastructure.security;
-
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-
-public class PasswordEncoderUtil {
-
-    private static final PasswordEncoder encoder = new BCryptPasswordEncoder();
-
-    private PasswordEncoderUtil() {
-        // Private constructor to prevent instantiation
-    }
-
-    public static String encode(String rawPassword) {
-        return encoder.encode(rawPassword);
-    }
-
-    public static boolean matches(String rawPassword, String encodedPassword) {
-        return encoder.matches(rawPassword, encodedPassword);
-    }
-}
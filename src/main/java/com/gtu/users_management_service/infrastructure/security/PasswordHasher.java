@@ -0,0 +1,297 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.gtu.users_management_service.domain.exception.ServiceUnavailableException;
+import com.gtu.users_management_service.domain.model.AccountType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs password hashing on a dedicated, bounded pool so CPU-bound bcrypt work
+ * never occupies servlet threads. When the queue is full the request is
+ * rejected right away with a {@link ServiceUnavailableException}.
+ *
+ * <p>Hashes stored with weaker settings or another algorithm than the one
+ * configured for the account type are upgraded in the background after a
+ * successful match, using spare pool capacity only.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private static final String OPERATION_TAG = "operation";
+    private static final String DUMMY_PASSWORD = "dummy-password";
+
+    private final Logger logger = Logger.getLogger(PasswordHasher.class.getName());
+
+    private final PasswordEncoderRegistry encoderRegistry;
+    private final Map<AccountType, String> dummyHashes;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+    private final Counter rehashedCounter;
+    private final long retryAfterSeconds;
+
+    public PasswordHasher(PasswordEncoderRegistry encoderRegistry, MeterRegistry meterRegistry,
+            @Value("${security.password.hashing.threads:0}") int threads,
+            @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encoderRegistry = encoderRegistry;
+        this.meterRegistry = meterRegistry;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("Hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+        this.rehashedCounter = Counter.builder("password.hashing.rehashed")
+                .description("Stored hashes upgraded to the current encoder settings")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .description("Hashing requests waiting for a worker")
+                .register(meterRegistry);
+        this.dummyHashes = encodeDummyHashes();
+    }
+
+    public String encode(AccountType accountType, String rawPassword) {
+        PasswordEncoder encoder = encoderRegistry.forAccount(accountType);
+        return execute("encode", () -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(AccountType accountType, String rawPassword, String encodedPassword) {
+        PasswordEncoder encoder = encoderRegistry.forAccount(accountType);
+        return execute("matches", () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Same as {@link #matches(AccountType, String, String)}, but when the password matches a
+     * hash that needs upgrading, a new hash is computed in the background and
+     * handed to {@code onRehash}. The callback runs on a hashing thread.
+     */
+    public boolean matches(AccountType accountType, String rawPassword, String encodedPassword,
+            Consumer<String> onRehash) {
+        PasswordEncoder encoder = encoderRegistry.forAccount(accountType);
+        boolean matches = matches(accountType, rawPassword, encodedPassword);
+        if (matches && encoder.upgradeEncoding(encodedPassword)) {
+            rehashInBackground(encoder, rawPassword, onRehash);
+        }
+        return matches;
+    }
+
+    /**
+     * Checks the password against several hashes at once, one hashing task per
+     * hash, and returns as soon as any of them matches. Tasks that are still
+     * queued at that point are cancelled.
+     */
+    public boolean matchesAny(AccountType accountType, String rawPassword, List<String> encodedPasswords) {
+        if (encodedPasswords.isEmpty()) {
+            return false;
+        }
+        PasswordEncoder encoder = encoderRegistry.forAccount(accountType);
+        Timer duration = Timer.builder("password.hashing.duration")
+                .tag(OPERATION_TAG, "matches-any")
+                .register(meterRegistry);
+        CompletionService<Boolean> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Boolean>> futures = new ArrayList<>(encodedPasswords.size());
+        try {
+            for (String encodedPassword : encodedPasswords) {
+                futures.add(completionService.submit(
+                        () -> duration.record(() -> encoder.matches(rawPassword, encodedPassword))));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                if (Boolean.TRUE.equals(completionService.take().get())) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Password service is busy, please retry later", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Hashes a batch of passwords on every worker of the pool, keeping at most
+     * one task per worker in flight so the queue stays free for interactive
+     * requests. When the queue is taken anyway, the batch waits for one of its
+     * own tasks to finish and tries again; it is only rejected when none of
+     * its tasks is running. Hashes are returned in input order.
+     */
+    public List<String> encodeAll(AccountType accountType, List<String> rawPasswords) {
+        if (rawPasswords.isEmpty()) {
+            return List.of();
+        }
+        PasswordEncoder encoder = encoderRegistry.forAccount(accountType);
+        Timer duration = Timer.builder("password.hashing.duration")
+                .tag(OPERATION_TAG, "encode-all")
+                .register(meterRegistry);
+        CompletionService<Integer> completionService = new ExecutorCompletionService<>(executor);
+        String[] hashes = new String[rawPasswords.size()];
+        List<Future<Integer>> futures = new ArrayList<>(rawPasswords.size());
+        int window = executor.getMaximumPoolSize();
+        int inFlight = 0;
+        int next = 0;
+        try {
+            while (next < hashes.length || inFlight > 0) {
+                if (next < hashes.length && inFlight < window) {
+                    int index = next;
+                    try {
+                        futures.add(completionService.submit(() -> {
+                            hashes[index] = duration.record(() -> encoder.encode(rawPasswords.get(index)));
+                            return index;
+                        }));
+                        next++;
+                        inFlight++;
+                        continue;
+                    } catch (RejectedExecutionException e) {
+                        if (inFlight == 0) {
+                            throw e;
+                        }
+                    }
+                }
+                completionService.take().get();
+                inFlight--;
+            }
+            return List.of(hashes);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Password service is busy, please retry later", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Spends the same work as a real verification against a throwaway hash, so
+     * unknown accounts cannot be told apart from wrong passwords by timing.
+     * The throwaway hashes are computed on the pool at startup.
+     */
+    public void matchAgainstDummy(AccountType accountType, String rawPassword) {
+        matches(accountType, rawPassword == null ? "" : rawPassword, dummyHashes.get(accountType));
+    }
+
+    private Map<AccountType, String> encodeDummyHashes() {
+        Map<AccountType, String> hashes = new EnumMap<>(AccountType.class);
+        for (AccountType accountType : AccountType.values()) {
+            PasswordEncoder encoder = encoderRegistry.forAccount(accountType);
+            hashes.put(accountType, execute("encode-dummy", () -> encoder.encode(DUMMY_PASSWORD)));
+        }
+        return hashes;
+    }
+
+    private void rehashInBackground(PasswordEncoder encoder, String rawPassword, Consumer<String> onRehash) {
+        if (executor.getQueue().remainingCapacity() == 0) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    onRehash.accept(encoder.encode(rawPassword));
+                    rehashedCounter.increment();
+                } catch (RuntimeException e) {
+                    logger.warning("Failed to upgrade password hash: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The next successful match will try again.
+        }
+    }
+
+    <T> T execute(String operation, Supplier<T> task) {
+        Timer queueWait = Timer.builder("password.hashing.queue.wait")
+                .tag(OPERATION_TAG, operation)
+                .register(meterRegistry);
+        Timer duration = Timer.builder("password.hashing.duration")
+                .tag(OPERATION_TAG, operation)
+                .register(meterRegistry);
+        long enqueuedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return duration.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Password service is busy, please retry later", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Password hashing failed", e.getCause());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configurable password policy evaluated in a single pass over the password
+ * characters, without regular expressions or intermediate strings. The
+ * maximum length counts UTF-8 bytes, since bcrypt ignores everything past
+ * the 72nd byte; the minimum length counts characters. When a
+ * breached-password filter is configured, passwords that pass every other
+ * rule are also looked up in it.
+ */
+@Component
+public class PasswordPolicy {
+
+    private final int minLength;
+    private final int maxLength;
+    private final boolean requireUppercase;
+    private final boolean requireLowercase;
+    private final boolean requireDigit;
+    private final String[] bannedSubstrings;
+    private final BreachedPasswordFilter breachedFilter;
+
+    public PasswordPolicy(
+            @Value("${security.password.policy.min-length:8}") int minLength,
+            @Value("${security.password.policy.max-length:72}") int maxLength,
+            @Value("${security.password.policy.require-uppercase:true}") boolean requireUppercase,
+            @Value("${security.password.policy.require-lowercase:true}") boolean requireLowercase,
+            @Value("${security.password.policy.require-digit:true}") boolean requireDigit,
+            @Value("${security.password.policy.banned-substrings:}") List<String> bannedSubstrings,
+            @Value("${security.password.policy.breached-filter-path:}") String breachedFilterPath) {
+        if (minLength < 0 || maxLength < minLength) {
+            throw new IllegalArgumentException("Invalid password length range: " + minLength + ".." + maxLength);
+        }
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.requireUppercase = requireUppercase;
+        this.requireLowercase = requireLowercase;
+        this.requireDigit = requireDigit;
+        this.bannedSubstrings = bannedSubstrings.stream()
+                .map(String::trim)
+                .filter(banned -> !banned.isEmpty())
+                .map(banned -> banned.toLowerCase(Locale.ROOT))
+                .toArray(String[]::new);
+        this.breachedFilter = openBreachedFilter(breachedFilterPath);
+    }
+
+    public static PasswordPolicy defaults() {
+        return new PasswordPolicy(8, 72, true, true, true, List.of(), null);
+    }
+
+    public PasswordPolicyReport evaluate(String password) {
+        if (password == null) {
+            return PasswordPolicyReport.of(PasswordRule.MIN_LENGTH.mask());
+        }
+
+        int length = password.length();
+        int violations = 0;
+        if (length < minLength) {
+            violations |= PasswordRule.MIN_LENGTH.mask();
+        }
+
+        boolean hasUppercase = false;
+        boolean hasLowercase = false;
+        boolean hasDigit = false;
+        boolean hasBanned = false;
+        int utf8Bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            utf8Bytes += utf8Length(c);
+            if (c >= 'A' && c <= 'Z') {
+                hasUppercase = true;
+            } else if (c >= 'a' && c <= 'z') {
+                hasLowercase = true;
+            } else if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            }
+            if (!hasBanned) {
+                hasBanned = startsWithBannedSubstring(password, i);
+            }
+        }
+
+        if (utf8Bytes > maxLength) {
+            violations |= PasswordRule.MAX_LENGTH.mask();
+        }
+        if (requireUppercase && !hasUppercase) {
+            violations |= PasswordRule.UPPERCASE.mask();
+        }
+        if (requireLowercase && !hasLowercase) {
+            violations |= PasswordRule.LOWERCASE.mask();
+        }
+        if (requireDigit && !hasDigit) {
+            violations |= PasswordRule.DIGIT.mask();
+        }
+        if (hasBanned) {
+            violations |= PasswordRule.BANNED_SUBSTRING.mask();
+        }
+        if (violations == 0 && breachedFilter != null && breachedFilter.mightContain(password)) {
+            violations |= PasswordRule.BREACHED.mask();
+        }
+        return PasswordPolicyReport.of(violations);
+    }
+
+    public boolean isValid(String password) {
+        return evaluate(password).isValid();
+    }
+
+    private static BreachedPasswordFilter openBreachedFilter(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        try {
+            return BreachedPasswordFilter.open(Path.of(path.trim()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open breached password filter " + path, e);
+        }
+    }
+
+    /**
+     * A surrogate is half of a four-byte character.
+     */
+    private static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800 || Character.isSurrogate(c)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private boolean startsWithBannedSubstring(String password, int offset) {
+        for (String banned : bannedSubstrings) {
+            if (password.regionMatches(true, offset, banned, 0, banned.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
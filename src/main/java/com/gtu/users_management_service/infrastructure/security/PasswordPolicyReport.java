@@ -0,0 +1,56 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Result of evaluating a password against a {@link PasswordPolicy}. Violations
+ * are kept as a bit set so a passing evaluation allocates nothing.
+ */
+public final class PasswordPolicyReport {
+
+    static final PasswordPolicyReport VALID = new PasswordPolicyReport(0);
+
+    private final int violations;
+
+    private PasswordPolicyReport(int violations) {
+        this.violations = violations;
+    }
+
+    static PasswordPolicyReport of(int violations) {
+        return violations == 0 ? VALID : new PasswordPolicyReport(violations);
+    }
+
+    public static PasswordPolicyReport of(PasswordRule rule) {
+        return new PasswordPolicyReport(rule.mask());
+    }
+
+    public boolean isValid() {
+        return violations == 0;
+    }
+
+    public boolean violates(PasswordRule rule) {
+        return (violations & rule.mask()) != 0;
+    }
+
+    /**
+     * The descriptions of the violated rules, for messages that must say what
+     * is wrong with this password in particular.
+     */
+    public String describe() {
+        return getViolations().stream()
+                .map(PasswordRule::getDescription)
+                .collect(Collectors.joining("; "));
+    }
+
+    public Set<PasswordRule> getViolations() {
+        EnumSet<PasswordRule> rules = EnumSet.noneOf(PasswordRule.class);
+        for (PasswordRule rule : PasswordRule.values()) {
+            if (violates(rule)) {
+                rules.add(rule);
+            }
+        }
+        return rules;
+    }
+}
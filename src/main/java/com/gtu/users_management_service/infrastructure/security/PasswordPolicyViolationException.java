@@ -0,0 +1,19 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+public class PasswordPolicyViolationException extends IllegalArgumentException {
+
+    private final transient PasswordPolicyReport report;
+
+    public PasswordPolicyViolationException(PasswordPolicyReport report) {
+        this(report.describe(), report);
+    }
+
+    public PasswordPolicyViolationException(String message, PasswordPolicyReport report) {
+        super(message);
+        this.report = report;
+    }
+
+    public PasswordPolicyReport getReport() {
+        return report;
+    }
+}
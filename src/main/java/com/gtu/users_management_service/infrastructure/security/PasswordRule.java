@@ -0,0 +1,26 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+public enum PasswordRule {
+    MIN_LENGTH("Password is too short"),
+    MAX_LENGTH("Password is too long"),
+    UPPERCASE("Password must contain an uppercase letter"),
+    LOWERCASE("Password must contain a lowercase letter"),
+    DIGIT("Password must contain a digit"),
+    BANNED_SUBSTRING("Password contains a banned word"),
+    BREACHED("Password appears in a known data breach"),
+    REUSED("Password was used recently");
+
+    private final String description;
+
+    PasswordRule(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    int mask() {
+        return 1 << ordinal();
+    }
+}
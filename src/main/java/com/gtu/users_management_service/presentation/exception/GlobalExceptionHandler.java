@@ -1,18 +1,26 @@
 package com.gtu.users_management_service.presentation.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.gtu.users_management_service.application.dto.ErrorResponseDTO;
+import com.gtu.users_management_service.domain.exception.InvalidCredentialsException;
 import com.gtu.users_management_service.domain.exception.ResourceNotFoundException;
+import com.gtu.users_management_service.domain.exception.ServiceUnavailableException;
+import com.gtu.users_management_service.domain.exception.TooManyRequestsException;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicyViolationException;
+import com.gtu.users_management_service.infrastructure.security.PasswordRule;
 
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @ControllerAdvice
@@ -29,6 +37,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(PasswordPolicyViolationException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePasswordPolicyViolationException(PasswordPolicyViolationException ex, HttpServletRequest request) {
+        Map<String, String> violations = new LinkedHashMap<>();
+        for (PasswordRule rule : ex.getReport().getViolations()) {
+            violations.put(rule.name(), rule.getDescription());
+        }
+
+        ErrorResponseDTO response = new ErrorResponseDTO(
+            HttpStatus.BAD_REQUEST.value(),
+            "Password Policy Violation",
+            violations,
+            request.getRequestURI()
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCredentialsException(InvalidCredentialsException ex, HttpServletRequest request) {
+        ErrorResponseDTO response = new ErrorResponseDTO(
+            HttpStatus.UNAUTHORIZED.value(),
+            "Unauthorized",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleNotFoundException(ResourceNotFoundException ex, HttpServletRequest request) {
         ErrorResponseDTO response = new ErrorResponseDTO(
@@ -40,6 +75,43 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleServiceUnavailableException(ServiceUnavailableException ex, HttpServletRequest request) {
+        ErrorResponseDTO response = new ErrorResponseDTO(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(response);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTooManyRequestsException(TooManyRequestsException ex, HttpServletRequest request) {
+        ErrorResponseDTO response = new ErrorResponseDTO(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Too Many Requests",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(response);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex, HttpServletRequest request) {
+        ErrorResponseDTO response = new ErrorResponseDTO(
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            "The resource was modified concurrently, please retry",
+            request.getRequestURI()
+        );
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDTO> handleValidationExceptions(MethodArgumentNotValidException ex, HttpServletRequest request) {
@@ -1,14 +1,23 @@
 package com.gtu.users_management_service.presentation.rest;
 
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.gtu.users_management_service.application.dto.PassengerDTO;
+import com.gtu.users_management_service.application.dto.PassengerImportReportDTO;
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
 import com.gtu.users_management_service.application.dto.ResponseDTO;
+import com.gtu.users_management_service.application.export.ExportFormat;
 import com.gtu.users_management_service.application.usecase.PassengerUseCase;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -37,6 +46,15 @@ public class PassengerController {
         return ResponseEntity.status(201).body(new ResponseDTO<>("Passenger created successfully", createdPassenger, 201));
     }  
 
+    @PostMapping("/import")
+    @Operation(summary = "Import passengers", description = "Create passengers in bulk from an NDJSON (default) or CSV upload "
+            + "with name, email and password columns. Invalid rows are skipped and listed in the report.")
+    public ResponseEntity<ResponseDTO<PassengerImportReportDTO>> importPassengers(
+            @RequestParam(defaultValue = "ndjson") String format, InputStream body) throws IOException {
+        PassengerImportReportDTO report = passengerUseCase.importPassengers(ExportFormat.from(format), body);
+        return ResponseEntity.ok(new ResponseDTO<>("Passenger import completed", report, 200));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing passenger", description = "Update the details of an existing passenger.")
     public ResponseEntity<ResponseDTO<PassengerDTO>> updatePassenger(@PathVariable Long id, @Valid @RequestBody PassengerDTO passengerDTO) {
@@ -55,9 +73,27 @@ public class PassengerController {
         return ResponseEntity.ok(new ResponseDTO<>("Passenger password updated successfully", updatedPassenger, 200));
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export passengers", description = "Stream every passenger as NDJSON (default) or CSV, without passwords.")
+    public ResponseEntity<StreamingResponseBody> exportPassengers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> passengerUseCase.exportPassengers(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("passengers." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/count")
-    @Operation(summary = "Count passengers", description = "Get the total number of passengers.")
-    public ResponseEntity<ResponseDTO<Long>> countPassengers() {
+    @Operation(summary = "Count passengers", description = "Get the total number of passengers. "
+            + "With approximate=true the database planner estimate is returned instead.")
+    public ResponseEntity<ResponseDTO<Long>> countPassengers(
+            @RequestParam(defaultValue = "false") boolean approximate) {
+        if (approximate) {
+            Long estimate = passengerUseCase.estimatePassengers();
+            return ResponseEntity.ok(new ResponseDTO<>("Estimated number of passengers", estimate, 200));
+        }
         Long count = passengerUseCase.countPassengers();
         return ResponseEntity.ok(new ResponseDTO<>("Total number of passengers", count, 200));
     }
@@ -1,7 +1,13 @@
 package com.gtu.users_management_service.presentation.rest;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,13 +15,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
 import com.gtu.users_management_service.application.dto.ResponseDTO;
 import com.gtu.users_management_service.application.dto.UserDTO;
+import com.gtu.users_management_service.application.dto.UserPageDTO;
+import com.gtu.users_management_service.application.dto.UserStatusBatchDTO;
+import com.gtu.users_management_service.application.export.ExportFormat;
 import com.gtu.users_management_service.application.usecase.UserUseCase;
 import com.gtu.users_management_service.domain.model.Role;
 import com.gtu.users_management_service.domain.model.Status;
@@ -29,6 +40,8 @@ import jakarta.validation.Valid;
 @Tag(name = "Users", description = "Endpoints for managing users")
 public class UserController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final UserUseCase userUseCase;
 
     public UserController(UserUseCase userUseCase) {
@@ -49,6 +62,22 @@ public class UserController {
         return ResponseEntity.status(200).body(new ResponseDTO<>("User deleted successfully", null, 200));
     }
 
+    @DeleteMapping
+    @Operation(summary = "Delete several users", description = "Remove the users with the given identifiers in one go "
+            + "and return the identifiers that were deleted. Unknown identifiers are ignored.")
+    public ResponseEntity<ResponseDTO<List<Long>>> deleteUsers(@RequestParam List<Long> ids) {
+        List<Long> deleted = userUseCase.deleteUsers(ids);
+        return ResponseEntity.ok(new ResponseDTO<>("Users deleted successfully", deleted, 200));
+    }
+
+    @PutMapping("/status")
+    @Operation(summary = "Update the status of several users", description = "Set the status of the given users in one go "
+            + "and return the identifiers that were updated. Unknown identifiers are ignored.")
+    public ResponseEntity<ResponseDTO<List<Long>>> updateUserStatuses(@Valid @RequestBody UserStatusBatchDTO request) {
+        List<Long> updated = userUseCase.updateStatuses(request.getIds(), request.getStatus());
+        return ResponseEntity.ok(new ResponseDTO<>("User statuses updated successfully", updated, 200));
+    }
+
     @PutMapping("/{id}/status")
     @Operation(summary = "Update user status", description = "Update the status of a user by its unique identifier.")
     public ResponseEntity<ResponseDTO<UserDTO>> updateUserStatus(@PathVariable Long id, @RequestBody Status status) {
@@ -58,17 +87,63 @@ public class UserController {
     }
 
     @GetMapping
-    @Operation(summary = "Get users by role", description = "Retrieve a list of users filtered by their role.")
-    public ResponseEntity<ResponseDTO<List<UserDTO>>> getUsersByRole(@RequestParam Role role) {
+    @Operation(summary = "Get users by role", description = "Retrieve a list of users filtered by their role. "
+            + "Supports If-None-Match with the ETag of a previous response.")
+    public ResponseEntity<ResponseDTO<List<UserDTO>>> getUsersByRole(@RequestParam Role role,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Taken before the list: if a write lands in between, the next poll simply downloads again.
+        String etag = ETag.quoteETagIfNecessary(userUseCase.getRosterVersion(role));
+        if (isNotModified(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
         List<UserDTO> users = userUseCase.getUsersByRole(role);
-        return ResponseEntity.ok(new ResponseDTO<>("Users retrieved successfully", users, 200));
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(new ResponseDTO<>("Users retrieved successfully", users, 200));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search users", description = "List users filtered by role, status and name prefix, "
+            + "ordered by id. Pass the returned nextAfterId as afterId to get the next page.")
+    public ResponseEntity<ResponseDTO<UserPageDTO>> searchUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        UserPageDTO page = userUseCase.searchUsers(role, status, namePrefix, afterId, size);
+        return ResponseEntity.ok(new ResponseDTO<>("Users retrieved successfully", page, 200));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export users", description = "Stream every user as NDJSON (default) or CSV, without passwords.")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = out -> userUseCase.exportUsers(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + exportFormat.getExtension()).build().toString())
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get user by ID", description = "Retrieve a user by its unique identifier.")
-    public ResponseEntity<ResponseDTO<UserDTO>> getUserById(@PathVariable Long id) {
+    @Operation(summary = "Get user by ID", description = "Retrieve a user by its unique identifier. "
+            + "Supports If-None-Match with the ETag of a previous response.")
+    public ResponseEntity<ResponseDTO<UserDTO>> getUserById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> etag = userUseCase.getUserVersion(id).map(UserController::rowETag);
+            if (etag.isPresent() && isNotModified(ifNoneMatch, etag.get())) {
+                return notModified(etag.get());
+            }
+        }
         UserDTO user = userUseCase.getUserById(id);
-        return ResponseEntity.ok(new ResponseDTO<>("User retrieved successfully", user, 200));
+        return ResponseEntity.ok()
+                .eTag(rowETag(user.getVersion()))
+                .cacheControl(REVALIDATE)
+                .body(new ResponseDTO<>("User retrieved successfully", user, 200));
     }
 
     @PutMapping("/{id}/password")
@@ -80,4 +155,24 @@ public class UserController {
         UserDTO updatedUser= userUseCase.updatePassword(userDTO, passwordUpdateDTO);
         return ResponseEntity.ok(new ResponseDTO<>("User password updated successfully", updatedUser, 200));
     }
+
+    private static String rowETag(long version) {
+        return ETag.quoteETagIfNecessary(Long.toString(version));
+    }
+
+    private static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(current, false));
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .build();
+    }
 }
\ No newline at end of file
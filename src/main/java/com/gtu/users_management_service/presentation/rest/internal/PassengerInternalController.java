@@ -4,6 +4,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.gtu.users_management_service.application.dto.CredentialVerificationDTO;
+import com.gtu.users_management_service.application.dto.CredentialsDTO;
 import com.gtu.users_management_service.application.dto.PassengerDTO;
 import com.gtu.users_management_service.domain.model.Passenger;
 import com.gtu.users_management_service.domain.service.PassengerService;
@@ -66,5 +68,10 @@ public class PassengerInternalController {
             passengerDTO.getPassword()
         ));
     }
-    
+
+    @PostMapping("/verify")
+    public ResponseEntity<CredentialVerificationDTO> verifyCredentials(@RequestBody CredentialsDTO credentials) {
+        Passenger passenger = passengerService.verifyCredentials(credentials.getEmail(), credentials.getPassword());
+        return ResponseEntity.ok(new CredentialVerificationDTO(passenger.getId(), null, null));
+    }
 }
@@ -4,6 +4,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.gtu.users_management_service.application.dto.CredentialVerificationDTO;
+import com.gtu.users_management_service.application.dto.CredentialsDTO;
 import com.gtu.users_management_service.domain.model.User;
 import com.gtu.users_management_service.domain.service.UserService;
 
@@ -13,7 +15,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 
 @RestController
@@ -53,4 +57,10 @@ public class UserInternalController {
         user.setId(id);
         return userService.resetPassword(user, newPassword);
     }
+
+    @PostMapping("/verify")
+    public ResponseEntity<CredentialVerificationDTO> verifyCredentials(@RequestBody CredentialsDTO credentials) {
+        User user = userService.verifyCredentials(credentials.getEmail(), credentials.getPassword());
+        return ResponseEntity.ok(new CredentialVerificationDTO(user.getId(), user.getRole(), user.getStatus()));
+    }
 }
@@ -0,0 +1,51 @@
+package com.gtu.users_management_service.application.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportWriterTest {
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = ExportWriter.create(ExportFormat.NDJSON, out, List.of("id", "name"))) {
+            writer.write(1L, "Carlos \"CP\" Pérez");
+            writer.write(2L, null);
+        }
+
+        assertEquals("{\"id\":1,\"name\":\"Carlos \\\"CP\\\" Pérez\"}\n{\"id\":2,\"name\":null}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldWriteCsvWithHeaderAndQuoteOnlyWhenNeeded() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = ExportWriter.create(ExportFormat.CSV, out, List.of("id", "name", "email"))) {
+            writer.write(1L, "Pérez, Carlos", "carlos@gtu.com");
+            writer.write(2L, "Ana \"La\" Ruiz", null);
+        }
+
+        assertEquals("id,name,email\r\n1,\"Pérez, Carlos\",carlos@gtu.com\r\n2,\"Ana \"\"La\"\" Ruiz\",\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldRejectRowsWithTheWrongNumberOfValues() throws IOException {
+        try (ExportWriter writer = ExportWriter.create(ExportFormat.NDJSON, new ByteArrayOutputStream(), List.of("id"))) {
+            assertThrows(IllegalArgumentException.class, () -> writer.write(1L, "extra"));
+        }
+    }
+
+    @Test
+    void shouldParseFormatIgnoringCase() {
+        assertEquals(ExportFormat.CSV, ExportFormat.from("csv"));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.from("NDJSON"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.from("xml"));
+    }
+}
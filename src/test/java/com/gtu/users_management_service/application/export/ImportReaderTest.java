@@ -0,0 +1,83 @@
+package com.gtu.users_management_service.application.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportReaderTest {
+
+    private static final List<String> COLUMNS = List.of("name", "email", "password");
+
+    @Test
+    void shouldReadNdjsonRowsAndReportMalformedOnes() throws IOException {
+        List<ImportReader.Row> rows = readAll(ExportFormat.NDJSON,
+                "{\"name\":\"Juan\",\"email\":\"juan@gtu.com\",\"password\":\"Passw0rd\",\"extra\":1}\n"
+                        + "\n"
+                        + "{not json\n"
+                        + "[1, 2]\n"
+                        + "{\"name\":{\"first\":\"Ana\"},\"email\":\"ana@gtu.com\"}\n");
+
+        assertEquals(4, rows.size());
+        assertNull(rows.get(0).error());
+        assertEquals("juan@gtu.com", rows.get(0).get("email"));
+        assertEquals("Passw0rd", rows.get(0).get("password"));
+        assertEquals("Malformed JSON", rows.get(1).error());
+        assertEquals(2, rows.get(1).number());
+        assertEquals("Row must be a JSON object", rows.get(2).error());
+        assertEquals("Field name must be a string", rows.get(3).error());
+        assertEquals("ana@gtu.com", rows.get(3).get("email"));
+        assertNull(rows.get(3).get("password"));
+    }
+
+    @Test
+    void shouldReadCsvWithQuotedFieldsAndColumnsInAnyOrder() throws IOException {
+        List<ImportReader.Row> rows = readAll(ExportFormat.CSV,
+                "email,password,name\r\n"
+                        + "juan@gtu.com,Passw0rd,\"Pérez, Juan\"\r\n"
+                        + "\r\n"
+                        + "ana@gtu.com,\"Pass\"\"w0rd\",\"Ana\nRuiz\"\n"
+                        + "luis@gtu.com,,Luis\r\n");
+
+        assertEquals(3, rows.size());
+        assertEquals("Pérez, Juan", rows.get(0).get("name"));
+        assertEquals("Pass\"w0rd", rows.get(1).get("password"));
+        assertEquals("Ana\nRuiz", rows.get(1).get("name"));
+        assertEquals(2, rows.get(1).number());
+        assertNull(rows.get(2).get("password"));
+        assertTrue(rows.stream().allMatch(row -> row.error() == null));
+    }
+
+    @Test
+    void shouldReportCsvRowsWithTheWrongNumberOfFields() throws IOException {
+        List<ImportReader.Row> rows = readAll(ExportFormat.CSV, "name,email,password\nJuan,juan@gtu.com\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("Expected 3 fields but found 2", rows.get(0).error());
+    }
+
+    @Test
+    void shouldRejectCsvWithoutTheRequiredHeader() {
+        Exception ex = assertThrows(IllegalArgumentException.class,
+                () -> readAll(ExportFormat.CSV, "name,email\nJuan,juan@gtu.com\n"));
+
+        assertEquals("CSV header must contain the columns name, email, password", ex.getMessage());
+    }
+
+    private static List<ImportReader.Row> readAll(ExportFormat format, String content) throws IOException {
+        List<ImportReader.Row> rows = new ArrayList<>();
+        try (ImportReader reader = ImportReader.create(format,
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), COLUMNS)) {
+            ImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -1,17 +1,32 @@
 package com.gtu.users_management_service.application.service;
 
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
+import com.gtu.users_management_service.domain.exception.InvalidCredentialsException;
+import com.gtu.users_management_service.domain.model.AccountPasswordHistory;
+import com.gtu.users_management_service.domain.model.AccountType;
 import com.gtu.users_management_service.domain.model.Passenger;
+import com.gtu.users_management_service.domain.model.PassengerImportResult;
 import com.gtu.users_management_service.domain.repository.PassengerRepository;
 import com.gtu.users_management_service.infrastructure.logs.LogPublisher;
-import com.gtu.users_management_service.infrastructure.security.PasswordEncoderUtil;
+import com.gtu.users_management_service.infrastructure.security.PasswordAttemptThrottler;
+import com.gtu.users_management_service.infrastructure.security.PasswordEncoderRegistry;
+import com.gtu.users_management_service.infrastructure.security.PasswordHasher;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicy;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicyViolationException;
+import com.gtu.users_management_service.infrastructure.security.PasswordRule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,18 +41,31 @@ class PassengerServiceImplTest {
     @Mock
     private LogPublisher logPublisher;
 
-    @InjectMocks
+    @Mock
+    private PasswordAttemptThrottler attemptThrottler;
+
+    private PasswordHasher passwordHasher;
+
     private PassengerServiceImpl passengerService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        passwordHasher = new PasswordHasher(
+                new PasswordEncoderRegistry(Map.of(PasswordEncoderRegistry.BCRYPT, new BCryptPasswordEncoder(4)), Map.of()),
+                new SimpleMeterRegistry(), 2, 16, 1);
+        passengerService = new PassengerServiceImpl(passengerRepository, logPublisher, passwordHasher,
+                PasswordPolicy.defaults(), attemptThrottler, TransactionOperations.withoutTransaction(), 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.destroy();
     }
 
     @Test
     void createPassenger_shouldCreateWhenDataIsValid() {
         Passenger passenger = new Passenger(null, "Test", "test@example.com", "Password1");
-        when(passengerRepository.existsByEmail("test@example.com")).thenReturn(false);
         when(passengerRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         Passenger result = passengerService.createPassenger(passenger);
@@ -71,7 +99,7 @@ class PassengerServiceImplTest {
     @Test
     void createPassenger_shouldThrowWhenEmailAlreadyExists() {
         Passenger passenger = new Passenger(null, "Test", "test@example.com", "Password1");
-        when(passengerRepository.existsByEmail("test@example.com")).thenReturn(true);
+        when(passengerRepository.save(any())).thenThrow(new IllegalArgumentException("Email already exists"));
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.createPassenger(passenger));
         assertEquals("Email already exists", ex.getMessage());
@@ -80,7 +108,6 @@ class PassengerServiceImplTest {
     @Test
     void createPassenger_shouldThrowWhenPasswordIsInvalid() {
         Passenger passenger = new Passenger(null, "Test", "test@example.com", "short");
-        when(passengerRepository.existsByEmail("test@example.com")).thenReturn(false);
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.createPassenger(passenger));
         assertTrue(ex.getMessage().contains("Password must contain"));
@@ -88,16 +115,15 @@ class PassengerServiceImplTest {
 
     @Test
     void updatePassenger_shouldUpdateWhenDataIsValid() {
-        Passenger existing = new Passenger(1L, "Original", "old@example.com", "pass");
         Passenger updates = new Passenger(1L, "Updated", "new@example.com", null);
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(passengerRepository.existsByEmail("new@example.com")).thenReturn(false);
-        when(passengerRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(passengerRepository.updateProfile(1L, "Updated", "new@example.com"))
+                .thenReturn(Optional.of(new Passenger(1L, "Updated", "new@example.com", "pass")));
 
         Passenger result = passengerService.updatePassenger(updates);
 
         assertEquals("Updated", result.getName());
         assertEquals("new@example.com", result.getEmail());
+        verify(passengerRepository, never()).findById(anyLong());
         verify(logPublisher).sendLog(anyString(), eq("users-management-service"), eq("INFO"), eq("Updating passenger"),
                 argThat(map -> map.get("id").equals(1L) && map.get("name").equals("Updated") && map.get("email").equals("new@example.com")));
     }
@@ -105,7 +131,7 @@ class PassengerServiceImplTest {
     @Test
     void updatePassenger_shouldThrowWhenPassengerNotFound() {
         Passenger passenger = new Passenger(1L, "Updated", "new@example.com", null);
-        when(passengerRepository.findById(1L)).thenReturn(Optional.empty());
+        when(passengerRepository.updateProfile(1L, "Updated", "new@example.com")).thenReturn(Optional.empty());
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.updatePassenger(passenger));
         assertEquals("Passenger not found", ex.getMessage());
@@ -113,10 +139,9 @@ class PassengerServiceImplTest {
 
     @Test
     void updatePassenger_shouldThrowWhenEmailAlreadyExists() {
-        Passenger existing = new Passenger(1L, "Original", "old@example.com", "pass");
         Passenger updates = new Passenger(1L, "Updated", "existing@example.com", null);
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(passengerRepository.existsByEmail("existing@example.com")).thenReturn(true);
+        when(passengerRepository.updateProfile(1L, "Updated", "existing@example.com"))
+                .thenThrow(new IllegalArgumentException("Email already exists"));
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.updatePassenger(updates));
         assertEquals("Email already exists", ex.getMessage());
@@ -125,32 +150,34 @@ class PassengerServiceImplTest {
     @Test
     void updatePassenger_shouldThrowWhenTryingToUpdatePassword() {
         Passenger passenger = new Passenger(1L, "Test", "test@example.com", "newPass");
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.updatePassenger(passenger));
         assertEquals("Password cannot be updated", ex.getMessage());
+        verify(passengerRepository, never()).updateProfile(anyLong(), any(), any());
     }
 
     @Test
     void updatePassword_shouldUpdateWhenCurrentIsCorrectAndNewIsValid() {
-        Passenger existing = new Passenger(1L, "Test", "test@example.com", PasswordEncoderUtil.encode("OldPass1"));
+        Passenger existing = new Passenger(1L, "Test", "test@example.com", passwordHasher.encode(AccountType.PASSENGER, "OldPass1"));
         PasswordUpdateDTO dto = new PasswordUpdateDTO("OldPass1", "NewPass1");
         Passenger request = new Passenger(1L, null, null, "OldPass1");
 
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(passengerRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existing, List.of())));
+        when(passengerRepository.updatePassword(eq(1L), eq(existing.getPassword()), anyString()))
+                .thenAnswer(invocation -> new Passenger(1L, "Test", "test@example.com", invocation.getArgument(2)));
 
         Passenger result = passengerService.updatePassword(request, dto);
 
-        assertNotNull(result);
-        verify(passengerRepository).save(any());
+        assertTrue(passwordHasher.matches(AccountType.PASSENGER, "NewPass1", result.getPassword()));
+        verify(passengerRepository, never()).save(any());
     }
 
     @Test
     void updatePassword_shouldThrowWhenPassengerNotFound() {
         PasswordUpdateDTO dto = new PasswordUpdateDTO("OldPass1", "NewPass1");
         Passenger request = new Passenger(1L, null, null, "OldPass1");
-        when(passengerRepository.findById(1L)).thenReturn(Optional.empty());
+        when(passengerRepository.findWithPasswordHistory(1L, 5)).thenReturn(Optional.empty());
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.updatePassword(request, dto));
         assertEquals("Passenger not found", ex.getMessage());
@@ -160,7 +187,8 @@ class PassengerServiceImplTest {
     void updatePassword_shouldThrowWhenCurrentPasswordIsNull() {
         PasswordUpdateDTO dto = new PasswordUpdateDTO(null, "NewPass1");
         Passenger request = new Passenger(1L, null, null, null);
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(new Passenger(1L, "Test", "test@example.com", "OldPass1")));
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(new Passenger(1L, "Test", "test@example.com", "OldPass1"), List.of())));
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.updatePassword(request, dto));
         assertEquals("Current password cannot be null or empty", ex.getMessage());
@@ -168,11 +196,12 @@ class PassengerServiceImplTest {
 
     @Test
     void updatePassword_shouldThrowWhenCurrentPasswordIsIncorrect() {
-        Passenger existing = new Passenger(1L, "Test", "test@example.com", PasswordEncoderUtil.encode("RightPass"));
+        Passenger existing = new Passenger(1L, "Test", "test@example.com", passwordHasher.encode(AccountType.PASSENGER, "RightPass"));
         PasswordUpdateDTO dto = new PasswordUpdateDTO("WrongPass", "NewPass1");
         Passenger request = new Passenger(1L, null, null, "WrongPass");
 
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existing, List.of())));
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.updatePassword(request, dto));
         assertEquals("Current password is incorrect", ex.getMessage());
@@ -180,11 +209,12 @@ class PassengerServiceImplTest {
 
     @Test
     void updatePassword_shouldThrowWhenNewPasswordIsNull() {
-        Passenger existing = new Passenger(1L, "Test", "test@example.com", PasswordEncoderUtil.encode("OldPass1"));
+        Passenger existing = new Passenger(1L, "Test", "test@example.com", passwordHasher.encode(AccountType.PASSENGER, "OldPass1"));
         PasswordUpdateDTO dto = new PasswordUpdateDTO("OldPass1", null);
         Passenger request = new Passenger(1L, null, null, "OldPass1");
 
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existing, List.of())));
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.updatePassword(request, dto));
         assertEquals("New password cannot be null or empty", ex.getMessage());
@@ -192,32 +222,35 @@ class PassengerServiceImplTest {
 
     @Test
     void updatePassword_shouldThrowWhenNewPasswordIsInvalid() {
-        Passenger existing = new Passenger(1L, "Test", "test@example.com", PasswordEncoderUtil.encode("OldPass1"));
+        Passenger existing = new Passenger(1L, "Test", "test@example.com", passwordHasher.encode(AccountType.PASSENGER, "OldPass1"));
         PasswordUpdateDTO dto = new PasswordUpdateDTO("OldPass1", "short");
         Passenger request = new Passenger(1L, null, null, "OldPass1");
 
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existing, List.of())));
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.updatePassword(request, dto));
-        assertTrue(ex.getMessage().contains("must contain at least"));
+        assertTrue(ex.getMessage().contains("Password is too short"));
     }
 
     @Test
     void resetPassword_shouldResetWhenNewPasswordIsValid() {
         Passenger passenger = new Passenger(1L, "Test", "test@example.com", null);
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
-        when(passengerRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(passenger, List.of())));
+        when(passengerRepository.updatePassword(eq(1L), isNull(), anyString()))
+                .thenAnswer(invocation -> new Passenger(1L, "Test", "test@example.com", invocation.getArgument(2)));
 
         Passenger result = passengerService.resetPassword(passenger, "ValidPass1");
 
-        assertNotNull(result);
-        verify(passengerRepository).save(any());
+        assertNotNull(result.getPassword());
+        verify(passengerRepository, never()).save(any());
     }
 
     @Test
     void resetPassword_shouldThrowWhenPassengerNotFound() {
         Passenger passenger = new Passenger(1L, "Test", "test@example.com", null);
-        when(passengerRepository.findById(1L)).thenReturn(Optional.empty());
+        when(passengerRepository.findWithPasswordHistory(1L, 5)).thenReturn(Optional.empty());
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.resetPassword(passenger, "ValidPass1"));
         assertEquals("Passenger not found", ex.getMessage());
@@ -226,7 +259,8 @@ class PassengerServiceImplTest {
     @Test
     void resetPassword_shouldThrowWhenNewPasswordIsNull() {
         Passenger passenger = new Passenger(1L, "Test", "test@example.com", null);
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(passenger, List.of())));
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.resetPassword(passenger, null));
         assertEquals("New password cannot be null or empty", ex.getMessage());
@@ -235,10 +269,11 @@ class PassengerServiceImplTest {
     @Test
     void resetPassword_shouldThrowWhenNewPasswordIsInvalid() {
         Passenger passenger = new Passenger(1L, "Test", "test@example.com", null);
-        when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(passenger, List.of())));
 
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.resetPassword(passenger, "short"));
-        assertTrue(ex.getMessage().contains("must contain at least"));
+        assertTrue(ex.getMessage().contains("Password is too short"));
     }
 
     @Test
@@ -265,4 +300,154 @@ class PassengerServiceImplTest {
         Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerService.getPassengerByEmail("notfound@example.com"));
         assertEquals("Passenger not found", ex.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void verifyCredentials_shouldReturnPassengerWithoutPassword() {
+        Passenger passenger = new Passenger(1L, "Test", "email@example.com",
+                passwordHasher.encode(AccountType.PASSENGER, "Password1"));
+        when(passengerRepository.findByEmail("email@example.com")).thenReturn(Optional.of(passenger));
+
+        Passenger result = passengerService.verifyCredentials("email@example.com", "Password1");
+
+        assertEquals(1L, result.getId());
+        assertNull(result.getPassword());
+    }
+
+    @Test
+    void verifyCredentials_shouldThrowWhenPasswordDoesNotMatch() {
+        Passenger passenger = new Passenger(1L, "Test", "email@example.com",
+                passwordHasher.encode(AccountType.PASSENGER, "Password1"));
+        when(passengerRepository.findByEmail("email@example.com")).thenReturn(Optional.of(passenger));
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> passengerService.verifyCredentials("email@example.com", "Wrong1234"));
+    }
+
+    @Test
+    void verifyCredentials_shouldThrowWhenPassengerIsUnknown() {
+        when(passengerRepository.findByEmail("unknown@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> passengerService.verifyCredentials("unknown@example.com", "Password1"));
+    }
+
+    @Test
+    void updatePassword_shouldRejectRecentlyUsedPassword() {
+        Passenger existing = new Passenger(1L, "Test", "test@example.com", passwordHasher.encode(AccountType.PASSENGER, "OldPass1"));
+        List<String> previousPasswords = List.of(
+                passwordHasher.encode(AccountType.PASSENGER, "Older111"),
+                passwordHasher.encode(AccountType.PASSENGER, "NewPass1"));
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existing, previousPasswords)));
+
+        PasswordPolicyViolationException ex = assertThrows(PasswordPolicyViolationException.class,
+                () -> passengerService.updatePassword(new Passenger(1L, null, null, "OldPass1"),
+                        new PasswordUpdateDTO("OldPass1", "NewPass1")));
+
+        assertTrue(ex.getReport().violates(PasswordRule.REUSED));
+        verify(passengerRepository, never()).save(any());
+    }
+
+    @Test
+    void updatePassword_shouldRecordReplacedPasswordInHistory() {
+        String oldHash = passwordHasher.encode(AccountType.PASSENGER, "OldPass1");
+        Passenger existing = new Passenger(1L, "Test", "test@example.com", oldHash);
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existing, List.of())));
+        when(passengerRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        passengerService.updatePassword(new Passenger(1L, null, null, "OldPass1"),
+                new PasswordUpdateDTO("OldPass1", "NewPass1"));
+
+        verify(passengerRepository).recordPasswordHistory(1L, oldHash, 5);
+    }
+
+    @Test
+    void updatePassword_shouldReplaceLegacyHashWithoutRehashingItFirst() {
+        // Stored before hashes carried an algorithm prefix, so a successful match would normally upgrade it.
+        String legacyHash = new BCryptPasswordEncoder(4).encode("OldPass1");
+        Passenger existing = new Passenger(1L, "Test", "test@example.com", legacyHash);
+        when(passengerRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existing, List.of())));
+        when(passengerRepository.updatePassword(eq(1L), eq(legacyHash), anyString()))
+                .thenAnswer(invocation -> new Passenger(1L, "Test", "test@example.com", invocation.getArgument(2)));
+
+        Passenger result = passengerService.updatePassword(new Passenger(1L, null, null, "OldPass1"),
+                new PasswordUpdateDTO("OldPass1", "NewPass1"));
+
+        assertTrue(passwordHasher.matches(AccountType.PASSENGER, "NewPass1", result.getPassword()));
+        verify(passengerRepository, never()).updatePasswordIfUnchanged(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void importPassengers_shouldInsertValidRowsAndReportTheRest() {
+        List<Passenger> passengers = List.of(
+                new Passenger(null, "Juan", "juan@gtu.com", "Password1"),
+                new Passenger(null, "", "noname@gtu.com", "Password1"),
+                new Passenger(null, "Ana", "ana@gtu.com", "weak"),
+                new Passenger(null, "Juan Again", "juan@gtu.com", "Password1"),
+                new Passenger(null, "Luis", "luis@gtu.com", "Password1"),
+                new Passenger(null, "Taken", "taken@gtu.com", "Password1"));
+        when(passengerRepository.findExistingEmails(any())).thenReturn(Set.of("taken@gtu.com"));
+        when(passengerRepository.insertAll(any())).thenAnswer(invocation -> invocation.<List<Passenger>>getArgument(0).size());
+
+        PassengerImportResult result = passengerService.importPassengers(passengers);
+
+        assertEquals(6, result.received());
+        assertEquals(2, result.imported());
+        assertEquals(List.of(1, 2, 3, 5), result.errors().stream().map(PassengerImportResult.RowError::index).toList());
+        assertEquals("Name cannot be null or empty", result.errors().get(0).message());
+        assertEquals("Duplicate email in import", result.errors().get(2).message());
+        assertEquals("Email already exists", result.errors().get(3).message());
+        verify(passengerRepository).findExistingEmails(Set.of("juan@gtu.com", "luis@gtu.com", "taken@gtu.com"));
+        verify(passengerRepository).insertAll(argThat(inserted -> inserted.size() == 2
+                && inserted.get(0).getEmail().equals("juan@gtu.com")
+                && passwordHasher.matches(AccountType.PASSENGER, "Password1", inserted.get(1).getPassword())));
+        verify(logPublisher).sendLog(anyString(), eq("users-management-service"), eq("INFO"), eq("Importing passengers"),
+                eq(Map.of("received", 6, "imported", 2, "rejected", 4)));
+    }
+
+    @Test
+    void importPassengers_shouldReportEmailsTakenAfterTheCheckAndInsertTheRest() {
+        List<Passenger> passengers = List.of(
+                new Passenger(null, "Juan", "juan@gtu.com", "Password1"),
+                new Passenger(null, "Luis", "luis@gtu.com", "Password1"),
+                new Passenger(null, "Juan Upper", "Juan@gtu.com", "Password1"));
+        when(passengerRepository.findExistingEmails(any()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("luis@gtu.com"));
+        when(passengerRepository.insertAll(any()))
+                .thenThrow(new IllegalArgumentException("Email already exists"))
+                .thenAnswer(invocation -> invocation.<List<Passenger>>getArgument(0).size());
+
+        PassengerImportResult result = passengerService.importPassengers(passengers);
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(new PassengerImportResult.RowError(1, "luis@gtu.com", "Email already exists")),
+                result.errors());
+        verify(passengerRepository, times(2)).insertAll(any());
+        verify(passengerRepository).insertAll(argThat(inserted -> inserted.stream().map(Passenger::getEmail).toList()
+                .equals(List.of("juan@gtu.com", "Juan@gtu.com"))));
+    }
+
+    @Test
+    void importPassengers_shouldGiveUpWhenTheInsertKeepsFailing() {
+        List<Passenger> passengers = List.of(new Passenger(null, "Juan", "juan@gtu.com", "Password1"));
+        when(passengerRepository.findExistingEmails(any())).thenReturn(Set.of());
+        when(passengerRepository.insertAll(any())).thenThrow(new IllegalArgumentException("Email already exists"));
+
+        assertThrows(IllegalArgumentException.class, () -> passengerService.importPassengers(passengers));
+        verify(passengerRepository, times(3)).insertAll(any());
+    }
+
+    @Test
+    void importPassengers_shouldSkipDatabaseWhenNoRowIsValid() {
+        PassengerImportResult result = passengerService.importPassengers(
+                List.of(new Passenger(null, "Ana", "ana@gtu.com", "weak")));
+
+        assertEquals(0, result.imported());
+        assertEquals(1, result.errors().size());
+        verify(passengerRepository, never()).findExistingEmails(any());
+        verify(passengerRepository, never()).insertAll(any());
+    }
+}
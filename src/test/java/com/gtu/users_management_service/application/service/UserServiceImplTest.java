@@ -2,6 +2,8 @@ package com.gtu.users_management_service.application.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -9,38 +11,56 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.gtu.users_management_service.infrastructure.logs.LogPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionOperations;
 
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
+import com.gtu.users_management_service.domain.exception.InvalidCredentialsException;
 import com.gtu.users_management_service.domain.exception.ResourceNotFoundException;
+import com.gtu.users_management_service.domain.exception.TooManyRequestsException;
+import com.gtu.users_management_service.domain.model.AccountPasswordHistory;
+import com.gtu.users_management_service.domain.model.AccountType;
 import com.gtu.users_management_service.domain.model.Role;
 import com.gtu.users_management_service.domain.model.Status;
 import com.gtu.users_management_service.domain.model.User;
+import com.gtu.users_management_service.domain.model.UserPage;
+import com.gtu.users_management_service.domain.model.UserView;
 import com.gtu.users_management_service.domain.repository.UserRepository;
-import com.gtu.users_management_service.infrastructure.security.PasswordEncoderUtil;
-import com.gtu.users_management_service.infrastructure.security.PasswordValidator;
+import com.gtu.users_management_service.infrastructure.security.PasswordAttemptThrottler;
+import com.gtu.users_management_service.infrastructure.security.PasswordEncoderRegistry;
+import com.gtu.users_management_service.infrastructure.security.PasswordHasher;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicy;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicyViolationException;
+import com.gtu.users_management_service.infrastructure.security.PasswordRule;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceImplTest {
+    private static final BCryptPasswordEncoder ENCODER = new BCryptPasswordEncoder(4);
+
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private UserServiceImpl userService;
 
     private User user;
     private LogPublisher logPublisher;
+    private PasswordHasher passwordHasher;
+    private PasswordAttemptThrottler attemptThrottler;
 
     @BeforeEach
     void setUp() {
@@ -53,20 +73,20 @@ class UserServiceImplTest {
         user.setStatus(Status.ACTIVE);
         userRepository = mock(UserRepository.class);
         logPublisher = mock(LogPublisher.class);
-        userService = new UserServiceImpl(userRepository, null, null, logPublisher);
+        passwordHasher = mock(PasswordHasher.class);
+        attemptThrottler = mock(PasswordAttemptThrottler.class);
+        userService = new UserServiceImpl(userRepository, null, null, logPublisher, passwordHasher,
+                PasswordPolicy.defaults(), attemptThrottler, TransactionOperations.withoutTransaction(), 5, 100, 3);
     }
 
     @Test
     void createUser_Success() {
-        when(userRepository.existsByEmail("carlos.perez@gtu.com")).thenReturn(false);
         when(userRepository.save(user)).thenReturn(user);
 
         User createdUser = userService.createUser(user);
 
         assertNotNull(createdUser);
         assertEquals("Carlos Pérez", createdUser.getName());
-
-        verify(userRepository, times(1)).existsByEmail("carlos.perez@gtu.com");
         verify(userRepository, times(1)).save(user);
 
     }
@@ -83,7 +103,6 @@ class UserServiceImplTest {
 
     @Test
     void createUser_shouldCreateWhenDataIsValid() {
-        when(userRepository.existsByEmail("carlos.perez@gtu.com")).thenReturn(false);
         when(userRepository.save(user)).thenReturn(user);
 
         User createdUser = userService.createUser(user);
@@ -91,7 +110,6 @@ class UserServiceImplTest {
         assertNotNull(createdUser);
         assertEquals("Carlos Pérez", createdUser.getName());
         assertEquals(Status.ACTIVE, createdUser.getStatus());
-        verify(userRepository).existsByEmail("carlos.perez@gtu.com");
         verify(userRepository).save(user);
         verify(logPublisher).sendLog(anyString(), eq("users-management-service"), eq("INFO"), eq("Creating user"),
                 argThat(map -> map.get("name").equals("Carlos Pérez") && map.get("email").equals("carlos.perez@gtu.com") && map.get("role").equals(Role.ADMIN.toString())));
@@ -114,7 +132,7 @@ class UserServiceImplTest {
     void createUser_shouldThrowWhenPasswordIsInvalid() {
         user.setPassword("short");
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> userService.createUser(user));
-        assertEquals("Password must contain at least 8 characters, including uppercase letters and numbers", exception.getMessage());
+        assertEquals("Password is too short; Password must contain an uppercase letter; Password must contain a digit", exception.getMessage());
     }
 
     @Test
@@ -126,14 +144,13 @@ class UserServiceImplTest {
 
     @Test
     void createUser_shouldThrowWhenEmailAlreadyExists() {
-        when(userRepository.existsByEmail("carlos.perez@gtu.com")).thenReturn(true);
+        when(userRepository.save(user)).thenThrow(new IllegalArgumentException("Email is already in use"));
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> userService.createUser(user));
         assertEquals("Email is already in use", exception.getMessage());
     }
 
     @Test
     void createUser_shouldLogErrorWhenRabbitMQFails() throws Exception {
-        when(userRepository.existsByEmail("carlos.perez@gtu.com")).thenReturn(false);
         when(userRepository.save(user)).thenReturn(user);
 
         User createdUser = userService.createUser(user);
@@ -145,37 +162,35 @@ class UserServiceImplTest {
 
     @Test
     void deleteUser_Success() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.deleteById(1L)).thenReturn(true);
 
         userService.deleteUser(1L);
-        verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).deleteById(1L);
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
     void deleteUser_ThrowsException_WhenUserDoesNotExist() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.deleteById(1L)).thenReturn(false);
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
                 () -> userService.deleteUser(1L));
 
         assertEquals("User does not exist", exception.getMessage());
-        verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(0)).deleteById(1L);
     }
 
     @Test
     void updateStatus_Success() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.save(user)).thenReturn(user);
+        user.setStatus(Status.INACTIVE);
+        when(userRepository.updateStatus(1L, Status.INACTIVE)).thenReturn(Optional.of(user));
 
         User updatedUser = userService.updateStatus(1L, Status.INACTIVE);
 
         assertNotNull(updatedUser);
         assertEquals(Status.INACTIVE, updatedUser.getStatus());
-        verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -185,32 +200,67 @@ class UserServiceImplTest {
                 () -> userService.updateStatus(1L, null));
 
         assertEquals("Invalid status value. Only ACTIVE or INACTIVE are allowed.", exception.getMessage());
-        verify(userRepository, times(0)).findById(1L);
-        verify(userRepository, times(0)).save(user);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void updateStatus_ThrowsException_WhenUserDoesNotExist() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.updateStatus(1L, Status.ACTIVE)).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
                 () -> userService.updateStatus(1L, Status.ACTIVE));
 
         assertEquals("User does not exist", exception.getMessage());
-        verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(0)).save(user);
+    }
+
+    @Test
+    void updateStatuses_ShouldUpdateDistinctIdsAndLogOnce() {
+        when(userRepository.updateStatuses(Set.of(1L, 5L), Status.INACTIVE)).thenReturn(List.of(
+                new UserView(5L, "Luis", "luis@gtu.com", Role.DRIVER, Status.INACTIVE, 1L),
+                new UserView(1L, "Carlos", "carlos@gtu.com", Role.ADMIN, Status.INACTIVE, 1L)));
+
+        List<Long> updated = userService.updateStatuses(List.of(5L, 1L, 5L), Status.INACTIVE);
+
+        assertEquals(List.of(1L, 5L), updated);
+        verify(logPublisher, times(1)).sendLog(anyString(), anyString(), eq("INFO"), eq("Updating user statuses"), anyMap());
+    }
+
+    @Test
+    void updateStatuses_ShouldRejectInvalidArguments() {
+        assertEquals("Invalid status value. Only ACTIVE or INACTIVE are allowed.", assertThrows(
+                IllegalArgumentException.class, () -> userService.updateStatuses(List.of(1L), null)).getMessage());
+        assertEquals("Ids cannot be empty", assertThrows(
+                IllegalArgumentException.class, () -> userService.updateStatuses(List.of(), Status.ACTIVE)).getMessage());
+        assertEquals("Ids cannot contain null values", assertThrows(
+                IllegalArgumentException.class, () -> userService.deleteUsers(Arrays.asList(1L, null))).getMessage());
+        assertEquals("Cannot change more than 3 users at once", assertThrows(
+                IllegalArgumentException.class, () -> userService.deleteUsers(List.of(1L, 2L, 3L, 4L))).getMessage());
+        assertEquals("Cannot change more than 3 users at once", assertThrows(
+                IllegalArgumentException.class, () -> userService.updateStatuses(List.of(1L, 1L, 1L, 1L), Status.ACTIVE))
+                .getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void deleteUsers_ShouldReturnDeletedIdsAndLogOnce() {
+        when(userRepository.deleteAllById(Set.of(1L, 2L))).thenReturn(List.of(2L));
+
+        assertEquals(List.of(2L), userService.deleteUsers(List.of(1L, 2L)));
+        verify(logPublisher, times(1)).sendLog(anyString(), anyString(), eq("INFO"), eq("Deleting users"), anyMap());
     }
 
     @Test
     void getUsersByRole_Success() {
-        when(userRepository.findByRole(Role.ADMIN)).thenReturn(List.of(user));
-        List<User> users = userService.getUsersByRole(Role.ADMIN);
+        when(userRepository.findViewsByRole(Role.ADMIN)).thenReturn(List.of(
+                new UserView(1L, "Carlos Pérez", "carlos.perez@gtu.com", Role.ADMIN, Status.ACTIVE, 0L)));
+        List<UserView> users = userService.getUsersByRole(Role.ADMIN);
 
         assertNotNull(users);
         assertEquals(1, users.size());
-        assertEquals("Carlos Pérez", users.get(0).getName());
-        verify(userRepository, times(1)).findByRole(Role.ADMIN);
+        assertEquals("Carlos Pérez", users.get(0).name());
+        verify(userRepository, times(1)).findViewsByRole(Role.ADMIN);
+        verify(userRepository, never()).findByRole(any());
     }
 
     @Test
@@ -223,12 +273,67 @@ class UserServiceImplTest {
 
     @Test
     void getUsersByRole_ReturnsEmptyList_WhenNoUsersFound() {
-        when(userRepository.findByRole(Role.DRIVER)).thenReturn(List.of());
-        List<User> users = userService.getUsersByRole(Role.DRIVER);
+        when(userRepository.findViewsByRole(Role.DRIVER)).thenReturn(List.of());
+        List<UserView> users = userService.getUsersByRole(Role.DRIVER);
 
         assertNotNull(users);
         assertEquals(0, users.size());
-        verify(userRepository, times(1)).findByRole(Role.DRIVER);
+        verify(userRepository, times(1)).findViewsByRole(Role.DRIVER);
+    }
+
+    @Test
+    void searchUsers_ShouldReturnNextCursor_WhenMoreRowsFollow() {
+        when(userRepository.search(List.of(Role.DRIVER), Status.ACTIVE, "Ca", 10L, 3)).thenReturn(List.of(
+                new UserView(11L, "Carla", "carla@gtu.com", Role.DRIVER, Status.ACTIVE, 0L),
+                new UserView(12L, "Carlos", "carlos@gtu.com", Role.DRIVER, Status.ACTIVE, 0L),
+                new UserView(15L, "Camila", "camila@gtu.com", Role.DRIVER, Status.ACTIVE, 0L)));
+
+        UserPage page = userService.searchUsers(Role.DRIVER, Status.ACTIVE, "Ca", 10L, 2);
+
+        assertEquals(List.of(11L, 12L), page.users().stream().map(UserView::id).toList());
+        assertEquals(12L, page.nextAfterId());
+    }
+
+    @Test
+    void searchUsers_ShouldEndPaging_WhenNoMoreRows() {
+        when(userRepository.search(List.of(Role.ADMIN, Role.DRIVER), null, null, null, 21)).thenReturn(List.of(
+                new UserView(1L, "Carlos", "carlos@gtu.com", Role.ADMIN, Status.ACTIVE, 0L)));
+
+        UserPage page = userService.searchUsers(null, null, null, null, 20);
+
+        assertEquals(1, page.users().size());
+        assertNull(page.nextAfterId());
+    }
+
+    @Test
+    void searchUsers_ShouldCapPageSize() {
+        when(userRepository.search(any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        userService.searchUsers(Role.ADMIN, null, null, null, 10_000);
+
+        verify(userRepository).search(List.of(Role.ADMIN), null, null, null, 101);
+    }
+
+    @Test
+    void searchUsers_ShouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> userService.searchUsers(null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> userService.searchUsers(Role.SUPERADMIN, null, null, null, 20));
+        verify(userRepository, never()).search(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void exportUsers_ShouldSkipSuperadmins() {
+        doAnswer(invocation -> {
+            Consumer<UserView> action = invocation.getArgument(0);
+            action.accept(new UserView(1L, "Root", "root@gtu.com", Role.SUPERADMIN, Status.ACTIVE, 0L));
+            action.accept(new UserView(2L, "Ana", "ana@gtu.com", Role.DRIVER, Status.ACTIVE, 0L));
+            return null;
+        }).when(userRepository).forEachView(any());
+        List<UserView> exported = new ArrayList<>();
+
+        userService.exportUsers(exported::add);
+
+        assertEquals(List.of(2L), exported.stream().map(UserView::id).toList());
     }
 
     @Test
@@ -238,29 +343,28 @@ class UserServiceImplTest {
         existingUser.setName("John Doe");
         existingUser.setEmail("johndoe@example.com");
         existingUser.setPassword("encodedPassw0rd");
+        existingUser.setVersion(3L);
 
         PasswordUpdateDTO passwordUpdateDTO = new PasswordUpdateDTO();
         passwordUpdateDTO.setNewPassword("NewPassw0rd");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenReturn(existingUser);
-
-        try (MockedStatic<PasswordEncoderUtil> passwordEncoderUtilMock = Mockito.mockStatic(PasswordEncoderUtil.class);
-                MockedStatic<PasswordValidator> passwordValidatorMock = Mockito.mockStatic(PasswordValidator.class)) {
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existingUser, List.of())));
+        when(userRepository.updatePassword(1L, 3L, "encodedNewPassw0rd")).thenReturn(
+                new User(1L, "John Doe", "johndoe@example.com", "encodedNewPassw0rd", Role.ADMIN, Status.ACTIVE, 4L));
 
-            passwordEncoderUtilMock.when(() -> PasswordEncoderUtil.matches("Passw0rd", "encodedPassw0rd"))
-                    .thenReturn(true);
-            passwordValidatorMock.when(() -> PasswordValidator.isValid("NewPassw0rd")).thenReturn(true);
-            passwordEncoderUtilMock.when(() -> PasswordEncoderUtil.encode("NewPassw0rd"))
-                    .thenReturn("encodedNewPassw0rd");
+        when(passwordHasher.matches(eq(AccountType.USER), eq("Passw0rd"), eq("encodedPassw0rd")))
+                .thenReturn(true);
+        when(passwordHasher.encode(AccountType.USER, "NewPassw0rd"))
+                .thenReturn("encodedNewPassw0rd");
 
-            User result = userService.updatePassword(user, passwordUpdateDTO);
+        User result = userService.updatePassword(user, passwordUpdateDTO);
 
-            assertNotNull(result);
-            assertEquals("encodedNewPassw0rd", result.getPassword());
-            verify(userRepository, times(1)).findById(1L);
-            verify(userRepository, times(1)).save(any(User.class));
-        }
+        assertNotNull(result);
+        assertEquals("encodedNewPassw0rd", result.getPassword());
+        assertEquals(4L, result.getVersion());
+        verify(userRepository, times(1)).findWithPasswordHistory(1L, 5);
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -268,113 +372,107 @@ class UserServiceImplTest {
         PasswordUpdateDTO passwordUpdateDTO = new PasswordUpdateDTO();
         passwordUpdateDTO.setNewPassword("NewPassw0rd");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findWithPasswordHistory(1L, 5)).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
             userService.updatePassword(user, passwordUpdateDTO);
         });
 
         assertEquals("Passenger not found", exception.getMessage());
-        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findWithPasswordHistory(1L, 5);
         verify(userRepository, never()).save(any());
     }
 
     @Test
     void updatePassword_IncorrectCurrentPassword() {
-        user.setPassword(PasswordEncoderUtil.encode("Passw0rd"));
+        user.setPassword(ENCODER.encode("Passw0rd"));
 
         PasswordUpdateDTO passwordUpdateDTO = new PasswordUpdateDTO();
         passwordUpdateDTO.setNewPassword("NewPassw0rd");
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(user, List.of())));
 
-        try (MockedStatic<PasswordEncoderUtil> passwordEncoderUtilMock = Mockito.mockStatic(PasswordEncoderUtil.class);
-                MockedStatic<PasswordValidator> passwordValidatorMock = Mockito.mockStatic(PasswordValidator.class)) {
-            passwordEncoderUtilMock.when(() -> PasswordEncoderUtil.matches("Passw0rd", user.getPassword()))
-                    .thenReturn(false);
+        when(passwordHasher.matches(eq(AccountType.USER), anyString(), eq(user.getPassword())))
+                .thenReturn(false);
 
-            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-                userService.updatePassword(user, passwordUpdateDTO);
-            });
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.updatePassword(user, passwordUpdateDTO);
+        });
 
-            assertEquals("Current password is incorrect", exception.getMessage());
-            verify(userRepository, times(1)).findById(1L);
-            verify(userRepository, never()).save(any());
-        }
+        assertEquals("Current password is incorrect", exception.getMessage());
+        verify(userRepository, times(1)).findWithPasswordHistory(1L, 5);
+        verify(userRepository, never()).save(any());
     }
 
     @Test
     void updatePassword_NullNewPassword() {
         User existingUser = new User();
         existingUser.setId(1L);
-        existingUser.setPassword(PasswordEncoderUtil.encode("Passw0rd"));
+        existingUser.setPassword(ENCODER.encode("Passw0rd"));
 
         PasswordUpdateDTO passwordUpdateDTO = new PasswordUpdateDTO();
         passwordUpdateDTO.setNewPassword(null);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existingUser, List.of())));
 
-        try (MockedStatic<PasswordEncoderUtil> passwordEncoderUtilMock = Mockito.mockStatic(PasswordEncoderUtil.class);
-                MockedStatic<PasswordValidator> passwordValidatorMock = Mockito.mockStatic(PasswordValidator.class)) {
-            passwordEncoderUtilMock.when(() -> PasswordEncoderUtil.matches("Passw0rd", existingUser.getPassword()))
-                    .thenReturn(true);
+        when(passwordHasher.matches(eq(AccountType.USER), eq("Passw0rd"), eq(existingUser.getPassword())))
+                .thenReturn(true);
 
-            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-                userService.updatePassword(user, passwordUpdateDTO);
-            });
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.updatePassword(user, passwordUpdateDTO);
+        });
 
-            assertEquals("New password cannot be null or empty", exception.getMessage());
-            verify(userRepository, times(1)).findById(1L);
-            verify(userRepository, never()).save(any());
-        }
+        assertEquals("New password cannot be null or empty", exception.getMessage());
+        verify(userRepository, times(1)).findWithPasswordHistory(1L, 5);
+        verify(userRepository, never()).save(any());
     }
 
     @Test
     void updatePassword_InvalidNewPassword() {
         User existingUser = new User();
         existingUser.setId(1L);
-        existingUser.setPassword(PasswordEncoderUtil.encode("Passw0rd"));
+        existingUser.setPassword(ENCODER.encode("Passw0rd"));
 
         PasswordUpdateDTO passwordUpdateDTO = new PasswordUpdateDTO();
         passwordUpdateDTO.setNewPassword("invalid");
-        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-
-        try (MockedStatic<PasswordEncoderUtil> passwordEncoderUtilMock = Mockito.mockStatic(PasswordEncoderUtil.class);
-                MockedStatic<PasswordValidator> passwordValidatorMock = Mockito.mockStatic(PasswordValidator.class)) {
-            passwordEncoderUtilMock.when(() -> PasswordEncoderUtil.matches("Passw0rd", existingUser.getPassword()))
-                    .thenReturn(true);
-            passwordValidatorMock.when(() -> PasswordValidator.isValid("invalid")).thenReturn(false);
-
-            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
-                userService.updatePassword(user, passwordUpdateDTO);
-            });
-
-            assertEquals("New password must contain at least 8 characters, including uppercase letters and numbers",
-                    exception.getMessage());
-            verify(userRepository, times(1)).findById(1L);
-            verify(userRepository, never()).save(any());
-        }
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existingUser, List.of())));
+
+        when(passwordHasher.matches(eq(AccountType.USER), eq("Passw0rd"), eq(existingUser.getPassword())))
+                .thenReturn(true);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.updatePassword(user, passwordUpdateDTO);
+        });
+
+        assertEquals("Password is too short; Password must contain an uppercase letter; Password must contain a digit",
+                exception.getMessage());
+        verify(userRepository, times(1)).findWithPasswordHistory(1L, 5);
+        verify(userRepository, never()).save(any());
     }
 
     @Test
     void getUserById_Success() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findViewById(1L)).thenReturn(Optional.of(
+                new UserView(1L, "Carlos Pérez", "carlos.perez@gtu.com", Role.ADMIN, Status.ACTIVE, 0L)));
 
-        User foundUser = userService.getUserById(1L);
+        UserView foundUser = userService.getUserById(1L);
 
-        assertNotNull(foundUser);
-        assertEquals("Carlos Pérez", foundUser.getName());
-        verify(userRepository, times(1)).findById(1L);
+        assertEquals("Carlos Pérez", foundUser.name());
+        verify(userRepository, times(1)).findViewById(1L);
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
     void getUserById_ThrowsException_WhenUserDoesNotExist() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findViewById(1L)).thenReturn(Optional.empty());
 
         var exception = assertThrows(
                 ResourceNotFoundException.class,
                 () -> userService.getUserById(1L));
 
         assertEquals("User does not exist", exception.getMessage());
-        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findViewById(1L);
     }
 
     @Test
@@ -383,63 +481,59 @@ class UserServiceImplTest {
         existingUser.setId(1L);
         existingUser.setPassword("encodedOldPass");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenReturn(existingUser);
-
-        try (MockedStatic<PasswordValidator> validatorMock = Mockito.mockStatic(PasswordValidator.class);
-                MockedStatic<PasswordEncoderUtil> encoderMock = Mockito.mockStatic(PasswordEncoderUtil.class)) {
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existingUser, List.of())));
+        when(userRepository.updatePassword(1L, 0L, "encodedNewPassw0rd")).thenReturn(
+                new User(1L, "John Doe", "johndoe@example.com", "encodedNewPassw0rd", Role.ADMIN, Status.ACTIVE, 1L));
 
-            validatorMock.when(() -> PasswordValidator.isValid("NewPassw0rd")).thenReturn(true);
-            encoderMock.when(() -> PasswordEncoderUtil.encode("NewPassw0rd")).thenReturn("encodedNewPassw0rd");
+        when(passwordHasher.encode(AccountType.USER, "NewPassw0rd")).thenReturn("encodedNewPassw0rd");
 
-            User result = userService.resetPassword(user, "NewPassw0rd");
+        User result = userService.resetPassword(user, "NewPassw0rd");
 
-            assertNotNull(result);
-            assertEquals("encodedNewPassw0rd", result.getPassword());
-            verify(userRepository, times(1)).findById(1L);
-            verify(userRepository, times(1)).save(any(User.class));
-        }
+        assertNotNull(result);
+        assertEquals("encodedNewPassw0rd", result.getPassword());
+        verify(userRepository, times(1)).findWithPasswordHistory(1L, 5);
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     void resetPassword_UserNotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findWithPasswordHistory(1L, 5)).thenReturn(Optional.empty());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> userService.resetPassword(user, "NewPassw0rd"));
 
         assertEquals("User does not exist", exception.getMessage());
-        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findWithPasswordHistory(1L, 5);
         verify(userRepository, never()).save(any());
     }
 
     @Test
     void resetPassword_NullNewPassword() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(user, List.of())));
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
                 () -> userService.resetPassword(user, null));
 
         assertEquals("New password cannot be null or empty", exception.getMessage());
-        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findWithPasswordHistory(1L, 5);
         verify(userRepository, never()).save(any());
     }
 
     @Test
     void resetPassword_InvalidNewPassword() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(user, List.of())));
 
-        try (MockedStatic<PasswordValidator> validatorMock = Mockito.mockStatic(PasswordValidator.class)) {
-            validatorMock.when(() -> PasswordValidator.isValid("bad")).thenReturn(false);
 
-            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                    () -> userService.resetPassword(user, "bad"));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> userService.resetPassword(user, "bad"));
 
-            assertEquals("New password must contain at least 8 characters, including uppercase letters and numbers",
-                    exception.getMessage());
-            verify(userRepository, times(1)).findById(1L);
-            verify(userRepository, never()).save(any());
-        }
+        assertEquals("Password is too short; Password must contain an uppercase letter; Password must contain a digit",
+                exception.getMessage());
+        verify(userRepository, times(1)).findWithPasswordHistory(1L, 5);
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -463,4 +557,116 @@ class UserServiceImplTest {
         assertEquals("User does not exist", exception.getMessage());
         verify(userRepository, times(1)).findByEmail("missing@gtu.com");
     }
+
+    @Test
+    void verifyCredentials_Success() {
+        user.setPassword("encodedPassw0rd");
+        when(userRepository.findByEmail("carlos.perez@gtu.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(eq(AccountType.USER), eq("Passw0rd"), eq("encodedPassw0rd"), any()))
+                .thenReturn(true);
+
+        User result = userService.verifyCredentials("carlos.perez@gtu.com", "Passw0rd");
+
+        assertEquals(1L, result.getId());
+        assertEquals(Role.ADMIN, result.getRole());
+        assertNull(result.getPassword());
+    }
+
+    @Test
+    void verifyCredentials_ThrowsException_WhenPasswordDoesNotMatch() {
+        user.setPassword("encodedPassw0rd");
+        when(userRepository.findByEmail("carlos.perez@gtu.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(eq(AccountType.USER), eq("wrong"), eq("encodedPassw0rd"), any()))
+                .thenReturn(false);
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> userService.verifyCredentials("carlos.perez@gtu.com", "wrong"));
+    }
+
+    @Test
+    void verifyCredentials_SpendsHashingWork_WhenUserIsUnknown() {
+        when(userRepository.findByEmail("unknown@gtu.com")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> userService.verifyCredentials("unknown@gtu.com", "Passw0rd"));
+
+        verify(passwordHasher).matchAgainstDummy(AccountType.USER, "Passw0rd");
+    }
+
+    @Test
+    void updatePassword_SkipsHashing_WhenAttemptsAreThrottled() {
+        user.setPassword("encodedPassw0rd");
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(user, List.of())));
+        doThrow(new TooManyRequestsException("Too many password attempts, please retry later", 60))
+                .when(attemptThrottler).checkAttempt(AccountType.USER, 1L, "carlos.perez@gtu.com");
+        User request = new User();
+        request.setId(1L);
+        request.setPassword("Passw0rd");
+
+        PasswordUpdateDTO passwordUpdateDTO = new PasswordUpdateDTO();
+        passwordUpdateDTO.setNewPassword("NewPassw0rd");
+
+        assertThrows(TooManyRequestsException.class, () -> userService.updatePassword(request, passwordUpdateDTO));
+
+        verifyNoInteractions(passwordHasher);
+    }
+
+    @Test
+    void resetPassword_ThrowsException_WhenPasswordWasUsedRecently() {
+        user.setPassword("encodedPassw0rd");
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(user, List.of("encodedOlder"))));
+        when(passwordHasher.matchesAny(AccountType.USER, "NewPassw0rd", List.of("encodedPassw0rd", "encodedOlder")))
+                .thenReturn(true);
+
+        PasswordPolicyViolationException exception = assertThrows(PasswordPolicyViolationException.class,
+                () -> userService.resetPassword(user, "NewPassw0rd"));
+
+        assertTrue(exception.getReport().violates(PasswordRule.REUSED));
+        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).recordPasswordHistory(anyLong(), anyString(), anyInt());
+    }
+
+    @Test
+    void resetPassword_RecordsPreviousPasswordInHistory() {
+        user.setPassword("encodedPassw0rd");
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(user, List.of())));
+        when(passwordHasher.encode(AccountType.USER, "NewPassw0rd")).thenReturn("encodedNewPassw0rd");
+        when(userRepository.updatePassword(1L, 0L, "encodedNewPassw0rd")).thenReturn(user);
+
+        userService.resetPassword(user, "NewPassw0rd");
+
+        verify(userRepository).recordPasswordHistory(1L, "encodedPassw0rd", 5);
+    }
+
+    @Test
+    void updatePassword_ReplacesLegacyHashWithoutRehashingItFirst() {
+        PasswordHasher realHasher = new PasswordHasher(
+                new PasswordEncoderRegistry(Map.of(PasswordEncoderRegistry.BCRYPT, ENCODER), Map.of()),
+                new SimpleMeterRegistry(), 1, 16, 1);
+        UserServiceImpl service = new UserServiceImpl(userRepository, null, null, logPublisher, realHasher,
+                PasswordPolicy.defaults(), attemptThrottler, TransactionOperations.withoutTransaction(), 5, 100, 3);
+        // Stored before hashes carried an algorithm prefix, so a successful match would normally upgrade it.
+        String legacyHash = ENCODER.encode("Passw0rd");
+        User existingUser = new User(1L, "Carlos Pérez", "carlos.perez@gtu.com", legacyHash, Role.ADMIN, Status.ACTIVE, 2L);
+        when(userRepository.findWithPasswordHistory(1L, 5))
+                .thenReturn(Optional.of(new AccountPasswordHistory<>(existingUser, List.of())));
+        when(userRepository.updatePassword(eq(1L), eq(2L), anyString())).thenAnswer(invocation ->
+                new User(1L, "Carlos Pérez", "carlos.perez@gtu.com", invocation.getArgument(2), Role.ADMIN, Status.ACTIVE, 3L));
+        PasswordUpdateDTO passwordUpdateDTO = new PasswordUpdateDTO();
+        passwordUpdateDTO.setNewPassword("NewPassw0rd");
+
+        try {
+            User result = service.updatePassword(user, passwordUpdateDTO);
+
+            assertTrue(realHasher.matches(AccountType.USER, "NewPassw0rd", result.getPassword()));
+            // A single hashing thread runs tasks in order, so a queued rehash would have run by now.
+            verify(userRepository, never()).updatePasswordIfUnchanged(anyLong(), anyString(), anyString());
+            verify(userRepository).recordPasswordHistory(1L, legacyHash, 5);
+        } finally {
+            realHasher.destroy();
+        }
+    }
 }
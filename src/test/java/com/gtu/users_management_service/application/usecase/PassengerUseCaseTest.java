@@ -4,20 +4,28 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.gtu.users_management_service.application.dto.PassengerDTO;
+import com.gtu.users_management_service.application.dto.PassengerImportReportDTO;
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
+import com.gtu.users_management_service.application.export.ExportFormat;
 import com.gtu.users_management_service.domain.model.Passenger;
+import com.gtu.users_management_service.domain.model.PassengerImportResult;
 import com.gtu.users_management_service.domain.service.PassengerService;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,7 +33,6 @@ class PassengerUseCaseTest {
     @Mock
     private PassengerService passengerService;
 
-    @InjectMocks
     private PassengerUseCase passengerUseCase;
 
     private Passenger passenger;
@@ -34,6 +41,8 @@ class PassengerUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        passengerUseCase = new PassengerUseCase(passengerService, 3);
+
         passenger = new Passenger();
         passenger.setId(1L);
         passenger.setName("John Doe");
@@ -154,4 +163,41 @@ class PassengerUseCaseTest {
         assertEquals(42L, result);
         verify(passengerService, times(1)).countPassengers();
     }
+
+    @Test
+    void importPassengers_ShouldMergeParseAndValidationErrorsByRow() throws Exception {
+        String csv = "name,email,password\r\n"
+                + "Juan,juan@gtu.com,Passw0rd\r\n"
+                + "broken row\r\n"
+                + "Ana,ana@gtu.com,Passw0rd\r\n";
+        when(passengerService.importPassengers(any())).thenReturn(new PassengerImportResult(2, 1,
+                List.of(new PassengerImportResult.RowError(1, "ana@gtu.com", "Email already exists"))));
+
+        PassengerImportReportDTO report = passengerUseCase.importPassengers(ExportFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, report.getReceived());
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(2, 3), report.getErrors().stream().map(PassengerImportReportDTO.RowError::getRow).toList());
+        assertEquals("Email already exists", report.getErrors().get(1).getMessage());
+        verify(passengerService).importPassengers(argThat(passengers -> passengers.size() == 2
+                && passengers.get(1).getEmail().equals("ana@gtu.com")));
+    }
+
+    @Test
+    void importPassengers_ShouldRejectUploadsOverTheRowLimit() {
+        String ndjson = "{\"name\":\"A\"}\n".repeat(4);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> passengerUseCase
+                .importPassengers(ExportFormat.NDJSON, new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals("Import cannot contain more than 3 rows", exception.getMessage());
+        verify(passengerService, never()).importPassengers(any());
+    }
+
+    @Test
+    void importPassengers_ShouldRejectEmptyUploads() {
+        assertThrows(IllegalArgumentException.class, () -> passengerUseCase
+                .importPassengers(ExportFormat.NDJSON, new ByteArrayInputStream(new byte[0])));
+    }
 }
@@ -2,15 +2,20 @@ package com.gtu.users_management_service.application.usecase;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,9 +26,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
 import com.gtu.users_management_service.application.dto.UserDTO;
+import com.gtu.users_management_service.application.export.ExportFormat;
 import com.gtu.users_management_service.domain.model.Role;
 import com.gtu.users_management_service.domain.model.Status;
 import com.gtu.users_management_service.domain.model.User;
+import com.gtu.users_management_service.domain.model.UserView;
 import com.gtu.users_management_service.domain.service.UserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -151,7 +158,8 @@ class UserUseCaseTest {
 
     @Test
     void getUsersByRole_Success() {
-        when(userService.getUsersByRole(Role.ADMIN)).thenReturn(List.of(user));
+        when(userService.getUsersByRole(Role.ADMIN)).thenReturn(List.of(
+                new UserView(1L, "Carlos Pérez", "carlos.perez@gtu.com", Role.ADMIN, Status.ACTIVE, 0L)));
         List<UserDTO> result = userUseCase.getUsersByRole(Role.ADMIN);
 
         assertNotNull(result);
@@ -159,13 +167,30 @@ class UserUseCaseTest {
         assertEquals(userDto.getId(), result.get(0).getId());
         assertEquals(userDto.getName(), result.get(0).getName());
         assertEquals(userDto.getEmail(), result.get(0).getEmail());
-        assertEquals(userDto.getPassword(), result.get(0).getPassword());
+        assertNull(result.get(0).getPassword());
         assertEquals(userDto.getRole(), result.get(0).getRole());
         assertEquals(userDto.getStatus(), result.get(0).getStatus());
 
         verify(userService, times(1)).getUsersByRole(Role.ADMIN);
     }
 
+    @Test
+    void exportUsers_ShouldWriteEveryViewWithoutPasswords() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserView> sink = invocation.getArgument(0);
+            sink.accept(new UserView(1L, "Carlos Pérez", "carlos.perez@gtu.com", Role.ADMIN, Status.ACTIVE, 0L));
+            sink.accept(new UserView(2L, "Ana", "ana@gtu.com", Role.DRIVER, Status.INACTIVE, 0L));
+            return null;
+        }).when(userService).exportUsers(any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userUseCase.exportUsers(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":2,\"name\":\"Ana\",\"email\":\"ana@gtu.com\",\"role\":\"DRIVER\",\"status\":\"INACTIVE\"}", lines[1]);
+    }
+
     @Test
     void getUsersByRole_ReturnsEmptyList_WhenNoUsersFound() {
         when(userService.getUsersByRole(Role.DRIVER)).thenReturn(List.of());
@@ -219,14 +244,15 @@ class UserUseCaseTest {
 
     @Test
     void getUserById_Success() {
-        when(userService.getUserById(1L)).thenReturn(user);
+        when(userService.getUserById(1L)).thenReturn(new UserView(user.getId(), user.getName(), user.getEmail(),
+                user.getRole(), user.getStatus(), user.getVersion()));
         UserDTO result = userUseCase.getUserById(1L);
 
         assertNotNull(result);
         assertEquals(userDto.getId(), result.getId());
         assertEquals(userDto.getName(), result.getName());
         assertEquals(userDto.getEmail(), result.getEmail());
-        assertEquals(userDto.getPassword(), result.getPassword());
+        assertNull(result.getPassword());
         assertEquals(userDto.getRole(), result.getRole());
         assertEquals(userDto.getStatus(), result.getStatus());
 
@@ -0,0 +1,94 @@
+package com.gtu.users_management_service.infrastructure;
+
+import com.gtu.users_management_service.domain.model.Passenger;
+import com.gtu.users_management_service.infrastructure.cache.EmailLookupCache;
+import com.gtu.users_management_service.infrastructure.cache.PassengerCounter;
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+import com.gtu.users_management_service.infrastructure.messaging.CacheInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs outside the test transaction so that every sign-up commits on its own
+ * connection, as concurrent requests would.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConcurrentSignUpTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private JpaPassengerRepository jpaPassengerRepository;
+
+    @Autowired
+    private JpaPassengerPasswordHistoryRepository jpaPassengerPasswordHistoryRepository;
+
+    private PassengerRepositoryImpl passengerRepository;
+
+    @BeforeEach
+    void setUp() {
+        passengerRepository = new PassengerRepositoryImpl(jpaPassengerRepository, jpaPassengerPasswordHistoryRepository,
+                new EmailLookupCache<>("test", new SimpleMeterRegistry(), Duration.ofMinutes(5), 100, PassengerEntity::getId),
+                new PassengerCounter(jpaPassengerRepository, new SimpleMeterRegistry()),
+                mock(PassengerBulkLoader.class), mock(CacheInvalidationBus.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jpaPassengerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldLetExactlyOneOfManyConcurrentSignUpsWithTheSameEmailWin() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Passenger>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return passengerRepository.save(new Passenger(null, "Juan", "juan@gtu.com", "hash"));
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            int rejected = 0;
+            for (Future<Passenger> attempt : attempts) {
+                try {
+                    assertNotNull(attempt.get(10, TimeUnit.SECONDS).getId());
+                    created++;
+                } catch (java.util.concurrent.ExecutionException e) {
+                    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+                    assertEquals("Email already exists", e.getCause().getMessage());
+                    rejected++;
+                }
+            }
+
+            assertEquals(1, created);
+            assertEquals(THREADS - 1, rejected);
+            assertEquals(1, jpaPassengerRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.gtu.users_management_service.infrastructure;
+
+import com.gtu.users_management_service.domain.model.PassengerView;
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.domain.model.UserView;
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ExportQueryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @Autowired
+    private JpaPassengerRepository jpaPassengerRepository;
+
+    @Test
+    void shouldStreamUserViewsInIdOrderWithoutManagingEntities() {
+        jpaUserRepository.save(new UserEntity(null, "Carlos", "carlos@gtu.com", "hash", Role.ADMIN, Status.ACTIVE, 0L));
+        jpaUserRepository.save(new UserEntity(null, "Ana", "ana@gtu.com", "hash", Role.DRIVER, Status.INACTIVE, 0L));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UserView> views = new ArrayList<>();
+        jpaUserRepository.forEachView(views::add);
+
+        assertEquals(List.of("Carlos", "Ana"), views.stream().map(UserView::name).toList());
+        assertEquals(Status.INACTIVE, views.get(1).status());
+        assertTrue(views.get(0).id() < views.get(1).id());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void shouldStreamPassengerViews() {
+        jpaPassengerRepository.save(new PassengerEntity(null, "Juan", "juan@gtu.com", "hash"));
+
+        List<PassengerView> views = new ArrayList<>();
+        jpaPassengerRepository.forEachView(views::add);
+
+        assertEquals(1, views.size());
+        assertEquals("juan@gtu.com", views.get(0).email());
+    }
+}
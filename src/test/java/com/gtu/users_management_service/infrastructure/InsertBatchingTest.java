@@ -0,0 +1,50 @@
+package com.gtu.users_management_service.infrastructure;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class InsertBatchingTest {
+
+    private static final int ROWS = 500;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @Test
+    void shouldInsertUsersInJdbcBatchesWithPooledIds() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        List<UserEntity> users = IntStream.range(0, ROWS)
+                .mapToObj(i -> new UserEntity(null, "Driver " + i, "driver" + i + "@gtu.com", "hash",
+                        Role.DRIVER, Status.ACTIVE, 0L))
+                .toList();
+        statistics.clear();
+
+        List<UserEntity> saved = jpaUserRepository.saveAll(users);
+        entityManager.flush();
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        // One sequence call and one batched insert per 50 rows; row-by-row
+        // inserts would prepare at least one statement per row.
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 2L * ROWS / UserEntity.ID_ALLOCATION_SIZE + 2,
+                "expected batched inserts but " + statements + " statements were prepared");
+        List<Long> ids = saved.stream().map(UserEntity::getId).sorted().toList();
+        assertEquals(ROWS - 1, ids.get(ROWS - 1) - ids.get(0));
+    }
+}
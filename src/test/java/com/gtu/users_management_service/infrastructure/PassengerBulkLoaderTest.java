@@ -0,0 +1,157 @@
+package com.gtu.users_management_service.infrastructure;
+
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.dao.PersistenceExceptionTranslationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(PassengerBulkLoader.class)
+@ImportAutoConfiguration(PersistenceExceptionTranslationAutoConfiguration.class)
+class PassengerBulkLoaderTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JpaPassengerRepository jpaPassengerRepository;
+
+    @Autowired
+    private PassengerBulkLoader bulkLoader;
+
+    @Test
+    void shouldPersistInBatchesWhenCopyIsNotAvailable() {
+        List<PassengerEntity> passengers = IntStream.range(0, 2500)
+                .mapToObj(i -> new PassengerEntity(null, "Passenger " + i, "passenger" + i + "@gtu.com", "hash"))
+                .toList();
+
+        int inserted = bulkLoader.load(passengers);
+
+        assertEquals(2500, inserted);
+        assertEquals(2500, jpaPassengerRepository.count());
+        assertTrue(jpaPassengerRepository.findByEmail("passenger2499@gtu.com").isPresent());
+    }
+
+    @Test
+    void shouldFailWithIntegrityViolation_whenAnEmailIsAlreadyTaken() {
+        jpaPassengerRepository.save(new PassengerEntity(null, "Juan", "juan@gtu.com", "hash"));
+        entityManager.flush();
+
+        List<PassengerEntity> passengers = List.of(new PassengerEntity(null, "Juan", "juan@gtu.com", "hash"));
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> bulkLoader.load(passengers));
+        assertTrue(ConstraintViolations.violates(e, PassengerEntity.EMAIL_CONSTRAINT));
+    }
+
+    @Test
+    void shouldFindExistingEmailsInOneQuery() {
+        jpaPassengerRepository.save(new PassengerEntity(null, "Juan", "juan@gtu.com", "hash"));
+        jpaPassengerRepository.save(new PassengerEntity(null, "Ana", "ana@gtu.com", "hash"));
+
+        List<String> existing = jpaPassengerRepository.findExistingEmails(List.of("juan@gtu.com", "ana@gtu.com", "new@gtu.com"));
+
+        assertEquals(Set.of("juan@gtu.com", "ana@gtu.com"), Set.copyOf(existing));
+    }
+
+    @Test
+    void shouldNotOverlapHibernateIds_whenAllocatingFromAFreshSequence() throws SQLException {
+        try (Connection connection = freshSequence("fresh-loader-first")) {
+            long[] loaded = PassengerBulkLoader.allocateIds(connection, 60);
+            Set<Long> generated = generateLikeHibernate(connection, 120);
+
+            assertEquals(1, loaded[0]);
+            assertUniquePositiveIds(loaded, generated);
+        }
+    }
+
+    @Test
+    void shouldNotOverlapHibernateIds_whenHibernateDrewFromTheSequenceFirst() throws SQLException {
+        try (Connection connection = freshSequence("fresh-hibernate-first")) {
+            PooledOptimizer optimizer = hibernateOptimizer();
+            Set<Long> generated = new HashSet<>();
+            for (int i = 0; i < 10; i++) {
+                generated.add((Long) optimizer.generate(sequenceCallback(connection)));
+            }
+            long[] loaded = PassengerBulkLoader.allocateIds(connection, 60);
+            for (int i = 0; i < 100; i++) {
+                generated.add((Long) optimizer.generate(sequenceCallback(connection)));
+            }
+
+            assertUniquePositiveIds(loaded, generated);
+        }
+    }
+
+    private static Connection freshSequence(String database) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + database);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SEQUENCE " + PassengerEntity.ID_SEQUENCE
+                    + " START WITH 1 INCREMENT BY " + PassengerEntity.ID_ALLOCATION_SIZE);
+        }
+        return connection;
+    }
+
+    private static PooledOptimizer hibernateOptimizer() {
+        PooledOptimizer optimizer = new PooledOptimizer(Long.class, PassengerEntity.ID_ALLOCATION_SIZE);
+        optimizer.injectInitialValue(1);
+        return optimizer;
+    }
+
+    private static Set<Long> generateLikeHibernate(Connection connection, int count) {
+        PooledOptimizer optimizer = hibernateOptimizer();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            ids.add((Long) optimizer.generate(sequenceCallback(connection)));
+        }
+        return ids;
+    }
+
+    private static AccessCallback sequenceCallback(Connection connection) {
+        return new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                try (Statement statement = connection.createStatement();
+                        ResultSet rows = statement.executeQuery("SELECT NEXT VALUE FOR " + PassengerEntity.ID_SEQUENCE)) {
+                    rows.next();
+                    return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class).initialize(rows.getLong(1));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return null;
+            }
+        };
+    }
+
+    private static void assertUniquePositiveIds(long[] loaded, Set<Long> generated) {
+        Set<Long> all = new HashSet<>(generated);
+        Arrays.stream(loaded).forEach(all::add);
+        assertEquals(loaded.length + generated.size(), all.size());
+        assertTrue(all.stream().allMatch(id -> id > 0));
+    }
+}
@@ -0,0 +1,72 @@
+package com.gtu.users_management_service.infrastructure;
+
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PassengerDataChangeRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JpaPassengerRepository jpaPassengerRepository;
+
+    @Test
+    void shouldUpdateOnlyTheGivenFieldsInOneStatement() {
+        Long juan = savePassenger("juan@gtu.com");
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        PassengerEntity updated = jpaPassengerRepository.updateProfileReturningEntity(juan, null, "juan.perez@gtu.com")
+                .orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("Juan", updated.getName());
+        assertEquals("juan.perez@gtu.com", updated.getEmail());
+        assertTrue(jpaPassengerRepository.updateProfileReturningEntity(999L, "Ana", null).isEmpty());
+    }
+
+    @Test
+    void shouldRejectAnEmailTakenByAnotherPassenger() {
+        Long juan = savePassenger("juan@gtu.com");
+        savePassenger("ana@gtu.com");
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> jpaPassengerRepository.updateProfileReturningEntity(juan, null, "ana@gtu.com"));
+        assertTrue(ConstraintViolations.violates(e, PassengerEntity.EMAIL_CONSTRAINT));
+    }
+
+    @Test
+    void shouldReplacePasswordInOneStatementOnlyWhileTheHashIsUnchanged() {
+        Long juan = savePassenger("juan@gtu.com");
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        PassengerEntity updated = jpaPassengerRepository.updatePasswordReturningEntity(juan, "hash", "new-hash")
+                .orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("new-hash", updated.getPassword());
+        assertTrue(jpaPassengerRepository.updatePasswordReturningEntity(juan, "hash", "other-hash").isEmpty());
+    }
+
+    private Long savePassenger(String email) {
+        Long id = jpaPassengerRepository.save(new PassengerEntity(null, "Juan", email, "hash")).getId();
+        entityManager.flush();
+        entityManager.clear();
+        return id;
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,144 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+
+/**
+ * Compares the ways new passengers can be inserted: one statement per row,
+ * JDBC batches of {@link PassengerEntity#ID_ALLOCATION_SIZE} rows as
+ * Hibernate sends them, and the COPY stream of {@link PassengerBulkLoader}.
+ * Runs against an in-memory H2 database unless {@code -Dbenchmark.jdbc.url}
+ * (with {@code .user} and {@code .password}) points at a scratch Postgres
+ * database, which COPY needs. Not part of the test run; start
+ * {@link #main(String[])} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassengerInsertBenchmark {
+
+    private static final String URL = System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:passenger-insert");
+    private static final String INSERT_SQL = "INSERT INTO passenger (id, name, email, password) VALUES (?, ?, ?, ?)";
+
+    public enum Strategy { ROW_BY_ROW, BATCHED, COPY }
+
+    @Param
+    private Strategy strategy;
+
+    @Param({ "1000", "10000" })
+    private int rows;
+
+    private SingleConnectionDataSource dataSource;
+    private PassengerBulkLoader loader;
+    private List<PassengerEntity> passengers;
+
+    @Setup
+    public void createSchema() throws SQLException {
+        dataSource = new SingleConnectionDataSource(URL, System.getProperty("benchmark.jdbc.user", "sa"),
+                System.getProperty("benchmark.jdbc.password", ""), true);
+        loader = new PassengerBulkLoader(dataSource, PassengerEntity.ID_ALLOCATION_SIZE);
+        passengers = IntStream.range(0, rows)
+                .mapToObj(i -> new PassengerEntity(null, "Passenger " + i, "passenger" + i + "@gtu.com",
+                        "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2d9Yk4X7v1e1Yl7wJ0pWm5a"))
+                .toList();
+        try (Statement statement = dataSource.getConnection().createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS passenger (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                    + "email VARCHAR(255) NOT NULL CONSTRAINT " + PassengerEntity.EMAIL_CONSTRAINT + " UNIQUE, "
+                    + "password VARCHAR(255) NOT NULL)");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS " + PassengerEntity.ID_SEQUENCE
+                    + " INCREMENT BY " + PassengerEntity.ID_ALLOCATION_SIZE);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyTable() throws SQLException {
+        try (Statement statement = dataSource.getConnection().createStatement()) {
+            statement.execute("TRUNCATE TABLE passenger");
+        }
+    }
+
+    @TearDown
+    public void close() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int insert() throws SQLException {
+        return switch (strategy) {
+            case ROW_BY_ROW -> insertWithJdbc(1);
+            case BATCHED -> insertWithJdbc(PassengerEntity.ID_ALLOCATION_SIZE);
+            case COPY -> loader.load(passengers);
+        };
+    }
+
+    private int insertWithJdbc(int batchSize) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            long[] ids = PassengerBulkLoader.allocateIds(connection, rows);
+            for (int i = 0; i < rows; i++) {
+                PassengerEntity passenger = passengers.get(i);
+                insert.setLong(1, ids[i]);
+                insert.setString(2, passenger.getName());
+                insert.setString(3, passenger.getEmail());
+                insert.setString(4, passenger.getPassword());
+                if (batchSize == 1) {
+                    insert.executeUpdate();
+                } else {
+                    insert.addBatch();
+                    if ((i + 1) % batchSize == 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            if (batchSize > 1) {
+                insert.executeBatch();
+            }
+            connection.commit();
+            return rows;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(PassengerInsertBenchmark.class.getSimpleName())
+                .jvmArgsAppend(System.getProperties().stringPropertyNames().stream()
+                        .filter(name -> name.startsWith("benchmark.jdbc."))
+                        .map(name -> "-D" + name + "=" + System.getProperty(name))
+                        .toArray(String[]::new));
+        if (!URL.startsWith("jdbc:postgresql:")) {
+            options.param("strategy", Strategy.ROW_BY_ROW.name(), Strategy.BATCHED.name());
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -1,12 +1,22 @@
 package com.gtu.users_management_service.infrastructure;
 
+import com.gtu.users_management_service.domain.model.AccountPasswordHistory;
 import com.gtu.users_management_service.domain.model.Passenger;
+import com.gtu.users_management_service.infrastructure.cache.EmailLookupCache;
+import com.gtu.users_management_service.infrastructure.cache.PassengerCounter;
 import com.gtu.users_management_service.infrastructure.entities.PassengerEntity;
+import com.gtu.users_management_service.infrastructure.messaging.CacheInvalidationBus;
 import com.gtu.users_management_service.infrastructure.mappers.PassengerEntityMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.Duration;
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -14,35 +24,46 @@ import static org.mockito.Mockito.*;
 class PassengerRepositoryImplTest {
 
     private JpaPassengerRepository jpaPassengerRepository;
+    private JpaPassengerPasswordHistoryRepository jpaPassengerPasswordHistoryRepository;
+    private CacheInvalidationBus invalidationBus;
+    private PassengerBulkLoader bulkLoader;
     private PassengerRepositoryImpl passengerRepository;
 
     @BeforeEach
     void setUp() {
         jpaPassengerRepository = mock(JpaPassengerRepository.class);
-        passengerRepository = new PassengerRepositoryImpl(jpaPassengerRepository);
+        jpaPassengerPasswordHistoryRepository = mock(JpaPassengerPasswordHistoryRepository.class);
+        invalidationBus = mock(CacheInvalidationBus.class);
+        bulkLoader = mock(PassengerBulkLoader.class);
+        passengerRepository = new PassengerRepositoryImpl(jpaPassengerRepository, jpaPassengerPasswordHistoryRepository,
+                new EmailLookupCache<>("test", new SimpleMeterRegistry(), Duration.ofMinutes(5), 100, PassengerEntity::getId),
+                new PassengerCounter(jpaPassengerRepository, new SimpleMeterRegistry()), bulkLoader, invalidationBus);
     }
 
     @Test
     void shouldSaveAndReturnPassenger_whenPassengerIsValid() {
         Passenger passenger = new Passenger();
         PassengerEntity entity = PassengerEntityMapper.toEntity(passenger);
-        when(jpaPassengerRepository.save(any())).thenReturn(entity);
+        when(jpaPassengerRepository.saveAndFlush(any())).thenReturn(entity);
 
         Passenger result = passengerRepository.save(passenger);
 
         assertNotNull(result);
-        verify(jpaPassengerRepository).save(any());
+        verify(jpaPassengerRepository).saveAndFlush(any());
     }
 
     @Test
-    void shouldReturnTrue_whenPassengerExistsByEmail() {
-        String email = "test@example.com";
-        when(jpaPassengerRepository.findByEmail(email)).thenReturn(Optional.of(new PassengerEntity()));
-
-        boolean exists = passengerRepository.existsByEmail(email);
+    void shouldUpdateProfileInPlaceAndReportTakenEmails() {
+        when(jpaPassengerRepository.updateProfileReturningEntity(1L, null, "new@example.com"))
+                .thenReturn(Optional.of(new PassengerEntity(1L, "Juan", "new@example.com", "hash")));
+        when(jpaPassengerRepository.updateProfileReturningEntity(1L, null, "taken@example.com"))
+                .thenThrow(emailTaken());
 
-        assertTrue(exists);
-        verify(jpaPassengerRepository).findByEmail(email);
+        assertEquals("new@example.com", passengerRepository.updateProfile(1L, null, "new@example.com").orElseThrow().getEmail());
+        Exception ex = assertThrows(IllegalArgumentException.class,
+                () -> passengerRepository.updateProfile(1L, null, "taken@example.com"));
+        assertEquals("Email already exists", ex.getMessage());
+        verify(jpaPassengerRepository, never()).findById(any());
     }
 
     @Test
@@ -78,6 +99,44 @@ class PassengerRepositoryImplTest {
         verify(jpaPassengerRepository).count();
     }
 
+    @Test
+    void shouldCountExactlyOnEveryRequest() {
+        when(jpaPassengerRepository.count()).thenReturn(5L, 8L);
+
+        assertEquals(5L, passengerRepository.count());
+        assertEquals(8L, passengerRepository.count());
+    }
+
+    @Test
+    void shouldMaintainFallbackCountOnInsertWithoutRecounting() {
+        when(jpaPassengerRepository.estimateCount()).thenReturn(-1L);
+        when(jpaPassengerRepository.count()).thenReturn(5L);
+        when(jpaPassengerRepository.saveAndFlush(any())).thenReturn(new PassengerEntity(7L, "New", "new@example.com", "hash"));
+        passengerRepository.estimateCount();
+
+        passengerRepository.save(new Passenger(null, "New", "new@example.com", "hash"));
+        passengerRepository.save(new Passenger(7L, "Renamed", "new@example.com", "hash"));
+
+        assertEquals(6L, passengerRepository.estimateCount());
+        verify(jpaPassengerRepository, times(1)).count();
+    }
+
+    @Test
+    void shouldReturnPlannerEstimate_whenApproximateCountRequested() {
+        when(jpaPassengerRepository.estimateCount()).thenReturn(1_000_000L);
+
+        assertEquals(1_000_000L, passengerRepository.estimateCount());
+        verify(jpaPassengerRepository, never()).count();
+    }
+
+    @Test
+    void shouldFallBackToCounter_whenTableWasNeverAnalyzed() {
+        when(jpaPassengerRepository.estimateCount()).thenReturn(-1L);
+        when(jpaPassengerRepository.count()).thenReturn(3L);
+
+        assertEquals(3L, passengerRepository.estimateCount());
+    }
+
     @Test
     void shouldReturnPassenger_whenPassengerIsFoundByEmail() {
         String email = "test@example.com";
@@ -89,4 +148,131 @@ class PassengerRepositoryImplTest {
         assertTrue(result.isPresent());
         verify(jpaPassengerRepository).findByEmail(email);
     }
+
+    @Test
+    void shouldReportWhetherPasswordWasReplaced() {
+        when(jpaPassengerRepository.updatePasswordIfUnchanged(1L, "old", "new")).thenReturn(1);
+        when(jpaPassengerRepository.updatePasswordIfUnchanged(2L, "old", "new")).thenReturn(0);
+
+        assertTrue(passengerRepository.updatePasswordIfUnchanged(1L, "old", "new"));
+        assertFalse(passengerRepository.updatePasswordIfUnchanged(2L, "old", "new"));
+    }
+
+    @Test
+    void shouldFetchAccountAndPasswordHistoryInOneQuery() {
+        PassengerEntity entity = new PassengerEntity(1L, "Juan", "juan@gtu.com", "current");
+        List<Object[]> rows = List.of(
+                new Object[] {entity, "newest"},
+                new Object[] {entity, "older"},
+                new Object[] {entity, "oldest"});
+        when(jpaPassengerRepository.findWithPasswordHistory(1L)).thenReturn(rows);
+
+        Optional<AccountPasswordHistory<Passenger>> result = passengerRepository.findWithPasswordHistory(1L, 2);
+
+        assertTrue(result.isPresent());
+        assertEquals("current", result.get().account().getPassword());
+        assertEquals(List.of("newest", "older"), result.get().previousPasswords());
+        verify(jpaPassengerRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldReturnEmptyHistory_whenAccountHasNoPreviousPasswords() {
+        List<Object[]> rows = List.<Object[]>of(new Object[] {new PassengerEntity(1L, "Juan", "juan@gtu.com", "current"), null});
+        when(jpaPassengerRepository.findWithPasswordHistory(1L)).thenReturn(rows);
+
+        Optional<AccountPasswordHistory<Passenger>> result = passengerRepository.findWithPasswordHistory(1L, 5);
+
+        assertTrue(result.isPresent());
+        assertTrue(result.get().previousPasswords().isEmpty());
+    }
+
+    @Test
+    void shouldPruneHistoryBeyondDepth() {
+        when(jpaPassengerPasswordHistoryRepository.findIdsNewestFirst(1L)).thenReturn(List.of(9L, 8L, 7L));
+
+        passengerRepository.recordPasswordHistory(1L, "previous", 2);
+
+        verify(jpaPassengerPasswordHistoryRepository).save(any());
+        verify(jpaPassengerPasswordHistoryRepository).deleteAllByIdInBatch(List.of(7L));
+    }
+
+    @Test
+    void shouldServeRepeatedEmailLookupsFromCache() {
+        when(jpaPassengerRepository.findByEmail("juan@gtu.com")).thenReturn(Optional.of(new PassengerEntity(1L, "Juan", "juan@gtu.com", "hash")));
+
+        passengerRepository.findByEmail("juan@gtu.com");
+        passengerRepository.findByEmail("juan@gtu.com");
+
+        verify(jpaPassengerRepository, times(1)).findByEmail("juan@gtu.com");
+    }
+
+    @Test
+    void shouldInvalidateCachedEmailLookupOnPasswordChange() {
+        when(jpaPassengerRepository.findByEmail("juan@gtu.com")).thenReturn(Optional.of(new PassengerEntity(1L, "Juan", "juan@gtu.com", "hash")));
+        when(jpaPassengerRepository.updatePasswordIfUnchanged(1L, "hash", "rehashed")).thenReturn(1);
+
+        passengerRepository.findByEmail("juan@gtu.com");
+        passengerRepository.updatePasswordIfUnchanged(1L, "hash", "rehashed");
+        passengerRepository.findByEmail("juan@gtu.com");
+
+        verify(invalidationBus).publish(PassengerRepositoryImpl.CACHE_REGION, 1L);
+        verify(jpaPassengerRepository, times(2)).findByEmail("juan@gtu.com");
+    }
+
+    @Test
+    void shouldLookUpExistingEmailsInOneQuery() {
+        when(jpaPassengerRepository.findExistingEmails(List.of("juan@gtu.com", "new@gtu.com")))
+                .thenReturn(List.of("juan@gtu.com"));
+
+        Set<String> existing = passengerRepository.findExistingEmails(List.of("juan@gtu.com", "new@gtu.com"));
+
+        assertEquals(Set.of("juan@gtu.com"), existing);
+        verify(jpaPassengerRepository, times(1)).findExistingEmails(any());
+    }
+
+    @Test
+    void shouldCountAndRegisterBulkInsertedPassengers() {
+        when(jpaPassengerRepository.estimateCount()).thenReturn(-1L);
+        when(jpaPassengerRepository.count()).thenReturn(5L);
+        passengerRepository.estimateCount();
+        when(bulkLoader.load(any())).thenReturn(2);
+
+        int inserted = passengerRepository.insertAll(List.of(
+                new Passenger(null, "Ana", "ana@gtu.com", "hash"),
+                new Passenger(null, "Luis", "luis@gtu.com", "hash")));
+
+        assertEquals(2, inserted);
+        assertEquals(7L, passengerRepository.estimateCount());
+        verify(invalidationBus).publishReset(PassengerRepositoryImpl.CACHE_REGION);
+    }
+
+    @Test
+    void shouldReportDuplicateEmail_whenBulkInsertHitsUniqueConstraint() {
+        when(bulkLoader.load(any())).thenThrow(emailTaken());
+        List<Passenger> passengers = List.of(new Passenger(null, "Ana", "ana@gtu.com", "hash"));
+
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> passengerRepository.insertAll(passengers));
+
+        assertEquals("Email already exists", ex.getMessage());
+        verify(invalidationBus, never()).publishReset(any());
+    }
+
+    @Test
+    void shouldRethrowViolationsOfOtherConstraints() {
+        DataIntegrityViolationException tooLong = new DataIntegrityViolationException("value too long",
+                new SQLException("value too long for type character varying(255)", "22001"));
+        when(bulkLoader.load(any())).thenThrow(tooLong);
+        List<Passenger> passengers = List.of(new Passenger(null, "Ana", "ana@gtu.com", "hash"));
+
+        assertSame(tooLong, assertThrows(DataIntegrityViolationException.class,
+                () -> passengerRepository.insertAll(passengers)));
+    }
+
+    /**
+     * The way a COPY reports a taken email, without Hibernate in between.
+     */
+    private static DataIntegrityViolationException emailTaken() {
+        return new DataIntegrityViolationException("duplicate key", new SQLException(
+                "ERROR: duplicate key value violates unique constraint \"uk_passenger_email\"", "23505"));
+    }
 }
@@ -0,0 +1,109 @@
+package com.gtu.users_management_service.infrastructure;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.domain.model.UserView;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+
+/**
+ * Reads the role roster and a single user through {@link JpaUserRepository},
+ * once as managed entities with the password hash and once as
+ * {@link UserView} projections, against an in-memory H2 database. Each call
+ * runs in its own read-only transaction, as it does behind a request. Not
+ * part of the test run; start {@link #main(String[])} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionQueryBenchmark {
+
+    @Param({ "100", "5000" })
+    private int drivers;
+
+    private AnnotationConfigApplicationContext context;
+    private JpaUserRepository jpaUserRepository;
+    private Long userId;
+
+    @Setup
+    public void loadUsers() {
+        context = new AnnotationConfigApplicationContext(JpaOnlyConfig.class);
+        jpaUserRepository = context.getBean(JpaUserRepository.class);
+        List<UserEntity> saved = jpaUserRepository.saveAll(IntStream.range(0, drivers)
+                .mapToObj(i -> new UserEntity(null, "Driver " + i, "driver" + i + "@gtu.com",
+                        "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2d9Yk4X7v1e1Yl7wJ0pWm5a",
+                        Role.DRIVER, Status.ACTIVE, 0L))
+                .toList());
+        userId = saved.get(drivers / 2).getId();
+    }
+
+    @TearDown
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserEntity> rosterAsEntities() {
+        return jpaUserRepository.findByRole(Role.DRIVER);
+    }
+
+    @Benchmark
+    public List<UserView> rosterAsViews() {
+        return jpaUserRepository.findViewsByRole(Role.DRIVER);
+    }
+
+    @Benchmark
+    public Optional<UserEntity> userAsEntity() {
+        return jpaUserRepository.findById(userId);
+    }
+
+    @Benchmark
+    public Optional<UserView> userAsView() {
+        return jpaUserRepository.findViewById(userId);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({ DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class })
+    @EntityScan(basePackageClasses = UserEntity.class)
+    @EnableJpaRepositories(basePackageClasses = JpaUserRepository.class)
+    static class JpaOnlyConfig {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProjectionQueryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.gtu.users_management_service.infrastructure;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.domain.model.UserView;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProjectionQueryTest {
+
+    private static final int DRIVERS = 200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @Test
+    void shouldReadRoleViewsWithoutLoadingEntities() {
+        jpaUserRepository.saveAll(IntStream.range(0, DRIVERS)
+                .mapToObj(i -> new UserEntity(null, "Driver " + i, "driver" + i + "@gtu.com", "hash",
+                        Role.DRIVER, Status.ACTIVE, 0L))
+                .toList());
+        jpaUserRepository.save(new UserEntity(null, "Carlos", "carlos@gtu.com", "hash", Role.ADMIN, Status.ACTIVE, 0L));
+        entityManager.flush();
+        entityManager.clear();
+
+        // The entity query the roster used before: every row, hash included, becomes a managed entity.
+        List<UserEntity> entities = jpaUserRepository.findByRole(Role.DRIVER);
+        assertEquals(DRIVERS, persistenceContextSize());
+        entityManager.clear();
+
+        List<UserView> views = jpaUserRepository.findViewsByRole(Role.DRIVER);
+
+        assertEquals(0, persistenceContextSize());
+        assertEquals(entities.stream().map(UserEntity::getId).sorted().toList(),
+                views.stream().map(UserView::id).toList());
+    }
+
+    @Test
+    void shouldReadOneUserViewWithoutLoadingTheEntity() {
+        Long id = jpaUserRepository.save(
+                new UserEntity(null, "Ana", "ana@gtu.com", "hash", Role.DRIVER, Status.INACTIVE, 0L)).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        UserView view = jpaUserRepository.findViewById(id).orElseThrow();
+
+        assertEquals(new UserView(id, "Ana", "ana@gtu.com", Role.DRIVER, Status.INACTIVE, 0L), view);
+        assertEquals(0, persistenceContextSize());
+        assertTrue(jpaUserRepository.findViewById(id + 1).isEmpty());
+    }
+
+    private int persistenceContextSize() {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
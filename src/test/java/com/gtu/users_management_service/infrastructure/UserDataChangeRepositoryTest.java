@@ -0,0 +1,122 @@
+package com.gtu.users_management_service.infrastructure;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.domain.model.UserView;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+import com.gtu.users_management_service.infrastructure.entities.UserPasswordHistoryEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserDataChangeRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @Autowired
+    private JpaUserPasswordHistoryRepository jpaUserPasswordHistoryRepository;
+
+    @Test
+    void shouldUpdateStatusOfManyUsersInOneStatementAndReturnTheirViews() {
+        Long carlos = saveDriver("carlos@gtu.com");
+        Long ana = saveDriver("ana@gtu.com");
+        Long luis = saveDriver("luis@gtu.com");
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        List<UserView> updated = jpaUserRepository.updateStatusReturningViews(List.of(carlos, ana, 999L), Status.INACTIVE);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(carlos, ana), updated.stream().map(UserView::id).sorted().toList());
+        assertTrue(updated.stream().allMatch(view -> view.status() == Status.INACTIVE && view.version() == 1L));
+        assertEquals(Status.ACTIVE, jpaUserRepository.findById(luis).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldUpdateStatusOfOneUserInOneStatement() {
+        Long carlos = saveDriver("carlos@gtu.com");
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        UserEntity updated = jpaUserRepository.updateStatusReturningEntity(carlos, Status.INACTIVE).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(Status.INACTIVE, updated.getStatus());
+        assertEquals("hash", updated.getPassword());
+        assertEquals(1L, updated.getVersion());
+        assertTrue(jpaUserRepository.updateStatusReturningEntity(999L, Status.INACTIVE).isEmpty());
+    }
+
+    @Test
+    void shouldReplacePasswordInOneStatementOnlyAtTheExpectedVersion() {
+        Long carlos = saveDriver("carlos@gtu.com");
+        // Loaded first, as the password flows do, so a stale managed copy is in the context.
+        jpaUserRepository.findById(carlos).orElseThrow();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        UserEntity updated = jpaUserRepository.updatePasswordReturningEntity(carlos, 0L, "new-hash").orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals("new-hash", updated.getPassword());
+        assertEquals(1L, updated.getVersion());
+        assertTrue(jpaUserRepository.updatePasswordReturningEntity(carlos, 0L, "other-hash").isEmpty());
+        entityManager.clear();
+        assertEquals("new-hash", jpaUserRepository.findById(carlos).orElseThrow().getPassword());
+    }
+
+    @Test
+    void shouldDeleteManyUsersWithTheirHistoryAndReturnTheIdsThatExisted() {
+        Long carlos = saveDriver("carlos@gtu.com");
+        Long ana = saveDriver("ana@gtu.com");
+        jpaUserPasswordHistoryRepository.save(new UserPasswordHistoryEntity(null, carlos, "old", Instant.now()));
+        entityManager.flush();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        List<Long> deleted = jpaUserRepository.deleteReturningIds(List.of(carlos, 999L));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(List.of(carlos), deleted);
+        assertFalse(jpaUserRepository.existsById(carlos));
+        assertTrue(jpaUserRepository.existsById(ana));
+        assertTrue(jpaUserPasswordHistoryRepository.findIdsNewestFirst(carlos).isEmpty());
+    }
+
+    @Test
+    void shouldUpgradeAHashWithoutChangingTheVersion() {
+        Long carlos = saveDriver("carlos@gtu.com");
+
+        assertEquals(1, jpaUserRepository.updatePasswordIfUnchanged(carlos, "hash", "rehashed"));
+        assertEquals(0, jpaUserRepository.updatePasswordIfUnchanged(carlos, "hash", "other"));
+
+        entityManager.clear();
+        UserEntity user = jpaUserRepository.findById(carlos).orElseThrow();
+        assertEquals("rehashed", user.getPassword());
+        assertEquals(0L, user.getVersion());
+    }
+
+    private Long saveDriver(String email) {
+        Long id = jpaUserRepository.save(new UserEntity(null, "Driver", email, "hash", Role.DRIVER, Status.ACTIVE, 0L)).getId();
+        entityManager.flush();
+        entityManager.clear();
+        return id;
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -1,12 +1,26 @@
 package com.gtu.users_management_service.infrastructure;
 
+import com.gtu.users_management_service.domain.model.AccountPasswordHistory;
 import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
 import com.gtu.users_management_service.domain.model.User;
+import com.gtu.users_management_service.domain.model.UserView;
+import com.gtu.users_management_service.infrastructure.cache.EmailLookupCache;
+import com.gtu.users_management_service.infrastructure.cache.UserRoster;
 import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+import com.gtu.users_management_service.infrastructure.messaging.CacheInvalidationBus;
 import com.gtu.users_management_service.infrastructure.mappers.UserEntityMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,35 +30,30 @@ import static org.mockito.Mockito.*;
 class UserRepositoryImplTest {
 
     private JpaUserRepository jpaUserRepository;
+    private JpaUserPasswordHistoryRepository jpaUserPasswordHistoryRepository;
+    private CacheInvalidationBus invalidationBus;
     private UserRepositoryImpl userRepository;
 
     @BeforeEach
     void setUp() {
         jpaUserRepository = mock(JpaUserRepository.class);
-        userRepository = new UserRepositoryImpl(jpaUserRepository);
+        jpaUserPasswordHistoryRepository = mock(JpaUserPasswordHistoryRepository.class);
+        invalidationBus = mock(CacheInvalidationBus.class);
+        userRepository = new UserRepositoryImpl(jpaUserRepository, jpaUserPasswordHistoryRepository,
+                new EmailLookupCache<>("test", new SimpleMeterRegistry(), Duration.ofMinutes(5), 100, UserEntity::getId),
+                new UserRoster(jpaUserRepository, new SimpleMeterRegistry(), 60), invalidationBus);
     }
 
     @Test
     void shouldSaveAndReturnUser_whenUserIsValid() {
         User user = new User(); // Simula un usuario de dominio
         UserEntity entity = UserEntityMapper.toEntity(user);
-        when(jpaUserRepository.save(any())).thenReturn(entity);
+        when(jpaUserRepository.saveAndFlush(any())).thenReturn(entity);
 
         User result = userRepository.save(user);
 
         assertNotNull(result);
-        verify(jpaUserRepository).save(any());
-    }
-
-    @Test
-    void shouldReturnTrue_whenUserExistsByEmail() {
-        String email = "test@example.com";
-        when(jpaUserRepository.findByEmail(email)).thenReturn(Optional.of(new UserEntity()));
-
-        boolean exists = userRepository.existsByEmail(email);
-
-        assertTrue(exists);
-        verify(jpaUserRepository).findByEmail(email);
+        verify(jpaUserRepository).saveAndFlush(any());
     }
 
     @Test
@@ -71,11 +80,46 @@ class UserRepositoryImplTest {
 
     @Test
     void shouldDeleteUser_whenUserIdIsGiven() {
-        Long id = 1L;
+        when(jpaUserRepository.deleteReturningIds(List.of(1L))).thenReturn(List.of(1L));
+        when(jpaUserRepository.deleteReturningIds(List.of(2L))).thenReturn(List.of());
 
-        userRepository.deleteById(id);
+        assertTrue(userRepository.deleteById(1L));
+        assertFalse(userRepository.deleteById(2L));
+        verify(invalidationBus).publish(UserRepositoryImpl.CACHE_REGION, 1L);
+        verify(invalidationBus, never()).publish(UserRepositoryImpl.CACHE_REGION, 2L);
+    }
 
-        verify(jpaUserRepository).deleteById(id);
+    @Test
+    void shouldReportTakenEmailFromTheUniqueConstraint() {
+        when(jpaUserRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", null, UserEntity.EMAIL_CONSTRAINT)));
+        User user = new User(null, "Carlos", "carlos@gtu.com", "hash", Role.ADMIN, Status.ACTIVE);
+
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> userRepository.save(user));
+
+        assertEquals("Email is already in use", ex.getMessage());
+        verify(invalidationBus, never()).publish(any(), any());
+    }
+
+    @Test
+    void shouldRethrowViolationsOfOtherConstraints() {
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("not null",
+                new SQLException("NULL not allowed for column \"NAME\"", "23502"));
+        when(jpaUserRepository.saveAndFlush(any())).thenThrow(notNull);
+        User user = new User(null, null, "carlos@gtu.com", "hash", Role.ADMIN, Status.ACTIVE);
+
+        assertSame(notNull, assertThrows(DataIntegrityViolationException.class, () -> userRepository.save(user)));
+    }
+
+    @Test
+    void shouldFailWithOptimisticLockingError_whenPasswordUpdateFindsANewerVersion() {
+        UserEntity updated = new UserEntity(1L, "Ana", "ana@gtu.com", "new", Role.DRIVER, Status.ACTIVE, 4L);
+        when(jpaUserRepository.updatePasswordReturningEntity(1L, 3L, "new")).thenReturn(Optional.of(updated));
+        when(jpaUserRepository.updatePasswordReturningEntity(1L, 2L, "new")).thenReturn(Optional.empty());
+
+        assertEquals(4L, userRepository.updatePassword(1L, 3L, "new").getVersion());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> userRepository.updatePassword(1L, 2L, "new"));
+        verify(invalidationBus, times(1)).publish(UserRepositoryImpl.CACHE_REGION, 1L);
     }
 
     @Test
@@ -89,4 +133,146 @@ class UserRepositoryImplTest {
         assertEquals(2, result.size());
         verify(jpaUserRepository).findByRole(role);
     }
+
+    @Test
+    void shouldServeRoleViewsFromRosterAndApplyWritesWithoutReloading() {
+        when(jpaUserRepository.findViewsByRole(Role.DRIVER)).thenReturn(List.of(
+                new UserView(1L, "Ana", "ana@gtu.com", Role.DRIVER, Status.ACTIVE, 0L)));
+
+        assertEquals(List.of(new UserView(1L, "Ana", "ana@gtu.com", Role.DRIVER, Status.ACTIVE, 0L)),
+                userRepository.findViewsByRole(Role.DRIVER));
+
+        UserEntity inactive = new UserEntity(1L, "Ana", "ana@gtu.com", "hash", Role.DRIVER, Status.INACTIVE, 0L);
+        when(jpaUserRepository.saveAndFlush(any())).thenReturn(inactive);
+        userRepository.save(UserEntityMapper.toDomain(inactive));
+
+        assertEquals(Status.INACTIVE, userRepository.findViewsByRole(Role.DRIVER).get(0).status());
+
+        when(jpaUserRepository.updateStatusReturningEntity(1L, Status.ACTIVE)).thenReturn(Optional.of(
+                new UserEntity(1L, "Ana", "ana@gtu.com", "hash", Role.DRIVER, Status.ACTIVE, 1L)));
+        userRepository.updateStatus(1L, Status.ACTIVE);
+
+        assertEquals(1L, userRepository.findViewsByRole(Role.DRIVER).get(0).version());
+
+        when(jpaUserRepository.deleteReturningIds(List.of(1L))).thenReturn(List.of(1L));
+        userRepository.deleteById(1L);
+
+        assertTrue(userRepository.findViewsByRole(Role.DRIVER).isEmpty());
+        verify(jpaUserRepository, times(1)).findViewsByRole(Role.DRIVER);
+    }
+
+    @Test
+    void shouldApplyBulkChangesToRosterAndPublishEachId() {
+        when(jpaUserRepository.findViewsByRole(Role.DRIVER)).thenReturn(List.of(
+                new UserView(1L, "Ana", "ana@gtu.com", Role.DRIVER, Status.ACTIVE, 0L),
+                new UserView(2L, "Luis", "luis@gtu.com", Role.DRIVER, Status.ACTIVE, 0L)));
+        userRepository.findViewsByRole(Role.DRIVER);
+        when(jpaUserRepository.updateStatusReturningViews(List.of(1L, 2L), Status.INACTIVE)).thenReturn(List.of(
+                new UserView(1L, "Ana", "ana@gtu.com", Role.DRIVER, Status.INACTIVE, 1L),
+                new UserView(2L, "Luis", "luis@gtu.com", Role.DRIVER, Status.INACTIVE, 1L)));
+        when(jpaUserRepository.deleteReturningIds(List.of(1L, 3L))).thenReturn(List.of(1L));
+
+        userRepository.updateStatuses(List.of(1L, 2L), Status.INACTIVE);
+        assertEquals(List.of(1L), userRepository.deleteAllById(List.of(1L, 3L)));
+
+        assertEquals(List.of(new UserView(2L, "Luis", "luis@gtu.com", Role.DRIVER, Status.INACTIVE, 1L)),
+                userRepository.findViewsByRole(Role.DRIVER));
+        verify(invalidationBus, times(2)).publish(UserRepositoryImpl.CACHE_REGION, 1L);
+        verify(invalidationBus, times(1)).publish(UserRepositoryImpl.CACHE_REGION, 2L);
+        verify(jpaUserRepository, times(1)).findViewsByRole(Role.DRIVER);
+    }
+
+    @Test
+    void shouldHoldBackRosterUpdatesAndInvalidationsUntilTheTransactionCommits() {
+        when(jpaUserRepository.findViewsByRole(Role.DRIVER)).thenReturn(List.of(
+                new UserView(1L, "Ana", "ana@gtu.com", Role.DRIVER, Status.ACTIVE, 0L)));
+        userRepository.findViewsByRole(Role.DRIVER);
+        when(jpaUserRepository.updateStatusReturningEntity(1L, Status.INACTIVE)).thenReturn(Optional.of(
+                new UserEntity(1L, "Ana", "ana@gtu.com", "hash", Role.DRIVER, Status.INACTIVE, 1L)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userRepository.updateStatus(1L, Status.INACTIVE);
+
+            assertEquals(Status.ACTIVE, userRepository.findViewsByRole(Role.DRIVER).get(0).status());
+            verify(invalidationBus, never()).publish(any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Status.INACTIVE, userRepository.findViewsByRole(Role.DRIVER).get(0).status());
+        verify(invalidationBus).publish(UserRepositoryImpl.CACHE_REGION, 1L);
+    }
+
+    @Test
+    void shouldReportWhetherPasswordWasReplaced() {
+        when(jpaUserRepository.updatePasswordIfUnchanged(1L, "old", "new")).thenReturn(1);
+        when(jpaUserRepository.updatePasswordIfUnchanged(2L, "old", "new")).thenReturn(0);
+
+        assertTrue(userRepository.updatePasswordIfUnchanged(1L, "old", "new"));
+        assertFalse(userRepository.updatePasswordIfUnchanged(2L, "old", "new"));
+    }
+
+    @Test
+    void shouldFetchAccountAndPasswordHistoryInOneQuery() {
+        UserEntity entity = new UserEntity(1L, "Carlos", "carlos@gtu.com", "current", Role.ADMIN, Status.ACTIVE, 0L);
+        List<Object[]> rows = List.of(
+                new Object[] {entity, "newest"},
+                new Object[] {entity, "older"},
+                new Object[] {entity, "oldest"});
+        when(jpaUserRepository.findWithPasswordHistory(1L)).thenReturn(rows);
+
+        Optional<AccountPasswordHistory<User>> result = userRepository.findWithPasswordHistory(1L, 2);
+
+        assertTrue(result.isPresent());
+        assertEquals("current", result.get().account().getPassword());
+        assertEquals(List.of("newest", "older"), result.get().previousPasswords());
+        verify(jpaUserRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldReturnEmptyHistory_whenAccountHasNoPreviousPasswords() {
+        List<Object[]> rows = List.<Object[]>of(new Object[] {new UserEntity(1L, "Carlos", "carlos@gtu.com", "current", Role.ADMIN, Status.ACTIVE, 0L), null});
+        when(jpaUserRepository.findWithPasswordHistory(1L)).thenReturn(rows);
+
+        Optional<AccountPasswordHistory<User>> result = userRepository.findWithPasswordHistory(1L, 5);
+
+        assertTrue(result.isPresent());
+        assertTrue(result.get().previousPasswords().isEmpty());
+    }
+
+    @Test
+    void shouldPruneHistoryBeyondDepth() {
+        when(jpaUserPasswordHistoryRepository.findIdsNewestFirst(1L)).thenReturn(List.of(9L, 8L, 7L));
+
+        userRepository.recordPasswordHistory(1L, "previous", 2);
+
+        verify(jpaUserPasswordHistoryRepository).save(any());
+        verify(jpaUserPasswordHistoryRepository).deleteAllByIdInBatch(List.of(7L));
+    }
+
+    @Test
+    void shouldServeRepeatedEmailLookupsFromCache() {
+        when(jpaUserRepository.findByEmail("carlos@gtu.com")).thenReturn(Optional.of(new UserEntity(1L, "Carlos", "carlos@gtu.com", "hash", Role.ADMIN, Status.ACTIVE, 0L)));
+
+        userRepository.findByEmail("carlos@gtu.com");
+        userRepository.findByEmail("carlos@gtu.com");
+
+        verify(jpaUserRepository, times(1)).findByEmail("carlos@gtu.com");
+    }
+
+    @Test
+    void shouldInvalidateCachedEmailLookupOnPasswordChange() {
+        when(jpaUserRepository.findByEmail("carlos@gtu.com")).thenReturn(Optional.of(new UserEntity(1L, "Carlos", "carlos@gtu.com", "hash", Role.ADMIN, Status.ACTIVE, 0L)));
+        when(jpaUserRepository.updatePasswordIfUnchanged(1L, "hash", "rehashed")).thenReturn(1);
+
+        userRepository.findByEmail("carlos@gtu.com");
+        userRepository.updatePasswordIfUnchanged(1L, "hash", "rehashed");
+        userRepository.findByEmail("carlos@gtu.com");
+
+        verify(invalidationBus).publish(UserRepositoryImpl.CACHE_REGION, 1L);
+        verify(jpaUserRepository, times(2)).findByEmail("carlos@gtu.com");
+    }
 }
@@ -0,0 +1,81 @@
+package com.gtu.users_management_service.infrastructure;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class UserSearchQueryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaUserRepository.saveAll(List.of(
+                user("Carla", Role.DRIVER, Status.ACTIVE),
+                user("Carlos", Role.DRIVER, Status.INACTIVE),
+                user("Camila", Role.DRIVER, Status.ACTIVE),
+                user("Carmen", Role.ADMIN, Status.ACTIVE),
+                user("Car_os", Role.DRIVER, Status.ACTIVE),
+                user("Root", Role.SUPERADMIN, Status.ACTIVE)));
+    }
+
+    @Test
+    void shouldFilterByRoleStatusAndNamePrefix() {
+        assertEquals(List.of("Carla", "Car_os"),
+                names(UserSpecifications.matching(List.of(Role.DRIVER), Status.ACTIVE, "Car", null), 10));
+    }
+
+    @Test
+    void shouldTreatLikeWildcardsInThePrefixLiterally() {
+        assertEquals(List.of("Car_os"), names(UserSpecifications.matching(null, null, "Car_", null), 10));
+    }
+
+    @Test
+    void shouldSeekPastTheLastSeenId() {
+        List<UserEntity> firstPage = search(UserSpecifications.matching(List.of(Role.ADMIN, Role.DRIVER), null, null, null), 2);
+        Long afterId = firstPage.get(1).getId();
+
+        List<UserEntity> secondPage = search(UserSpecifications.matching(List.of(Role.ADMIN, Role.DRIVER), null, null, afterId), 2);
+
+        assertEquals(2, secondPage.size());
+        assertTrue(secondPage.stream().allMatch(user -> user.getId() > afterId));
+        assertEquals(List.of("Camila", "Carmen"), secondPage.stream().map(UserEntity::getName).toList());
+    }
+
+    @Test
+    void roleAndStatusFilterShouldUseTheCompositeIndex() {
+        String plan = String.valueOf(entityManager.createNativeQuery(
+                "EXPLAIN SELECT id FROM users WHERE role = 'DRIVER' AND status = 'ACTIVE' AND id > 10 ORDER BY id")
+                .getSingleResult());
+
+        assertTrue(plan.toUpperCase().contains("IDX_USERS_ROLE_STATUS_ID"), plan);
+    }
+
+    private List<String> names(Specification<UserEntity> specification, int limit) {
+        return search(specification, limit).stream().map(UserEntity::getName).toList();
+    }
+
+    private List<UserEntity> search(Specification<UserEntity> specification, int limit) {
+        return jpaUserRepository.findBy(specification, query -> query.sortBy(Sort.by("id")).limit(limit).all());
+    }
+
+    private static UserEntity user(String name, Role role, Status status) {
+        return new UserEntity(null, name, name.toLowerCase() + "@gtu.com", "hash", role, status, 0L);
+    }
+}
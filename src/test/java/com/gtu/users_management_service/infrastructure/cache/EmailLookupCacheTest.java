@@ -0,0 +1,82 @@
+package com.gtu.users_management_service.infrastructure.cache;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailLookupCacheTest {
+
+    private final Map<String, UserEntity> table = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private EmailLookupCache<UserEntity> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new EmailLookupCache<>("users.by-email", meterRegistry, Duration.ofMinutes(5), 100, UserEntity::getId);
+        table.put("carlos@gtu.com", new UserEntity(1L, "Carlos", "carlos@gtu.com", "hash", Role.ADMIN, Status.ACTIVE, 0L));
+    }
+
+    @Test
+    void shouldLoadOnceAndRecordHitsAndMisses() {
+        assertTrue(lookup("carlos@gtu.com").isPresent());
+        assertTrue(lookup("carlos@gtu.com").isPresent());
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.by-email").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.by-email").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void shouldNotCacheMisses() {
+        assertTrue(lookup("new@gtu.com").isEmpty());
+        table.put("new@gtu.com", new UserEntity(2L, "New", "new@gtu.com", "hash", Role.ADMIN, Status.ACTIVE, 0L));
+
+        assertTrue(lookup("new@gtu.com").isPresent());
+    }
+
+    @Test
+    void shouldInvalidateByIdAfterEmailChange() {
+        lookup("carlos@gtu.com");
+        table.remove("carlos@gtu.com");
+
+        cache.invalidateId(1L);
+
+        assertTrue(lookup("carlos@gtu.com").isEmpty());
+    }
+
+    @Test
+    void shouldEvictBeyondMaximumSize() {
+        EmailLookupCache<UserEntity> tinyCache = new EmailLookupCache<>("tiny", meterRegistry, Duration.ofMinutes(5), 1,
+                UserEntity::getId);
+        for (long id = 0; id < 50; id++) {
+            UserEntity entity = new UserEntity(id, "User", id + "@gtu.com", "hash", Role.ADMIN, Status.ACTIVE, 0L);
+            tinyCache.get(entity.getEmail(), email -> Optional.of(entity));
+        }
+
+        tinyCache.cleanUp();
+
+        assertTrue(tinyCache.size() <= 1);
+    }
+
+    private Optional<UserEntity> lookup(String email) {
+        return cache.get(email, key -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(table.get(key));
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.gtu.users_management_service.infrastructure.cache;
+
+import com.gtu.users_management_service.infrastructure.JpaPassengerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PassengerCounterTest {
+
+    private JpaPassengerRepository jpaPassengerRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private PassengerCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        jpaPassengerRepository = mock(JpaPassengerRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        counter = new PassengerCounter(jpaPassengerRepository, meterRegistry);
+    }
+
+    @Test
+    void shouldLoadExactCountOnFirstUseOnly() {
+        when(jpaPassengerRepository.count()).thenReturn(10L);
+
+        assertEquals(10L, counter.get());
+        assertEquals(10L, counter.get());
+        verify(jpaPassengerRepository, times(1)).count();
+    }
+
+    @Test
+    void shouldIgnoreWritesUntilLoaded() {
+        counter.increment();
+        when(jpaPassengerRepository.count()).thenReturn(4L);
+
+        assertEquals(4L, counter.get());
+    }
+
+    @Test
+    void shouldTrackWritesAfterLoading() {
+        when(jpaPassengerRepository.count()).thenReturn(0L);
+        counter.get();
+
+        counter.increment();
+        counter.add(3);
+
+        assertEquals(4L, counter.get());
+    }
+
+    @Test
+    void shouldReplaceRunningValueAndReportDriftOnReconcile() {
+        when(jpaPassengerRepository.count()).thenReturn(10L, 13L);
+        counter.get();
+        counter.increment();
+
+        counter.reconcile();
+
+        assertEquals(13L, counter.get());
+        assertEquals(2.0, meterRegistry.get("passenger.count.drift").gauge().value());
+        assertEquals(13.0, meterRegistry.get("passenger.count").gauge().value());
+        assertEquals(2, meterRegistry.get("passenger.count.reconcile").timer().count());
+    }
+}
@@ -0,0 +1,129 @@
+package com.gtu.users_management_service.infrastructure.cache;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.domain.model.UserView;
+import com.gtu.users_management_service.infrastructure.JpaUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserRosterTest {
+
+    private JpaUserRepository jpaUserRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UserRoster roster;
+
+    @BeforeEach
+    void setUp() {
+        jpaUserRepository = mock(JpaUserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        roster = new UserRoster(jpaUserRepository, meterRegistry, 60);
+    }
+
+    @Test
+    void shouldLoadEachRoleOnceAndServeViewsWithoutPasswords() {
+        when(jpaUserRepository.findViewsByRole(Role.DRIVER)).thenReturn(List.of(
+                view(1L, Role.DRIVER), view(2L, Role.DRIVER)));
+
+        List<UserView> first = roster.get(Role.DRIVER);
+        List<UserView> second = roster.get(Role.DRIVER);
+
+        assertEquals(List.of(1L, 2L), first.stream().map(UserView::id).toList());
+        assertSame(first, second);
+        verify(jpaUserRepository, times(1)).findViewsByRole(Role.DRIVER);
+        assertEquals(1, meterRegistry.get("user.roster.rebuild").tag("role", "DRIVER").timer().count());
+        assertEquals(2.0, meterRegistry.get("user.roster.size").tag("role", "DRIVER").gauge().value());
+    }
+
+    @Test
+    void shouldCopyOnWriteSoEarlierReadersKeepTheirSnapshot() {
+        when(jpaUserRepository.findViewsByRole(Role.DRIVER)).thenReturn(List.of(view(1L, Role.DRIVER)));
+        List<UserView> before = roster.get(Role.DRIVER);
+
+        roster.upsert(view(3L, Role.DRIVER));
+
+        assertEquals(1, before.size());
+        assertEquals(List.of(1L, 3L), roster.get(Role.DRIVER).stream().map(UserView::id).toList());
+    }
+
+    @Test
+    void shouldMoveUserBetweenRolesOnRoleChange() {
+        when(jpaUserRepository.findViewsByRole(Role.DRIVER)).thenReturn(List.of(view(1L, Role.DRIVER)));
+        when(jpaUserRepository.findViewsByRole(Role.ADMIN)).thenReturn(List.of());
+        roster.get(Role.DRIVER);
+        roster.get(Role.ADMIN);
+
+        roster.upsert(view(1L, Role.ADMIN));
+
+        assertTrue(roster.get(Role.DRIVER).isEmpty());
+        assertEquals(List.of(view(1L, Role.ADMIN)), roster.get(Role.ADMIN));
+    }
+
+    @Test
+    void shouldDropRemovedUsers() {
+        when(jpaUserRepository.findViewsByRole(Role.DRIVER)).thenReturn(List.of(view(1L, Role.DRIVER), view(2L, Role.DRIVER)));
+        roster.get(Role.DRIVER);
+
+        roster.remove(1L);
+
+        assertEquals(List.of(2L), roster.get(Role.DRIVER).stream().map(UserView::id).toList());
+    }
+
+    @Test
+    void shouldReloadOnceTheStalenessBoundIsExceeded() {
+        roster = new UserRoster(jpaUserRepository, meterRegistry, 0);
+        when(jpaUserRepository.findViewsByRole(Role.ADMIN)).thenReturn(List.of());
+
+        roster.get(Role.ADMIN);
+        roster.get(Role.ADMIN);
+
+        verify(jpaUserRepository, times(2)).findViewsByRole(Role.ADMIN);
+    }
+
+    @Test
+    void shouldReloadAfterInvalidateAll() {
+        when(jpaUserRepository.findViewsByRole(Role.ADMIN)).thenReturn(List.of());
+        roster.get(Role.ADMIN);
+
+        roster.invalidateAll();
+        roster.get(Role.ADMIN);
+
+        verify(jpaUserRepository, times(2)).findViewsByRole(Role.ADMIN);
+    }
+
+    @Test
+    void shouldReloadWhenAWriteLandsDuringTheLoad() {
+        when(jpaUserRepository.findViewsByRole(Role.DRIVER))
+                .thenAnswer(invocation -> {
+                    roster.upsert(view(5L, Role.DRIVER));
+                    return List.of();
+                })
+                .thenReturn(List.of(view(5L, Role.DRIVER)));
+
+        assertEquals(List.of(5L), roster.get(Role.DRIVER).stream().map(UserView::id).toList());
+        verify(jpaUserRepository, times(2)).findViewsByRole(Role.DRIVER);
+    }
+
+    @Test
+    void shouldDeriveTheSameTagFromTheSameRowsAndChangeItOnWrites() {
+        when(jpaUserRepository.findViewsByRole(Role.DRIVER)).thenReturn(List.of(view(1L, Role.DRIVER)));
+        UserRoster other = new UserRoster(jpaUserRepository, new SimpleMeterRegistry(), 60);
+        String tag = roster.version(Role.DRIVER);
+
+        assertEquals(tag, other.version(Role.DRIVER));
+
+        roster.upsert(new UserView(1L, "User 1", "user1@gtu.com", Role.DRIVER, Status.INACTIVE, 1L));
+
+        assertNotEquals(tag, roster.version(Role.DRIVER));
+    }
+
+    private static UserView view(Long id, Role role) {
+        return new UserView(id, "User " + id, "user" + id + "@gtu.com", role, Status.ACTIVE, 0L);
+    }
+}
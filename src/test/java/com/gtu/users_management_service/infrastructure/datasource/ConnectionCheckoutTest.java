@@ -0,0 +1,115 @@
+package com.gtu.users_management_service.infrastructure.datasource;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.infrastructure.JpaUserRepository;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ConnectionMetricsPostProcessor.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConnectionCheckoutTest {
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jpaUserRepository.save(
+                new UserEntity(null, "Driver", "driver@gtu.com", "hash", Role.DRIVER, Status.ACTIVE, 0L)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jpaUserRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldCheckOutOneConnectionForAReadOnlyTransactionInsteadOfOnePerQuery() {
+        long before = checkouts();
+        lookUpThreeTimes();
+        assertEquals(3, checkouts() - before);
+
+        before = checkouts();
+        readOnly().executeWithoutResult(status -> lookUpThreeTimes());
+        assertEquals(1, checkouts() - before);
+        assertTrue(meterRegistry.get("datasource.connection.held").timer().totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void shouldNotCheckOutAConnectionForATransactionThatRunsNoStatement() {
+        long before = checkouts();
+
+        readOnly().executeWithoutResult(status -> { });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> { });
+
+        assertEquals(0, checkouts() - before);
+    }
+
+    @Test
+    void shouldNeitherSnapshotNorFlushEntitiesReadInAReadOnlyTransaction() {
+        readOnly().executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            UserEntity user = jpaUserRepository.findById(userId).orElseThrow();
+            assertEquals(FlushMode.MANUAL, session.getHibernateFlushMode());
+            assertTrue(session.isReadOnly(user));
+        });
+    }
+
+    private void lookUpThreeTimes() {
+        assertTrue(jpaUserRepository.findViewById(userId).isPresent());
+        assertEquals(0L, jpaUserRepository.findVersionById(userId).orElseThrow());
+        assertEquals(1, jpaUserRepository.findViewsByRole(Role.DRIVER).size());
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
+    }
+
+    private long checkouts() {
+        return meterRegistry.get("datasource.connection.held").timer().count();
+    }
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
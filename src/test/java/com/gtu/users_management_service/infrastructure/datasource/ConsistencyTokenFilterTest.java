@@ -0,0 +1,82 @@
+package com.gtu.users_management_service.infrastructure.datasource;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistencyTokenFilterTest {
+
+    private final ConsistencyTokenFilter filter = new ConsistencyTokenFilter(5000);
+
+    @Test
+    void shouldLetRequestsWithoutATokenReadFromReplicas() throws Exception {
+        List<Boolean> allowed = new ArrayList<>();
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), recording(allowed));
+
+        assertEquals(List.of(true), allowed);
+        assertFalse(ReadConsistency.replicaReadsAllowed());
+    }
+
+    @Test
+    void shouldKeepRequestsWithAFreshTokenOnThePrimary() throws Exception {
+        List<Boolean> allowed = new ArrayList<>();
+
+        filter.doFilter(withToken(Long.toString(System.currentTimeMillis() - 1000)), new MockHttpServletResponse(),
+                recording(allowed));
+
+        assertEquals(List.of(false), allowed);
+    }
+
+    @Test
+    void shouldIgnoreExpiredOrMalformedTokens() throws Exception {
+        List<Boolean> allowed = new ArrayList<>();
+
+        filter.doFilter(withToken(Long.toString(System.currentTimeMillis() - 60_000)), new MockHttpServletResponse(),
+                recording(allowed));
+        filter.doFilter(withToken("not-a-token"), new MockHttpServletResponse(), recording(allowed));
+
+        assertEquals(List.of(true, true), allowed);
+    }
+
+    @Test
+    void shouldIssueATokenWhenTheRequestWrites() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<Boolean> allowed = new ArrayList<>();
+        long before = System.currentTimeMillis();
+
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> {
+            ReadConsistency.recordWrite();
+            allowed.add(ReadConsistency.replicaReadsAllowed());
+        });
+
+        assertEquals(List.of(false), allowed);
+        long token = Long.parseLong(response.getHeader(ConsistencyTokenFilter.HEADER));
+        assertTrue(token >= before && token <= System.currentTimeMillis());
+    }
+
+    @Test
+    void shouldNotIssueATokenForReadOnlyRequests() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(), response, recording(new ArrayList<>()));
+
+        assertNull(response.getHeader(ConsistencyTokenFilter.HEADER));
+    }
+
+    private static MockHttpServletRequest withToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ConsistencyTokenFilter.HEADER, token);
+        return request;
+    }
+
+    private static FilterChain recording(List<Boolean> allowed) {
+        return (request, response) -> allowed.add(ReadConsistency.replicaReadsAllowed());
+    }
+}
@@ -0,0 +1,193 @@
+package com.gtu.users_management_service.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger writes = new AtomicInteger();
+    private ReadConsistency.Scope previous;
+
+    @BeforeEach
+    void openRequestScope() {
+        previous = ReadConsistency.open(true, writes::incrementAndGet);
+    }
+
+    @AfterEach
+    void closeRequestScope() {
+        ReadConsistency.restore(previous);
+    }
+
+    @Test
+    void shouldSpreadReadOnlyTransactionsAcrossReplicasInTurn() {
+        DataSource dataSource = split("replica_0", "replica_1");
+
+        List<String> origins = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            origins.add(read(dataSource));
+        }
+
+        assertEquals(List.of("replica_0", "replica_1", "replica_0", "replica_1"), origins);
+        assertEquals(0, writes.get());
+    }
+
+    @Test
+    void shouldReadFromThePrimaryOnceTheRequestHasWritten() {
+        DataSource dataSource = split("replica_0");
+
+        assertEquals("replica_0", read(dataSource));
+        assertEquals("primary", write(dataSource));
+        assertEquals("primary", read(dataSource));
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void shouldReadFromThePrimaryOutsideARequestOrWhenAskedTo() {
+        DataSource dataSource = split("replica_0");
+
+        assertEquals("primary", ReadConsistency.onPrimary(() -> read(dataSource)));
+        assertEquals("replica_0", read(dataSource));
+        ReadConsistency.restore(null);
+        assertEquals("primary", read(dataSource));
+    }
+
+    @Test
+    void shouldKeepTheRequestRoutingOnThreadsItHandsWorkTo() throws InterruptedException {
+        DataSource dataSource = split("replica_0");
+        AtomicReference<String> propagated = new AtomicReference<>();
+        AtomicReference<String> plain = new AtomicReference<>();
+
+        runOnAnotherThread(ReadConsistency.propagate(() -> propagated.set(read(dataSource))));
+        runOnAnotherThread(() -> plain.set(read(dataSource)));
+
+        assertEquals("replica_0", propagated.get());
+        assertEquals("primary", plain.get());
+    }
+
+    @Test
+    void shouldSkipUnreachableReplicasAndFallBackToThePrimary() {
+        JdbcDataSource unreachable = new JdbcDataSource();
+        unreachable.setURL("jdbc:h2:mem:missing_replica;IFEXISTS=TRUE");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", unreachable);
+        replicas.put("replica-1", database("replica_1"));
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(database("primary"), replicas, meterRegistry);
+        DataSource dataSource = ReplicaDataSourceConfig.readWriteSplit(router.getPrimary(), router);
+
+        assertEquals("replica_1", read(dataSource));
+        assertEquals("replica_1", read(dataSource));
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").tag("replica", "replica-0").gauge().value());
+
+        ReplicaRoutingDataSource allDown = new ReplicaRoutingDataSource(router.getPrimary(),
+                Map.of("replica-0", unreachable), new SimpleMeterRegistry());
+        assertEquals("primary", read(ReplicaDataSourceConfig.readWriteSplit(router.getPrimary(), allDown)));
+    }
+
+    @Test
+    void shouldTakeReplicasOutOfRotationWhenTheyFailAHealthCheck() {
+        JdbcDataSource flaky = new JdbcDataSource();
+        flaky.setURL("jdbc:h2:mem:flaky_replica;IFEXISTS=TRUE");
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(database("primary"),
+                Map.of("replica-0", flaky), meterRegistry);
+        DataSource dataSource = ReplicaDataSourceConfig.readWriteSplit(router.getPrimary(), router);
+
+        router.checkHealth();
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").gauge().value());
+
+        database("flaky_replica");
+        router.checkHealth();
+        assertEquals(1.0, meterRegistry.get("datasource.replica.healthy").gauge().value());
+        assertEquals("flaky_replica", read(dataSource));
+    }
+
+    @Test
+    void shouldConfigureThePrimaryPoolFromTheHikariProperties() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+                .withUserConfiguration(ReplicaDataSourceConfig.class)
+                .withBean(DataSourceProperties.class, DataSourceProperties::new)
+                .withBean(MeterRegistry.class, () -> meterRegistry)
+                .withPropertyValues(
+                        "spring.datasource.url=jdbc:h2:mem:pooled_primary",
+                        "spring.datasource.hikari.maximum-pool-size=3",
+                        "spring.datasource.hikari.connection-timeout=2500",
+                        "datasource.replicas.urls=jdbc:h2:mem:pooled_replica")
+                .run(context -> {
+                    HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+                    assertEquals("primary", primary.getPoolName());
+                    assertEquals(3, primary.getMaximumPoolSize());
+                    assertEquals(2500, primary.getConnectionTimeout());
+                    assertSame(primary, context.getBean(ReplicaRoutingDataSource.class).getPrimary());
+                });
+    }
+
+    private DataSource split(String... replicaNames) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaNames.length; i++) {
+            replicas.put("replica-" + i, database(replicaNames[i]));
+        }
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(database("primary"), replicas, meterRegistry);
+        return ReplicaDataSourceConfig.readWriteSplit(router.getPrimary(), router);
+    }
+
+    private static String read(DataSource dataSource) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> origin(dataSource));
+    }
+
+    private static void runOnAnotherThread(Runnable task) throws InterruptedException {
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+    }
+
+    private static String write(DataSource dataSource) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        return transaction.execute(status -> {
+            new JdbcTemplate(dataSource).update("UPDATE origin SET writes = writes + 1");
+            return origin(dataSource);
+        });
+    }
+
+    private static String origin(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT name FROM origin", String.class);
+    }
+
+    /**
+     * An embedded database that answers with its own name, so a test can tell
+     * which one served a query.
+     */
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS origin (name VARCHAR(32), writes INT)");
+        jdbcTemplate.update("DELETE FROM origin");
+        jdbcTemplate.update("INSERT INTO origin VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
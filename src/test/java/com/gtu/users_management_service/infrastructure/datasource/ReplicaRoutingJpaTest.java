@@ -0,0 +1,115 @@
+package com.gtu.users_management_service.infrastructure.datasource;
+
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.domain.model.UserView;
+import com.gtu.users_management_service.infrastructure.JpaUserRepository;
+import com.gtu.users_management_service.infrastructure.entities.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the JPA repositories against two embedded databases: the primary,
+ * whose schema Hibernate creates, and a replica holding a copy of that schema
+ * but different rows, so every result shows which database served it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingJpaTest {
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    private JdbcTemplate replica;
+    private Long primaryDriver;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate primary = new JdbcTemplate(replicaRoutingDataSource.getPrimary());
+        replica = new JdbcTemplate(TwoDatabases.REPLICA);
+        replica.execute("DROP ALL OBJECTS");
+        primary.queryForList("SCRIPT NODATA", String.class).forEach(replica::execute);
+        replica.update("INSERT INTO users (id, name, email, password, role, status, version) "
+                + "VALUES (1000, 'Replica', 'replica@gtu.com', 'hash', 'DRIVER', 'ACTIVE', 0)");
+        primaryDriver = jpaUserRepository.save(
+                new UserEntity(null, "Primary", "primary@gtu.com", "hash", Role.DRIVER, Status.ACTIVE, 0L)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jpaUserRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldServeReadOnlyQueriesFromTheReplicaUntilTheRequestWrites() {
+        ReadConsistency.Scope previous = ReadConsistency.open(true, () -> { });
+        try {
+            assertEquals(List.of("replica@gtu.com"), emails(jpaUserRepository.findViewsByRole(Role.DRIVER)));
+            assertTrue(jpaUserRepository.findViewById(primaryDriver).isEmpty());
+
+            jpaUserRepository.updateStatusReturningEntity(primaryDriver, Status.INACTIVE).orElseThrow();
+
+            assertEquals(List.of("primary@gtu.com"), emails(jpaUserRepository.findViewsByRole(Role.DRIVER)));
+            assertEquals(Status.INACTIVE, jpaUserRepository.findViewById(primaryDriver).orElseThrow().status());
+        } finally {
+            ReadConsistency.restore(previous);
+        }
+    }
+
+    @Test
+    void shouldServeEverythingFromThePrimaryOutsideARequest() {
+        assertEquals(List.of("primary@gtu.com"), emails(jpaUserRepository.findViewsByRole(Role.DRIVER)));
+        assertEquals(1, jpaUserRepository.count());
+    }
+
+    private static List<String> emails(List<UserView> views) {
+        return views.stream().map(UserView::email).toList();
+    }
+
+    @TestConfiguration
+    static class TwoDatabases {
+
+        static final DataSource REPLICA = database("jpa_replica");
+
+        @Bean
+        ReplicaRoutingDataSource replicaRoutingDataSource() {
+            return new ReplicaRoutingDataSource(database("jpa_primary"), Map.of("replica-0", REPLICA),
+                    new SimpleMeterRegistry());
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+            return ReplicaDataSourceConfig.readWriteSplit(replicaRoutingDataSource.getPrimary(),
+                    replicaRoutingDataSource);
+        }
+
+        private static DataSource database(String name) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+            return dataSource;
+        }
+    }
+}
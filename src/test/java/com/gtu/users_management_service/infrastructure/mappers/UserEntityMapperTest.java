@@ -27,7 +27,7 @@ class UserEntityMapperTest {
 
     @Test
     void shouldMapEntityToUserCorrectly() {
-        UserEntity entity = new UserEntity(1L, "Entity User", "entity@example.com", "hashed", Role.SUPERADMIN, Status.INACTIVE);
+        UserEntity entity = new UserEntity(1L, "Entity User", "entity@example.com", "hashed", Role.SUPERADMIN, Status.INACTIVE, 0L);
 
         User user = UserEntityMapper.toDomain(entity);
 
@@ -0,0 +1,137 @@
+package com.gtu.users_management_service.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gtu.users_management_service.infrastructure.messaging.event.CacheInvalidationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidationBusTest {
+
+    private AmqpTemplate amqpTemplate;
+    private TaskScheduler taskScheduler;
+    private CacheInvalidationBus bus;
+    private final List<Long> invalidated = new ArrayList<>();
+    private final AtomicInteger resets = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        amqpTemplate = mock(AmqpTemplate.class);
+        taskScheduler = mock(TaskScheduler.class);
+        bus = new CacheInvalidationBus(amqpTemplate, new ObjectMapper(), taskScheduler, "cache.invalidation.exchange", 3);
+        bus.register("users", invalidated::add, resets::incrementAndGet);
+    }
+
+    @Test
+    void shouldBatchPendingInvalidationsIntoOneMessage() throws Exception {
+        bus.publish("users", 1L);
+        bus.publish("users", 1L);
+        bus.publish("passengers", 2L);
+
+        bus.flush();
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(amqpTemplate).convertAndSend(eq("cache.invalidation.exchange"), eq(""), message.capture());
+        CacheInvalidationEvent event = new ObjectMapper().readValue(message.getValue(), CacheInvalidationEvent.class);
+        assertEquals(bus.getOrigin(), event.getOrigin());
+        assertEquals(1L, event.getSequence());
+        assertEquals(Map.of("users", List.of(1L), "passengers", List.of(2L)), event.getIds());
+    }
+
+    @Test
+    void shouldFlushEarlyOnTheSchedulerWhenBatchIsFull() {
+        bus.publish("users", 1L);
+        bus.publish("users", 2L);
+        verifyNoInteractions(taskScheduler);
+
+        bus.publish("users", 3L);
+        bus.publish("users", 4L);
+
+        verifyNoInteractions(amqpTemplate);
+        runScheduledFlush();
+        verify(amqpTemplate).convertAndSend(eq("cache.invalidation.exchange"), eq(""), anyString());
+    }
+
+    @Test
+    void shouldNotPublishWhenNothingIsPending() {
+        bus.flush();
+
+        verifyNoInteractions(amqpTemplate);
+    }
+
+    @Test
+    void shouldApplyRemoteInvalidationsAndIgnoreOwnMessages() {
+        bus.apply(new CacheInvalidationEvent("replica-b", 1, Map.of("users", List.of(7L), "other", List.of(8L))));
+        bus.apply(new CacheInvalidationEvent(bus.getOrigin(), 1, Map.of("users", List.of(9L))));
+
+        assertEquals(List.of(7L), invalidated);
+    }
+
+    @Test
+    void shouldDropRedeliveredBatches() {
+        bus.apply(new CacheInvalidationEvent("replica-b", 1, Map.of("users", List.of(7L))));
+        bus.apply(new CacheInvalidationEvent("replica-b", 2, Map.of("users", List.of(8L))));
+        bus.apply(new CacheInvalidationEvent("replica-b", 1, Map.of("users", List.of(7L))));
+
+        assertEquals(List.of(7L, 8L), invalidated);
+        assertEquals(0, resets.get());
+    }
+
+    @Test
+    void shouldResetRegionsWhenBatchesWereMissed() {
+        bus.apply(new CacheInvalidationEvent("replica-b", 1, Map.of("users", List.of(7L))));
+        bus.apply(new CacheInvalidationEvent("replica-b", 4, Map.of("users", List.of(8L))));
+
+        assertEquals(List.of(7L), invalidated);
+        assertEquals(1, resets.get());
+    }
+
+    @Test
+    void shouldIgnoreMalformedMessages() {
+        assertDoesNotThrow(() -> bus.onMessage("not json"));
+        assertTrue(invalidated.isEmpty());
+    }
+
+    @Test
+    void shouldSendResetsWithoutWaitingForTheBatchWindow() throws Exception {
+        bus.publish("users", 1L);
+
+        bus.publishReset("users");
+
+        verifyNoInteractions(amqpTemplate);
+        runScheduledFlush();
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(amqpTemplate).convertAndSend(eq("cache.invalidation.exchange"), eq(""), message.capture());
+        CacheInvalidationEvent event = new ObjectMapper().readValue(message.getValue(), CacheInvalidationEvent.class);
+        assertEquals(List.of("users"), event.getResets());
+        assertEquals(Map.of("users", List.of(1L)), event.getIds());
+    }
+
+    @Test
+    void shouldResetRemoteRegionInsteadOfApplyingItsIds() {
+        bus.apply(new CacheInvalidationEvent("replica-b", 1, Map.of("users", List.of(7L)), List.of("users")));
+
+        assertTrue(invalidated.isEmpty());
+        assertEquals(1, resets.get());
+    }
+
+    private void runScheduledFlush() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+        task.getValue().run();
+    }
+}
@@ -0,0 +1,45 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptCostCalibratorTest {
+
+    @Test
+    void shouldPickMaxCostWhenEverythingFitsTheBudget() {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(60_000, 4, 6);
+
+        assertEquals(6, calibrator.calibrate());
+    }
+
+    @Test
+    void shouldStopAtFirstCostOverBudget() {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(100, 4, 12) {
+            @Override
+            long measureMillis(int cost) {
+                return cost <= 8 ? 50 : 200;
+            }
+        };
+
+        assertEquals(8, calibrator.calibrate());
+    }
+
+    @Test
+    void shouldFallBackToMinCostWhenNothingFits() {
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(0, 4, 6) {
+            @Override
+            long measureMillis(int cost) {
+                return 10;
+            }
+        };
+
+        assertEquals(4, calibrator.calibrate());
+    }
+
+    @Test
+    void shouldRejectInvalidCostRange() {
+        assertThrows(IllegalArgumentException.class, () -> new BCryptCostCalibrator(100, 12, 10));
+        assertThrows(IllegalArgumentException.class, () -> new BCryptCostCalibrator(100, 3, 10));
+    }
+}
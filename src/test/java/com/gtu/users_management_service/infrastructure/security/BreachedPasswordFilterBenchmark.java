@@ -0,0 +1,85 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Lookup latency of a {@link BreachedPasswordFilter} built for a 1% false
+ * positive rate, for a password in the list and one that is not. Not part of
+ * the test run; start {@link #main(String[])} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BreachedPasswordFilterBenchmark {
+
+    @Param({ "100000", "10000000" })
+    private int entries;
+
+    private Path directory;
+    private BreachedPasswordFilter filter;
+    private String breached = "Breached42";
+    private String unseen = "Secur3Passw0rd";
+
+    @Setup
+    public void buildFilter() throws IOException {
+        directory = Files.createTempDirectory("breached-filter-benchmark");
+        Path hashes = directory.resolve("hashes.txt");
+        HexFormat hex = HexFormat.of().withUpperCase();
+        try (BufferedWriter writer = Files.newBufferedWriter(hashes)) {
+            for (int i = 0; i < entries; i++) {
+                writer.write(hex.formatHex(BreachedPasswordFilter.sha1("Breached" + i)));
+                writer.newLine();
+            }
+        }
+        Path filterFile = directory.resolve("breached.bloom");
+        BreachedPasswordFilterBuilder.build(hashes, filterFile, entries, 0.01);
+        filter = BreachedPasswordFilter.open(filterFile);
+    }
+
+    @TearDown
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(directory.resolve("hashes.txt"));
+        Files.deleteIfExists(directory.resolve("breached.bloom"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public boolean breachedPassword() {
+        return filter.mightContain(breached);
+    }
+
+    @Benchmark
+    public boolean unseenPassword() {
+        return filter.mightContain(unseen);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BreachedPasswordFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BreachedPasswordFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldContainEveryInsertedHash() throws IOException {
+        Path filterFile = build(IntStream.range(0, 1_000).mapToObj(i -> "Breached" + i).toList(), 0.01);
+
+        BreachedPasswordFilter filter = BreachedPasswordFilter.open(filterFile);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("Breached" + i));
+        }
+    }
+
+    @Test
+    void shouldStayCloseToTheConfiguredFalsePositiveRate() throws IOException {
+        Path filterFile = build(IntStream.range(0, 20_000).mapToObj(i -> "Breached" + i).toList(), 0.01);
+        BreachedPasswordFilter filter = BreachedPasswordFilter.open(filterFile);
+
+        long falsePositives = IntStream.range(0, 20_000)
+                .filter(i -> filter.mightContain("Unseen" + i))
+                .count();
+
+        assertTrue(falsePositives < 20_000 * 0.02, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void shouldSkipLinesThatAreNotSha1Hashes() throws IOException {
+        Path hashes = tempDir.resolve("hashes.txt");
+        Files.write(hashes, List.of("not-a-hash", "", sha1Line("Password1") + ":42",
+                "ZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZZ"));
+
+        long inserted = BreachedPasswordFilterBuilder.build(hashes, tempDir.resolve("breached.bloom"), 4, 0.01);
+
+        assertEquals(1, inserted);
+    }
+
+    @Test
+    void shouldRejectFilesThatAreNotFilters() throws IOException {
+        Path bogus = Files.write(tempDir.resolve("bogus.bloom"), new byte[64]);
+
+        assertThrows(IOException.class, () -> BreachedPasswordFilter.open(bogus));
+    }
+
+    private Path build(List<String> passwords, double falsePositiveRate) throws IOException {
+        Path hashes = tempDir.resolve("hashes.txt");
+        Files.write(hashes, passwords.stream().map(BreachedPasswordFilterTest::sha1Line).toList());
+        Path filterFile = tempDir.resolve("breached.bloom");
+        BreachedPasswordFilterBuilder.build(hashes, filterFile, passwords.size(), falsePositiveRate);
+        return filterFile;
+    }
+
+    private static String sha1Line(String password) {
+        return HexFormat.of().withUpperCase().formatHex(BreachedPasswordFilter.sha1(password));
+    }
+}
@@ -0,0 +1,107 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import com.gtu.users_management_service.domain.exception.TooManyRequestsException;
+import com.gtu.users_management_service.domain.model.AccountType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordAttemptThrottlerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordAttemptThrottler throttler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttler = new PasswordAttemptThrottler(meterRegistry, 3, 60, 4, 8, 1000) {
+            @Override
+            long currentTimeMillis() {
+                return clock.get();
+            }
+        };
+    }
+
+    @Test
+    void shouldRejectOnceAttemptsAreExhausted() {
+        for (int i = 0; i < 3; i++) {
+            throttler.checkAttempt(AccountType.USER, 1L, "carlos.perez@gtu.com");
+        }
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> throttler.checkAttempt(AccountType.USER, 1L, "carlos.perez@gtu.com"));
+
+        assertEquals(20, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.throttle.hashes.avoided").counter().count());
+    }
+
+    @Test
+    void shouldThrottleByEmailAcrossIdsAndIgnoreCase() {
+        for (int i = 0; i < 3; i++) {
+            throttler.checkAttempt(AccountType.PASSENGER, null, "Juan@gtu.com");
+        }
+
+        assertThrows(TooManyRequestsException.class,
+                () -> throttler.checkAttempt(AccountType.PASSENGER, 7L, "juan@gtu.com"));
+        assertDoesNotThrow(() -> throttler.checkAttempt(AccountType.USER, 7L, "juan@gtu.com"));
+    }
+
+    @Test
+    void shouldNotChargeTheAccountForAttemptsRejectedByEmail() {
+        for (int i = 0; i < 3; i++) {
+            throttler.checkAttempt(AccountType.USER, null, "carlos.perez@gtu.com");
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(TooManyRequestsException.class,
+                    () -> throttler.checkAttempt(AccountType.USER, 1L, "carlos.perez@gtu.com"));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertDoesNotThrow(() -> throttler.checkAttempt(AccountType.USER, 1L, null));
+        }
+    }
+
+    @Test
+    void shouldRefillOneAttemptPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            throttler.checkAttempt(AccountType.USER, 1L, null);
+        }
+
+        clock.addAndGet(20_000);
+
+        assertDoesNotThrow(() -> throttler.checkAttempt(AccountType.USER, 1L, null));
+        assertThrows(TooManyRequestsException.class, () -> throttler.checkAttempt(AccountType.USER, 1L, null));
+    }
+
+    @Test
+    void shouldRefillAfterSuccess() {
+        for (int i = 0; i < 3; i++) {
+            throttler.checkAttempt(AccountType.USER, 1L, "carlos.perez@gtu.com");
+        }
+
+        throttler.recordSuccess(AccountType.USER, 1L, "carlos.perez@gtu.com");
+
+        assertDoesNotThrow(() -> throttler.checkAttempt(AccountType.USER, 1L, "carlos.perez@gtu.com"));
+    }
+
+    @Test
+    void shouldEvictBucketsOnceTheyAreFullAgain() {
+        throttler.checkAttempt(AccountType.USER, 1L, "carlos.perez@gtu.com");
+        throttler.expireIdleBuckets();
+        assertEquals(2, throttler.size());
+
+        clock.addAndGet(10_000);
+        throttler.expireIdleBuckets();
+        assertEquals(2, throttler.size());
+
+        clock.addAndGet(15_000);
+        throttler.expireIdleBuckets();
+        assertEquals(0, throttler.size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Hashing and verification cost of each algorithm the
+ * {@link PasswordEncoderRegistry} can be configured with, using the settings
+ * of {@link PasswordEncoderConfig} and bcrypt at the lowest cost the
+ * calibrator may pick. Not part of the test run; start
+ * {@link #main(String[])} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "Secur3Passw0rd";
+
+    @Param({ PasswordEncoderRegistry.BCRYPT, PasswordEncoderRegistry.PBKDF2, PasswordEncoderRegistry.ARGON2 })
+    private String algorithm;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void createEncoder() {
+        encoder = switch (algorithm) {
+            case PasswordEncoderRegistry.BCRYPT -> new BCryptPasswordEncoder(10);
+            case PasswordEncoderRegistry.PBKDF2 -> Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+            case PasswordEncoderRegistry.ARGON2 -> Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+            default -> throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        };
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordEncoderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import com.gtu.users_management_service.domain.model.AccountType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderRegistryTest {
+
+    private final Map<String, PasswordEncoder> encoders = Map.of(
+            PasswordEncoderRegistry.BCRYPT, new BCryptPasswordEncoder(4),
+            PasswordEncoderRegistry.PBKDF2, new Pbkdf2PasswordEncoder("", 16, 1000,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+
+    private final PasswordEncoderRegistry registry = new PasswordEncoderRegistry(encoders, Map.of(
+            AccountType.USER, PasswordEncoderRegistry.BCRYPT,
+            AccountType.PASSENGER, PasswordEncoderRegistry.PBKDF2));
+
+    @Test
+    void shouldTagHashesWithTheAlgorithmOfTheAccountType() {
+        assertTrue(registry.forAccount(AccountType.USER).encode("Password123").startsWith("{bcrypt}"));
+        assertTrue(registry.forAccount(AccountType.PASSENGER).encode("Password123").startsWith("{pbkdf2}"));
+    }
+
+    @Test
+    void shouldMatchEncodedPasswordSuccessfully() {
+        String encoded = registry.forAccount(AccountType.USER).encode("Password123");
+
+        assertTrue(registry.forAccount(AccountType.USER).matches("Password123", encoded));
+        assertFalse(registry.forAccount(AccountType.USER).matches("OtherPassword", encoded));
+    }
+
+    @Test
+    void shouldGenerateDifferentHashesForSamePassword() {
+        PasswordEncoder encoder = registry.forAccount(AccountType.PASSENGER);
+
+        assertNotEquals(encoder.encode("Password123"), encoder.encode("Password123"));
+    }
+
+    @Test
+    void shouldVerifyWithTheAlgorithmFromThePrefix() {
+        String pbkdf2Hash = registry.forAccount(AccountType.PASSENGER).encode("Password123");
+
+        assertTrue(registry.forAccount(AccountType.USER).matches("Password123", pbkdf2Hash));
+    }
+
+    @Test
+    void shouldVerifyLegacyUnprefixedBcryptHashes() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("Password123");
+
+        assertTrue(registry.forAccount(AccountType.USER).matches("Password123", legacyHash));
+        assertTrue(registry.forAccount(AccountType.PASSENGER).matches("Password123", legacyHash));
+    }
+
+    @Test
+    void shouldRequestUpgradeForHashesOfAnotherAlgorithm() {
+        String bcryptHash = registry.forAccount(AccountType.USER).encode("Password123");
+        String legacyHash = new BCryptPasswordEncoder(4).encode("Password123");
+
+        assertTrue(registry.forAccount(AccountType.PASSENGER).upgradeEncoding(bcryptHash));
+        assertTrue(registry.forAccount(AccountType.USER).upgradeEncoding(legacyHash));
+        assertFalse(registry.forAccount(AccountType.USER).upgradeEncoding(bcryptHash));
+    }
+
+    @Test
+    void shouldRejectUnknownAlgorithm() {
+        Map<AccountType, String> algorithms = Map.of(AccountType.USER, "md5");
+
+        assertThrows(IllegalArgumentException.class, () -> new PasswordEncoderRegistry(encoders, algorithms));
+    }
+
+    @Test
+    void shouldRequireBcryptForLegacyHashes() {
+        Map<String, PasswordEncoder> withoutBcrypt = Map.of(PasswordEncoderRegistry.PBKDF2,
+                Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        assertThrows(IllegalArgumentException.class, () -> new PasswordEncoderRegistry(withoutBcrypt, Map.of()));
+    }
+}
@@ -0,0 +1,202 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.gtu.users_management_service.domain.exception.ServiceUnavailableException;
+import com.gtu.users_management_service.domain.model.AccountType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(
+                new PasswordEncoderRegistry(Map.of(PasswordEncoderRegistry.BCRYPT, new BCryptPasswordEncoder(5)), Map.of()),
+                meterRegistry, 1, 1, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    @Test
+    void shouldEncodeAndMatchOnHashingPool() {
+        String encoded = passwordHasher.encode(AccountType.USER, "Password123");
+
+        assertTrue(passwordHasher.matches(AccountType.USER, "Password123", encoded));
+        assertFalse(passwordHasher.matches(AccountType.USER, "Other123", encoded));
+    }
+
+    @Test
+    void shouldRehashInBackgroundWhenStoredHashIsWeaker() throws Exception {
+        String weakHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("Password123");
+        CompletableFuture<String> rehashed = new CompletableFuture<>();
+
+        assertTrue(passwordHasher.matches(AccountType.USER, "Password123", weakHash, rehashed::complete));
+
+        String upgraded = rehashed.get(5, TimeUnit.SECONDS);
+        assertTrue(upgraded.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordHasher.matches(AccountType.USER, "Password123", upgraded));
+    }
+
+    @Test
+    void shouldNotRehashWhenPasswordDoesNotMatch() {
+        String weakHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("Password123");
+
+        assertFalse(passwordHasher.matches(AccountType.USER, "Other123", weakHash, rehashed -> fail("unexpected rehash")));
+    }
+
+    @Test
+    void shouldNotRehashWhenStoredHashIsCurrent() {
+        String currentHash = passwordHasher.encode(AccountType.USER, "Password123");
+
+        assertTrue(passwordHasher.matches(AccountType.USER, "Password123", currentHash, rehashed -> fail("unexpected rehash")));
+    }
+
+    @Test
+    void shouldRecordQueueWaitAndDurationMetrics() {
+        passwordHasher.encode(AccountType.USER, "Password123");
+
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing.queue.wait").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void shouldRejectWithRetryAfterWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread worker = new Thread(() -> passwordHasher.execute("test", () -> {
+            running.countDown();
+            await(release);
+            return null;
+        }));
+        Thread queued = new Thread(() -> passwordHasher.execute("test", () -> null));
+        worker.start();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        queued.start();
+        waitForQueuedTask();
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> passwordHasher.encode(AccountType.USER, "Password123"));
+
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        release.countDown();
+        worker.join();
+        queued.join();
+    }
+
+    @Test
+    void shouldPropagateTaskFailures() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> passwordHasher.execute("test", () -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, ex);
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "task was never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void shouldMatchAnyOfSeveralHashesInParallel() {
+        PasswordHasher parallelHasher = new PasswordHasher(
+                new PasswordEncoderRegistry(Map.of(PasswordEncoderRegistry.BCRYPT, new BCryptPasswordEncoder(4)), Map.of()),
+                meterRegistry, 2, 8, 3);
+        try {
+            List<String> history = List.of(
+                    parallelHasher.encode(AccountType.USER, "First123"),
+                    parallelHasher.encode(AccountType.USER, "Second123"),
+                    parallelHasher.encode(AccountType.USER, "Third123"));
+
+            assertTrue(parallelHasher.matchesAny(AccountType.USER, "Third123", history));
+            assertFalse(parallelHasher.matchesAny(AccountType.USER, "Fourth123", history));
+            assertFalse(parallelHasher.matchesAny(AccountType.USER, "Fourth123", List.of()));
+        } finally {
+            parallelHasher.destroy();
+        }
+    }
+
+    @Test
+    void shouldRejectMatchAnyWhenHistoryDoesNotFitTheQueue() {
+        String encoded = passwordHasher.encode(AccountType.USER, "Password123");
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> passwordHasher.matchesAny(AccountType.USER, "Password123", List.of(encoded, encoded, encoded)));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void shouldEncodeBatchLargerThanTheQueueInInputOrder() {
+        List<String> passwords = List.of("First123", "Second123", "Third123", "Fourth123", "Fifth123");
+
+        List<String> hashes = passwordHasher.encodeAll(AccountType.PASSENGER, passwords);
+
+        assertEquals(passwords.size(), hashes.size());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertTrue(passwordHasher.matches(AccountType.PASSENGER, passwords.get(i), hashes.get(i)));
+        }
+        assertEquals(5, meterRegistry.get("password.hashing.duration").tag("operation", "encode-all").timer().count());
+        assertEquals(0.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void shouldHashTheDummyPasswordsOnThePoolAtStartup() {
+        List<String> encodingThreads = new CopyOnWriteArrayList<>();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                encodingThreads.add(Thread.currentThread().getName());
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHasher hasher = new PasswordHasher(
+                new PasswordEncoderRegistry(Map.of(PasswordEncoderRegistry.BCRYPT, bcrypt), Map.of()),
+                new SimpleMeterRegistry(), 1, 1, 3);
+        try {
+            assertEquals(AccountType.values().length, encodingThreads.size());
+            assertTrue(encodingThreads.stream().allMatch(name -> name.startsWith("password-hashing-")));
+
+            hasher.matchAgainstDummy(AccountType.USER, "Password123");
+            hasher.matchAgainstDummy(AccountType.PASSENGER, null);
+
+            assertEquals(AccountType.values().length, encodingThreads.size());
+        } finally {
+            hasher.destroy();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link PasswordPolicy} with the regex checks of the
+ * {@code PasswordValidator} it replaced, copied here as the baseline. Not
+ * part of the test run; start {@link #main(String[])} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordPolicyBenchmark {
+
+    @Param({ "Secur3Passw0rd", "securepassword", "Short1" })
+    private String password;
+
+    private final PasswordPolicy policy = PasswordPolicy.defaults();
+
+    @Benchmark
+    public boolean regexValidator() {
+        return legacyIsValid(password);
+    }
+
+    @Benchmark
+    public boolean passwordPolicy() {
+        return policy.evaluate(password).isValid();
+    }
+
+    private static boolean legacyIsValid(String password) {
+        if (password == null || password.length() < 8) {
+            return false;
+        }
+        boolean hasUpper = Pattern.compile("[A-Z]").matcher(password).find();
+        boolean hasLower = Pattern.compile("[a-z]").matcher(password).find();
+        boolean hasDigit = Pattern.compile("[0-9]").matcher(password).find();
+        return hasUpper && hasLower && hasDigit;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordPolicyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+package com.gtu.users_management_service.infrastructure.security;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordPolicyTest {
+
+    private final PasswordPolicy policy = PasswordPolicy.defaults();
+
+    @Test
+    void shouldReturnFalse_whenPasswordIsNull() {
+        assertFalse(policy.isValid(null));
+    }
+
+    @Test
+    void shouldReturnFalse_whenPasswordIsTooShort() {
+        assertTrue(policy.evaluate("A1b").violates(PasswordRule.MIN_LENGTH));
+    }
+
+    @Test
+    void shouldReturnFalse_whenPasswordLacksUppercase() {
+        assertEquals(EnumSet.of(PasswordRule.UPPERCASE), policy.evaluate("password1").getViolations());
+    }
+
+    @Test
+    void shouldReturnFalse_whenPasswordLacksLowercase() {
+        assertEquals(EnumSet.of(PasswordRule.LOWERCASE), policy.evaluate("PASSWORD1").getViolations());
+    }
+
+    @Test
+    void shouldReturnFalse_whenPasswordLacksDigit() {
+        assertEquals(EnumSet.of(PasswordRule.DIGIT), policy.evaluate("Password").getViolations());
+    }
+
+    @Test
+    void shouldReportEveryViolatedRule() {
+        assertEquals(EnumSet.of(PasswordRule.MIN_LENGTH, PasswordRule.UPPERCASE, PasswordRule.DIGIT),
+                policy.evaluate("pass").getViolations());
+    }
+
+    @Test
+    void shouldReturnTrue_whenPasswordMeetsAllCriteria() {
+        assertTrue(policy.isValid("Password1"));
+    }
+
+    @Test
+    void shouldReturnTrue_whenPasswordIsExactlyMinLength() {
+        assertTrue(policy.isValid("A1bcdefg"));
+    }
+
+    @Test
+    void shouldReturnTrue_whenPasswordContainsSpecialCharacters() {
+        assertTrue(policy.isValid("A1b@cdef"));
+    }
+
+    @Test
+    void shouldReuseTheSameReport_whenPasswordIsValid() {
+        assertSame(policy.evaluate("Password1"), policy.evaluate("An0therOne"));
+        assertTrue(policy.evaluate("Password1").getViolations().isEmpty());
+    }
+
+    @Test
+    void shouldRejectPasswordsLongerThanMaxLength() {
+        PasswordPolicy shortPolicy = new PasswordPolicy(8, 10, true, true, true, List.of(), null);
+
+        assertEquals(EnumSet.of(PasswordRule.MAX_LENGTH), shortPolicy.evaluate("Password1234").getViolations());
+    }
+
+    @Test
+    void shouldMeasureMaxLengthInUtf8Bytes() {
+        PasswordPolicy shortPolicy = new PasswordPolicy(8, 12, true, true, true, List.of(), null);
+
+        assertTrue(shortPolicy.isValid("Pässwörd12"));
+        assertEquals(EnumSet.of(PasswordRule.MAX_LENGTH), shortPolicy.evaluate("Pässwörd123").getViolations());
+        assertEquals(EnumSet.of(PasswordRule.MAX_LENGTH), shortPolicy.evaluate("Passw0rd1\uD83D\uDD12").getViolations());
+    }
+
+    @Test
+    void shouldDescribeOnlyTheViolatedRules() {
+        assertEquals("Password is too short; Password must contain a digit", policy.evaluate("Pass").describe());
+        assertEquals("Password was used recently", PasswordPolicyReport.of(PasswordRule.REUSED).describe());
+    }
+
+    @Test
+    void shouldRejectBannedSubstringsIgnoringCase() {
+        PasswordPolicy bannedPolicy = new PasswordPolicy(8, 72, true, true, true, List.of("gtu", " Transit "), null);
+
+        assertTrue(bannedPolicy.evaluate("MyGtuPass1").violates(PasswordRule.BANNED_SUBSTRING));
+        assertTrue(bannedPolicy.evaluate("TRANSIT2024a").violates(PasswordRule.BANNED_SUBSTRING));
+        assertTrue(bannedPolicy.isValid("Password1"));
+    }
+
+    @Test
+    void shouldSkipCharacterClassesThatAreNotRequired() {
+        PasswordPolicy lenientPolicy = new PasswordPolicy(4, 72, false, true, false, List.of(), null);
+
+        assertTrue(lenientPolicy.isValid("abcd"));
+    }
+
+    @Test
+    void shouldRejectInvalidLengthRange() {
+        List<String> noBannedSubstrings = List.of();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new PasswordPolicy(10, 8, true, true, true, noBannedSubstrings, null));
+    }
+
+    @Test
+    void shouldRejectBreachedPasswords(@TempDir Path tempDir) throws IOException {
+        Path hashes = Files.write(tempDir.resolve("hashes.txt"),
+                List.of(HexFormat.of().formatHex(BreachedPasswordFilter.sha1("Password1"))));
+        Path filterFile = tempDir.resolve("breached.bloom");
+        BreachedPasswordFilterBuilder.build(hashes, filterFile, 1, 0.0001);
+        PasswordPolicy breachedPolicy = new PasswordPolicy(8, 72, true, true, true, List.of(), filterFile.toString());
+
+        assertEquals(EnumSet.of(PasswordRule.BREACHED), breachedPolicy.evaluate("Password1").getViolations());
+        assertTrue(breachedPolicy.isValid("An0therOne"));
+    }
+}
@@ -1,13 +1,19 @@
 package com.gtu.users_management_service.presentation.rest;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,14 +25,21 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gtu.users_management_service.application.dto.PassengerDTO;
+import com.gtu.users_management_service.application.dto.PassengerImportReportDTO;
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
+import com.gtu.users_management_service.application.export.ExportFormat;
 import com.gtu.users_management_service.application.usecase.PassengerUseCase;
 import com.gtu.users_management_service.presentation.exception.GlobalExceptionHandler;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
 @ExtendWith(MockitoExtension.class)
 class PassengerControllerTest {
 
@@ -193,4 +206,55 @@ class PassengerControllerTest {
 
                 verify(passengerUseCase, times(1)).countPassengers();
         }
+
+        @Test
+        void shouldReturnEstimatedPassengerCount_WhenApproximateRequested() throws Exception {
+                when(passengerUseCase.estimatePassengers()).thenReturn(40L);
+
+                mockMvc.perform(get("/passengers/count").param("approximate", "true"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.message").value("Estimated number of passengers"))
+                                .andExpect(jsonPath("$.data").value(40));
+
+                verify(passengerUseCase, never()).countPassengers();
+        }
+
+        @Test
+        void shouldStreamPassengersAsNdjson_ByDefault() throws Exception {
+                MvcResult result = mockMvc.perform(get("/passengers/export"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/x-ndjson"))
+                                .andExpect(header().string("Content-Disposition", "attachment; filename=\"passengers.ndjson\""));
+
+                verify(passengerUseCase, times(1)).exportPassengers(eq(ExportFormat.NDJSON), any(OutputStream.class));
+        }
+
+        @Test
+        void shouldImportPassengersAndReturnReport() throws Exception {
+                PassengerImportReportDTO report = new PassengerImportReportDTO(2, 1,
+                                List.of(new PassengerImportReportDTO.RowError(2, "ana@gtu.com", "Email already exists")));
+                when(passengerUseCase.importPassengers(eq(ExportFormat.CSV), any(InputStream.class))).thenReturn(report);
+
+                mockMvc.perform(post("/passengers/import").param("format", "csv")
+                                .contentType("text/csv")
+                                .content("name,email,password\r\nJuan,juan@gtu.com,Passw0rd\r\nAna,ana@gtu.com,Passw0rd\r\n"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.message").value("Passenger import completed"))
+                                .andExpect(jsonPath("$.data.received").value(2))
+                                .andExpect(jsonPath("$.data.imported").value(1))
+                                .andExpect(jsonPath("$.data.errors[0].row").value(2))
+                                .andExpect(jsonPath("$.data.errors[0].message").value("Email already exists"));
+        }
+
+        @Test
+        void shouldRejectImport_whenFormatIsUnsupported() throws Exception {
+                mockMvc.perform(post("/passengers/import").param("format", "xml").content("<passengers/>"))
+                                .andExpect(status().isBadRequest());
+
+                verify(passengerUseCase, never()).importPassengers(any(), any());
+        }
 }
@@ -1,8 +1,11 @@
 package com.gtu.users_management_service.presentation.rest;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -16,20 +19,29 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gtu.users_management_service.application.dto.PasswordUpdateDTO;
 import com.gtu.users_management_service.application.dto.UserDTO;
+import com.gtu.users_management_service.application.dto.UserPageDTO;
+import com.gtu.users_management_service.application.export.ExportFormat;
 import com.gtu.users_management_service.application.usecase.UserUseCase;
 import com.gtu.users_management_service.domain.exception.ResourceNotFoundException;
 import com.gtu.users_management_service.domain.model.Role;
 import com.gtu.users_management_service.domain.model.Status;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicy;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicyReport;
+import com.gtu.users_management_service.infrastructure.security.PasswordPolicyViolationException;
 import com.gtu.users_management_service.presentation.exception.GlobalExceptionHandler;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
 class UserControllerTest {
@@ -102,6 +114,22 @@ class UserControllerTest {
                 verify(userUseCase, times(1)).createUser(any(UserDTO.class));
         }
 
+        @Test
+        void shouldReturnPolicyViolations_WhenPasswordIsRejected() throws Exception {
+                PasswordPolicyReport report = PasswordPolicy.defaults().evaluate("password");
+                when(userUseCase.createUser(any(UserDTO.class)))
+                                .thenThrow(new PasswordPolicyViolationException("Password must contain at least 8 characters, including uppercase letters and numbers", report));
+
+                mockMvc.perform(post("/users")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(userDTO)))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.error").value("Password Policy Violation"))
+                                .andExpect(jsonPath("$.message.UPPERCASE").exists())
+                                .andExpect(jsonPath("$.message.DIGIT").exists())
+                                .andExpect(jsonPath("$.message.LOWERCASE").doesNotExist());
+        }
+
         @Test
         void shouldDeleteUser_WhenValidIdProvided() throws Exception {
                 doNothing().when(userUseCase).deleteUser(1L);
@@ -165,8 +193,60 @@ class UserControllerTest {
                 verify(userUseCase, times(1)).updateStatus(1L, Status.INACTIVE);
         }
 
+        @Test
+        void updateUserStatuses_Success() throws Exception {
+                when(userUseCase.updateStatuses(List.of(1L, 2L, 3L), Status.INACTIVE)).thenReturn(List.of(1L, 3L));
+
+                mockMvc.perform(put("/users/status")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"ids\":[1,2,3],\"status\":\"INACTIVE\"}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.message").value("User statuses updated successfully"))
+                                .andExpect(jsonPath("$.data[0]").value(1))
+                                .andExpect(jsonPath("$.data[1]").value(3));
+        }
+
+        @Test
+        void updateUserStatuses_ShouldRejectMissingIdsAndStatus() throws Exception {
+                mockMvc.perform(put("/users/status")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"ids\":[]}"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message.ids").value("Ids cannot be empty"))
+                                .andExpect(jsonPath("$.message.status").value("Status cannot be null"));
+
+                mockMvc.perform(put("/users/status")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"ids\":[1,null],\"status\":\"INACTIVE\"}"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message['ids[1]']").value("Ids cannot contain null values"));
+
+                verify(userUseCase, never()).updateStatuses(any(), any());
+        }
+
+        @Test
+        void deleteUsers_Success() throws Exception {
+                when(userUseCase.deleteUsers(List.of(1L, 2L))).thenReturn(List.of(2L));
+
+                mockMvc.perform(delete("/users").param("ids", "1", "2"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.message").value("Users deleted successfully"))
+                                .andExpect(jsonPath("$.data[0]").value(2));
+        }
+
+        @Test
+        void deleteUsers_Failure_WhenTooManyIds() throws Exception {
+                when(userUseCase.deleteUsers(List.of(1L, 2L)))
+                                .thenThrow(new IllegalArgumentException("Cannot change more than 1 users at once"));
+
+                mockMvc.perform(delete("/users").param("ids", "1,2"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value("Cannot change more than 1 users at once"));
+        }
+
         @Test
         void getUsersByRole_Success() throws Exception {
+                when(userUseCase.getRosterVersion(Role.ADMIN)).thenReturn("5f3a");
                 when(userUseCase.getUsersByRole(Role.ADMIN)).thenReturn(List.of(userDTO));
 
                 mockMvc.perform(get("/users")
@@ -185,6 +265,7 @@ class UserControllerTest {
 
         @Test
         void shouldReturnEmptyList_WhenNoUsersMatchRole() throws Exception {
+                when(userUseCase.getRosterVersion(Role.DRIVER)).thenReturn("1");
                 when(userUseCase.getUsersByRole(Role.DRIVER)).thenReturn(List.of());
 
                 mockMvc.perform(get("/users")
@@ -294,4 +375,110 @@ class UserControllerTest {
                                 .content("null"))
                                 .andExpect(status().isBadRequest());
         }
+
+        @Test
+        void getUsersByRole_ShouldSendETagAndRevalidationHint() throws Exception {
+                when(userUseCase.getRosterVersion(Role.DRIVER)).thenReturn("5f3a");
+                when(userUseCase.getUsersByRole(Role.DRIVER)).thenReturn(List.of(userDTO));
+
+                mockMvc.perform(get("/users").param("role", "DRIVER"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"5f3a\""))
+                                .andExpect(header().string("Cache-Control", "no-cache, private"));
+        }
+
+        @Test
+        void getUsersByRole_ShouldReturnNotModified_WhenRosterIsUnchanged() throws Exception {
+                when(userUseCase.getRosterVersion(Role.DRIVER)).thenReturn("5f3a");
+
+                mockMvc.perform(get("/users").param("role", "DRIVER").header("If-None-Match", "\"5f3a\""))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string("ETag", "\"5f3a\""))
+                                .andExpect(content().string(""));
+
+                verify(userUseCase, never()).getUsersByRole(any());
+        }
+
+        @Test
+        void getUserById_ShouldSendRowVersionAsETag() throws Exception {
+                userDTO.setVersion(3L);
+                when(userUseCase.getUserById(1L)).thenReturn(userDTO);
+
+                mockMvc.perform(get("/users/1"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"3\""))
+                                .andExpect(jsonPath("$.data.version").doesNotExist());
+
+                verify(userUseCase, never()).getUserVersion(any());
+        }
+
+        @Test
+        void getUserById_ShouldReturnNotModified_WhenVersionIsUnchanged() throws Exception {
+                when(userUseCase.getUserVersion(1L)).thenReturn(Optional.of(3L));
+
+                mockMvc.perform(get("/users/1").header("If-None-Match", "W/\"2\", \"3\""))
+                                .andExpect(status().isNotModified());
+
+                verify(userUseCase, never()).getUserById(any());
+        }
+
+        @Test
+        void getUserById_ShouldReturnFreshCopy_WhenVersionChanged() throws Exception {
+                userDTO.setVersion(4L);
+                when(userUseCase.getUserVersion(1L)).thenReturn(Optional.of(4L));
+                when(userUseCase.getUserById(1L)).thenReturn(userDTO);
+
+                mockMvc.perform(get("/users/1").header("If-None-Match", "\"3\""))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"4\""));
+        }
+
+        @Test
+        void searchUsers_ShouldPassFiltersAndReturnCursor() throws Exception {
+                when(userUseCase.searchUsers(Role.DRIVER, Status.ACTIVE, "Car", 10L, 50))
+                                .thenReturn(new UserPageDTO(List.of(userDTO), 1L));
+
+                mockMvc.perform(get("/users/search")
+                                .param("role", "DRIVER")
+                                .param("status", "ACTIVE")
+                                .param("namePrefix", "Car")
+                                .param("afterId", "10")
+                                .param("size", "50"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.users[0].id").value(1))
+                                .andExpect(jsonPath("$.data.nextAfterId").value(1));
+        }
+
+        @Test
+        void searchUsers_ShouldUseDefaults_WhenNoFiltersGiven() throws Exception {
+                when(userUseCase.searchUsers(null, null, null, null, 20)).thenReturn(new UserPageDTO(List.of(), null));
+
+                mockMvc.perform(get("/users/search"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.users").isEmpty());
+        }
+
+        @Test
+        void exportUsers_ShouldStreamCsvAttachment() throws Exception {
+                doAnswer(invocation -> {
+                        invocation.<OutputStream>getArgument(1).write("id,name\r\n".getBytes(StandardCharsets.UTF_8));
+                        return null;
+                }).when(userUseCase).exportUsers(eq(ExportFormat.CSV), any(OutputStream.class));
+
+                MvcResult result = mockMvc.perform(get("/users/export").param("format", "csv"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.csv\""))
+                                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                                .andExpect(content().string("id,name\r\n"));
+        }
+
+        @Test
+        void exportUsers_ShouldRejectUnknownFormat() throws Exception {
+                mockMvc.perform(get("/users/export").param("format", "xml"))
+                                .andExpect(status().isBadRequest());
+        }
 }
@@ -1,5 +1,8 @@
 package com.gtu.users_management_service.presentation.rest.internal;
 
+import com.gtu.users_management_service.application.dto.CredentialVerificationDTO;
+import com.gtu.users_management_service.application.dto.CredentialsDTO;
+import com.gtu.users_management_service.domain.exception.InvalidCredentialsException;
 import com.gtu.users_management_service.domain.model.Passenger;
 import com.gtu.users_management_service.domain.service.PassengerService;
 import org.junit.jupiter.api.BeforeEach;
@@ -103,4 +106,26 @@ class PassengerInternalControllerTest {
         assertEquals("Invalid password", exception.getMessage());
         verify(passengerService).resetPassword(any(Passenger.class), eq("NewPass1"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void verifyCredentials_shouldReturnIdentityWithoutHash() {
+        Passenger passenger = new Passenger(1L, "Juan Pérez", "juan.perez@gtu.com", null);
+        when(passengerService.verifyCredentials("juan.perez@gtu.com", "Passw0rd")).thenReturn(passenger);
+
+        ResponseEntity<CredentialVerificationDTO> response = passengerInternalController.verifyCredentials(
+                new CredentialsDTO("juan.perez@gtu.com", "Passw0rd"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new CredentialVerificationDTO(1L, null, null), response.getBody());
+    }
+
+    @Test
+    void verifyCredentials_shouldLeaveInvalidCredentialsToTheExceptionHandler() {
+        when(passengerService.verifyCredentials("juan.perez@gtu.com", "wrong"))
+                .thenThrow(new InvalidCredentialsException("Invalid email or password"));
+        CredentialsDTO credentials = new CredentialsDTO("juan.perez@gtu.com", "wrong");
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> passengerInternalController.verifyCredentials(credentials));
+    }
+}
@@ -1,5 +1,10 @@
 package com.gtu.users_management_service.presentation.rest.internal;
 
+import com.gtu.users_management_service.application.dto.CredentialVerificationDTO;
+import com.gtu.users_management_service.application.dto.CredentialsDTO;
+import com.gtu.users_management_service.domain.exception.InvalidCredentialsException;
+import com.gtu.users_management_service.domain.model.Role;
+import com.gtu.users_management_service.domain.model.Status;
 import com.gtu.users_management_service.domain.model.User;
 import com.gtu.users_management_service.domain.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -103,4 +108,26 @@ class UserInternalControllerTest {
         assertEquals("Invalid password", exception.getMessage());
         verify(userService).resetPassword(any(User.class), eq("NewPass1"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void verifyCredentials_shouldReturnIdentityWithoutHash() {
+        User user = new User(1L, "Carlos Pérez", "carlos.perez@gtu.com", null, Role.ADMIN, Status.ACTIVE);
+        when(userService.verifyCredentials("carlos.perez@gtu.com", "Passw0rd")).thenReturn(user);
+
+        ResponseEntity<CredentialVerificationDTO> response = userInternalController.verifyCredentials(
+                new CredentialsDTO("carlos.perez@gtu.com", "Passw0rd"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(new CredentialVerificationDTO(1L, Role.ADMIN, Status.ACTIVE), response.getBody());
+    }
+
+    @Test
+    void verifyCredentials_shouldLeaveInvalidCredentialsToTheExceptionHandler() {
+        when(userService.verifyCredentials("carlos.perez@gtu.com", "wrong"))
+                .thenThrow(new InvalidCredentialsException("Invalid email or password"));
+        CredentialsDTO credentials = new CredentialsDTO("carlos.perez@gtu.com", "wrong");
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> userInternalController.verifyCredentials(credentials));
+    }
+}